@@ -22,44 +22,189 @@ import java.io.File;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
 import java.io.Reader;
-import java.io.StringReader;
 import java.io.StringWriter;
 import java.io.Writer;
 
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import eu.simuline.octave.exception.OctaveEvalException;
 import eu.simuline.octave.exception.OctaveClassCastException;
 import eu.simuline.octave.exception.OctaveIOException;
+import eu.simuline.octave.exception.OctaveInterruptedException;
+import eu.simuline.octave.exception.OctaveNonrecoverableException;
+import eu.simuline.octave.exception.OctaveException;
+import eu.simuline.octave.exception.OctaveParseException;
+import eu.simuline.octave.exception.OctaveRetryableException;
+import eu.simuline.octave.exception.OctaveTimeoutException;
 import eu.simuline.octave.exec.OctaveExec;
 import eu.simuline.octave.exec.ReadFunctor;
 import eu.simuline.octave.exec.ReaderWriteFunctor;
+import eu.simuline.octave.exec.StringWriteFunctor;
 import eu.simuline.octave.exec.WriteFunctor;
 import eu.simuline.octave.exec.WriterReadFunctor;
+import eu.simuline.octave.io.OctaveChunkIterator;
 import eu.simuline.octave.io.OctaveIO;
 import eu.simuline.octave.type.OctaveObject;
 import eu.simuline.octave.type.OctaveString;
 import eu.simuline.octave.type.cast.Cast;
+import eu.simuline.octave.util.NamedThreadFactory;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 
 /**
  * The connection to an octave process.
  *
  * This is inspired by the javax.script.ScriptEngine interface.
+ * <p>
+ * Besides the blocking methods like {@link #eval(String)}, 
+ * there are asynchronous variants like {@link #evalAsync(String)} 
+ * returning a {@link CompletableFuture}. 
+ * The asynchronous operations of an engine are queued 
+ * and performed in FIFO order by a single thread of the engine. 
+ * Blocking methods shall not be invoked 
+ * while asynchronous operations are pending. 
  */
 public final class OctaveEngine {
 
+    /**
+     * A task performing an operation 
+     * and completing a future with its result. 
+     * This is executed by {@link OctaveEngine#asyncExecutor}. 
+     *
+     * @param <T>
+     *    the type of the result of the operation. 
+     */
+    private static final class AsyncTask<T> implements Runnable {
+
+	/**
+	 * The future completed with the result of {@link #operation}. 
+	 */
+	private final CompletableFuture<T> future;
+
+	/**
+	 * The operation to be performed. 
+	 */
+	private final Callable<T> operation;
+
+	AsyncTask(final CompletableFuture<T> future, 
+		  final Callable<T> operation) {
+	    this.future = future;
+	    this.operation = operation;
+	}
+
+	@Override
+	public void run() {
+	    if (this.future.isDone()) {
+		// cancelled 
+		return;
+	    }
+	    try {
+		this.future.complete(this.operation.call());
+	    } catch (final Exception e) { // NOPMD
+		this.future.completeExceptionally(e);
+	    }
+	}
+    } // class AsyncTask 
+
     // ER: nowhere used except in method getFactory() 
     // which is in turn nowhere used. 
     private final OctaveEngineFactory factory;
 
+    private static final Log LOG = LogFactory.getLog(OctaveEngine.class);
+
     /**
      * The executor of this octave engine. 
+     * This is replaced if the engine is supervised and the process broke. 
+     */
+    private OctaveExec octaveExec;
+
+    private OctaveIO octaveIO;
+
+    // parameters to create OctaveExec, kept to respawn 
+    private final int numThreadsReuse;
+    private final ThreadFactory threadFactory;
+    private final int errorCapacity;
+    private final int errorTailCapacity;
+    private final Writer octaveInputLog;
+    private Writer errorWriter;
+    private final String[] cmdArray;
+    private final String[] environment;
+    private final File workingDir;
+
+    /**
+     * Whether this engine is supervised, 
+     * i.e. whether the octave process is respawned if it broke. 
+     * By default, this is <code>false</code>. 
+     * The according setter method is {@link #setSupervised(boolean)}. 
+     */
+    private boolean supervised = false;
+
+    /**
+     * The script evaluated after respawning the octave process 
+     * or <code>null</code> if there is no such script. 
+     * The according setter method is {@link #setInitScript(String)}. 
+     */
+    private String initScript = null;
+
+    /**
+     * The variables set after respawning the octave process 
+     * and after {@link #initScript}. 
+     * These are set by {@link #putPinned(String, OctaveObject)} 
+     * and removed by {@link #unpin(String)}. 
+     */
+    private final Map<String, OctaveObject> pinned = 
+	new LinkedHashMap<String, OctaveObject>();
+
+    /**
+     * Whether the octave process is being respawned 
+     * in which case no further respawning takes place. 
+     */
+    private boolean respawning = false;
+
+    /**
+     * The time in the sense of {@link System#nanoTime()} 
+     * the current octave process was started. 
+     */
+    private volatile long startNanos;
+
+    /**
+     * The number of evaluations performed, 
+     * i.e. of invocations of {@link #eval(String, long, TimeUnit)} 
+     * and of the variants of {@link #unsafeEval(String)}. 
+     */
+    private final AtomicLong numEvals = new AtomicLong();
+
+    /**
+     * The duration of the last evaluation in nanoseconds 
+     * or <code>-1</code> if there was no evaluation yet. 
      */
-    private final OctaveExec octaveExec;
+    private volatile long lastEvalNanos = -1;
 
-    private final OctaveIO octaveIO;
+    /**
+     * Whether this engine is closed or destroyed by the user 
+     * in which case the octave process is not respawned. 
+     */
+    private volatile boolean terminated = false;
 
     /**
      * The writer to write to stdout. 
@@ -73,13 +218,24 @@ public final class OctaveEngine {
      */
     private final Random random = new Random();
 
+    /**
+     * Performs the asynchronous operations like {@link #evalAsync(String)} 
+     * in FIFO order with a single thread 
+     * or is <code>null</code> before the first asynchronous operation. 
+     * This is shut down by {@link #close()} and by {@link #destroy()}. 
+     */
+    private ExecutorService asyncExecutor = null;
+
     /**
      * Creates an octave engine with the given parameters. 
      * The first one is nowhere used and the others are handed over to 
-     * {@link OctaveExec#OctaveExec(int,Writer,Writer,String[],String[],File)}. 
+     * {@link OctaveExec#OctaveExec(int,ThreadFactory,int,int,Writer,Writer,String[],String[],File)}. 
      */
     OctaveEngine(final OctaveEngineFactory factory,
 		 final int numThreadsReuse,
+		 final ThreadFactory threadFactory,
+		 final int errorCapacity,
+		 final int errorTailCapacity,
 		 final Writer octaveInputLog,
 		 final Writer errorWriter,
 		 final String[] cmdArray,
@@ -87,14 +243,157 @@ public final class OctaveEngine {
 		 final File workingDir) {
         this.factory = factory;
 	// assert environment == null;
+	this.numThreadsReuse = numThreadsReuse;
+	this.threadFactory   = threadFactory;
+	this.errorCapacity   = errorCapacity;
+	this.errorTailCapacity = errorTailCapacity;
+	this.octaveInputLog  = octaveInputLog;
+	this.errorWriter     = errorWriter;
+	this.cmdArray        = cmdArray;
+	this.environment     = environment;
+	this.workingDir      = workingDir;
 
-        this.octaveExec = new OctaveExec(numThreadsReuse,
-					 octaveInputLog,
-					 errorWriter,
-					 cmdArray,
-					 environment,
-					 workingDir);
+        this.octaveExec = newOctaveExec();
         this.octaveIO = new OctaveIO(this.octaveExec);
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Returns a new executor, i.e. starts a new octave process 
+     * with the parameters given by the constructor. 
+     */
+    private OctaveExec newOctaveExec() {
+	return new OctaveExec(this.numThreadsReuse,
+			      this.threadFactory,
+			      this.errorCapacity,
+			      this.errorTailCapacity,
+			      this.octaveInputLog,
+			      this.errorWriter,
+			      this.cmdArray,
+			      this.environment,
+			      this.workingDir);
+    }
+
+    /**
+     * If this engine is supervised and the octave process is dead, 
+     * respawns it. 
+     * Invoked before each operation. 
+     */
+    private void ensureAlive() {
+	if (this.supervised && !this.respawning && !this.terminated 
+	    && !this.octaveExec.isAlive()) {
+	    LOG.warn("Octave process died; respawning. ");
+	    respawn();
+	}
+    }
+
+    /**
+     * Converts a timeout into milliseconds 
+     * as expected by {@link OctaveExec#setTimeout(long)}. 
+     * A positive timeout is rounded up to at least one millisecond, 
+     * because <code>0</code> means no timeout. 
+     *
+     * @param timeout
+     *    the timeout or <code>0</code> for no timeout. 
+     * @param unit
+     *    the unit of <code>timeout</code>. 
+     * @return
+     *    the timeout in milliseconds 
+     *    which is positive if and only if <code>timeout</code> is. 
+     * @throws IllegalArgumentException
+     *    if <code>timeout</code> is negative. 
+     */
+    static long toTimeoutMillis(final long timeout, final TimeUnit unit) {
+	if (timeout < 0) {
+	    throw new IllegalArgumentException
+		("Expected non-negative timeout but found " + timeout + ". ");
+	}
+	return timeout == 0 ? 0 : Math.max(1, unit.toMillis(timeout));
+    }
+
+    /**
+     * Records an evaluation started at <code>start</code> 
+     * and finished now in {@link #numEvals} and {@link #lastEvalNanos}. 
+     *
+     * @param start
+     *    the start of the evaluation in the sense of {@link System#nanoTime()}. 
+     */
+    private void recordEval(final long start) {
+	this.lastEvalNanos = System.nanoTime() - start;
+	this.numEvals.incrementAndGet();
+    }
+
+    /**
+     * Returns the exception to be thrown for <code>exc</code>. 
+     * If this engine is supervised and <code>exc</code> signifies 
+     * that the octave process broke, 
+     * i.e. if it is nonrecoverable or marked destroyed, 
+     * the process is respawned and an {@link OctaveRetryableException} 
+     * with cause <code>exc</code> is returned. 
+     * Otherwise, and also if respawning fails, 
+     * <code>exc</code> is returned. 
+     *
+     * @param exc
+     *    an exception thrown by an operation of this engine. 
+     * @return
+     *    the exception to be thrown instead. 
+     */
+    private OctaveException recover(final OctaveException exc) {
+	if (!this.supervised || this.respawning || this.terminated) {
+	    return exc;
+	}
+	if (!(exc instanceof OctaveNonrecoverableException) 
+	    && !exc.isDestroyed()) {
+	    return exc;
+	}
+	LOG.warn("Octave process broke; respawning. ", exc);
+	try {
+	    respawn();
+	} catch (final OctaveException e) {
+	    LOG.error("Respawning octave process failed. ", e);
+	    return exc;
+	}
+	return new OctaveRetryableException
+	    ("Octave process respawned; operation may be retried. ", exc);
+    }
+
+    /**
+     * Destroys the current octave process and starts a new one 
+     * with the same timeout and error writer. 
+     * Then {@link #initScript} is evaluated 
+     * and the {@link #pinned} variables are set. 
+     *
+     * @throws OctaveException
+     *    if the new process could not be started 
+     *    or if replaying failed. 
+     */
+    private void respawn() {
+	final long timeoutMillis = this.octaveExec.getTimeout();
+	try {
+	    this.octaveExec.destroy();
+	} catch (final RuntimeException e) { // NOPMD
+	    LOG.debug("Ignored exception destroying broken octave process. ", e);
+	}
+	this.octaveExec = newOctaveExec();
+	this.octaveExec.setTimeout(timeoutMillis);
+	final boolean binaryTransfer = this.octaveIO.isBinaryTransfer();
+	final long mappedThreshold = this.octaveIO.getMappedTransferThreshold();
+	this.octaveIO.close();
+	this.octaveIO = new OctaveIO(this.octaveExec);
+	this.octaveIO.setBinaryTransfer(binaryTransfer);
+	this.octaveIO.setMappedTransferThreshold(mappedThreshold);
+	this.startNanos = System.nanoTime();
+	this.respawning = true;
+	try {
+	    if (this.initScript != null) {
+		eval(this.initScript);
+	    }
+	    if (!this.pinned.isEmpty()) {
+		putAll(this.pinned);
+	    }
+	} finally {
+	    this.respawning = false;
+	}
     }
 
     /**
@@ -135,8 +434,36 @@ public final class OctaveEngine {
      *             if the script fails, this will kill the engine
      */
     public void unsafeEval(final Reader script) {
-        this.octaveExec.evalRW(new ReaderWriteFunctor(script), 
-			       getReadFunctor());
+	final long start = System.nanoTime();
+	ensureAlive();
+	try {
+	    this.octaveExec.evalRW(new ReaderWriteFunctor(script), 
+				   getReadFunctor());
+	} catch (final OctaveException e) {
+	    throw recover(e);
+	} finally {
+	    recordEval(start);
+	}
+    }
+
+    /**
+     * Executes the given internal script 
+     * which, unlike {@link #unsafeEval(String)}, 
+     * is not counted in {@link #getStats()}. 
+     *
+     * @param script
+     *            the script to execute
+     * @throws OctaveIOException
+     *             if the script fails, this will kill the engine
+     */
+    private void internalEval(final String script) {
+	ensureAlive();
+	try {
+	    this.octaveExec.evalRW(new StringWriteFunctor(script), 
+				   getReadFunctor());
+	} catch (final OctaveException e) {
+	    throw recover(e);
+	}
     }
 
     // ER: see also {@link #eval(final String script)}
@@ -149,13 +476,16 @@ public final class OctaveEngine {
      *             if the script fails, this will kill the engine
      */
     public void unsafeEval(final String script) {
-        this.octaveExec.evalRW(new WriteFunctor() {
-		@Override
-		public void doWrites(final Writer writer2) throws IOException {
-		    writer2.write(script);
-		}
-	    },
-	    getReadFunctor());
+	final long start = System.nanoTime();
+	ensureAlive();
+	try {
+	    this.octaveExec.evalRW(new StringWriteFunctor(script), 
+				   getReadFunctor());
+	} catch (final OctaveException e) {
+	    throw recover(e);
+	} finally {
+	    recordEval(start);
+	}
     }
 
     // ER: 
@@ -174,6 +504,12 @@ public final class OctaveEngine {
     //
     // That way, in case of an error, 
     // javaoctave_X_lasterr contains the string representtion of this error. 
+    // Setting javaoctave_X_eval, evaluation and cleanup 
+    // are written in a first frame, 
+    // the status, i.e. "0" on success and "1\n" followed by the error 
+    // is printed in a second frame cleaning up javaoctave_X_lasterr. 
+    // Both are pipelined via OctaveExec#evalRW(List, List) 
+    // so that eval costs a single round trip. 
     /**
      * A safe eval that will not break the engine on syntax errors 
      * or other errors. 
@@ -182,27 +518,100 @@ public final class OctaveEngine {
      *            the script to execute
      * @throws OctaveEvalException
      *             if the script fails
+     * @throws OctaveTimeoutException
+     *             if the script does not finish 
+     *             within the timeout set by {@link #setTimeout(long, TimeUnit)}
      */
-    @SuppressWarnings("checkstyle:magicnumber")
     public void eval(final String script) {
+	eval(script, this.octaveExec.getTimeout(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * A safe eval as {@link #eval(String)} but with a timeout 
+     * specific for this call. 
+     * If the script does not finish in time, octave is interrupted 
+     * and the engine can be used further. 
+     * Only if interrupting fails, the octave process is destroyed 
+     * and the exception thrown is marked destroyed. 
+     *
+     * @param script
+     *            the script to execute
+     * @param timeout
+     *            the timeout or <code>0</code> for no timeout 
+     * @param unit
+     *            the unit of <code>timeout</code> 
+     * @throws OctaveEvalException
+     *             if the script fails. 
+     *             Its {@link OctaveEvalException#getErrorTail()} 
+     *             is the tail of the error stream during this evaluation, 
+     *             which typically contains the warnings of the script. 
+     *             This is best effort 
+     *             as described for {@link OctaveExec#getErrorTail(long)}. 
+     *             Waiting for the error stream 
+     *             makes a failing evaluation take 20 up to 500 ms longer 
+     *             unless the tail capacity is <code>0</code>, 
+     *             see {@link OctaveEngineFactory#setErrorTailCapacity(int)}. 
+     *             So eval failures shall not be used for control flow. 
+     * @throws OctaveTimeoutException
+     *             if the script does not finish in time 
+     * @throws IllegalArgumentException
+     *             if <code>timeout</code> is negative 
+     */
+    @SuppressWarnings("checkstyle:magicnumber")
+    public void eval(final String script, 
+		     final long timeout, 
+		     final TimeUnit unit) {
+	final long timeoutMillis = toTimeoutMillis(timeout, unit);
         final String tag = String.format("%06x%06x",
 					 this.random.nextInt(1 << 23),
 					 this.random.nextInt(1 << 23));
-        put(String.format("javaoctave_%1$s_eval", tag),
-	    new OctaveString(script));
-        // Does not use lasterror() as that returns data in a matrix struct,
+	final String evalVar = String.format("javaoctave_%1$s_eval", tag);
+	final String errVar  = String.format("javaoctave_%1$s_lasterr", tag);
+	// pre-rendered, so that small scripts are written inline 
+	final StringWriter evalFrame = new StringWriter();
+	try {
+	    OctaveIO.setFunctor(Collections.<String, OctaveObject>singletonMap
+				(evalVar, new OctaveString(script)))
+		.doWrites(evalFrame);
+	} catch (final IOException e) {
+	    throw new OctaveIOException(e);
+	}
+	// Does not use lasterror() as that returns data in a matrix struct,
 	// we can not read that yet
-        unsafeEval(String.format("eval(javaoctave_%1$s_eval, " +
-				 "\"javaoctave_%1$s_lasterr = lasterr();\");",
-				 tag));
-        final OctaveString lastError =
-	    get(OctaveString.class,
-		String.format("javaoctave_%1$s_lasterr", tag));
-        unsafeEval(String.format("clear javaoctave_%1$s_eval  " +
-				 "javaoctave_%1$s_lasterr", tag));
-        if (lastError != null) {
-            throw new OctaveEvalException(lastError.getString());
-        }
+	evalFrame.write(String.format
+			("eval(%1$s, \"%2$s = lasterr();\");\nclear %1$s;", 
+			 evalVar, errVar));
+	final String statusCmd = String.format
+	    ("if exist('%1$s','var') printf('1\\n%%s', %1$s); clear %1$s; " + 
+	     "else printf('0'); end", errVar);
+        final StringWriter status = new StringWriter();
+	final long start = System.nanoTime();
+	ensureAlive();
+	final long errorPos = this.octaveExec.getErrorPosition();
+	try {
+	    this.octaveExec.evalRW
+		(Arrays.<WriteFunctor>asList
+		 (new StringWriteFunctor(evalFrame.toString()), 
+		  new StringWriteFunctor(statusCmd)),
+		 Arrays.asList(getReadFunctor(), new WriterReadFunctor(status)), 
+		 timeoutMillis);
+	} catch (final OctaveException e) {
+	    throw recover(e);
+	} finally {
+	    recordEval(start);
+	}
+	final String result = status.toString();
+	if ("0".equals(result)) {
+	    return;
+	}
+	if (!result.startsWith("1\n")) {
+            throw new OctaveParseException
+		("Unexpected output '" + result + "'");
+	}
+	final OctaveEvalException exc = 
+	    new OctaveEvalException(result.substring(2));
+	exc.setErrorTail(this.octaveExec.getErrorTail(errorPos));
+	throw exc;
     }
 
     /**
@@ -214,7 +623,7 @@ public final class OctaveEngine {
      *            the value to set
      */
     public void put(final String key, final OctaveObject value) {
-        this.octaveIO.set(Collections.singletonMap(key, value));
+        putAll(Collections.singletonMap(key, value));
     }
 
     /**
@@ -226,7 +635,96 @@ public final class OctaveEngine {
      *            the variables to be stored in octave
      */
     public void putAll(final Map<String, OctaveObject> vars) {
-        this.octaveIO.set(vars);
+	ensureAlive();
+	try {
+	    this.octaveIO.set(vars);
+	} catch (final OctaveException e) {
+	    throw recover(e);
+	}
+    }
+
+    /**
+     * Sets a large variable of doubles in octave from chunks 
+     * without holding the whole data in memory. 
+     * The variable is preallocated and filled block by block. 
+     *
+     * @param key
+     *            the name of the variable
+     * @param dims
+     *            the dimensions of the variable
+     * @param chunks
+     *            the data in column major order in chunks of any length
+     * @throws IllegalArgumentException
+     *            if the total length does not fit the dimensions
+     * @see OctaveIO#setChunks(String, int[], Iterator)
+     */
+    public void putChunks(final String key, final int[] dims, 
+			  final Iterator<? extends DoubleBuffer> chunks) {
+	ensureAlive();
+	try {
+	    this.octaveIO.setChunks(key, dims, chunks);
+	} catch (final OctaveException e) {
+	    throw recover(e);
+	}
+    }
+
+    /**
+     * Sets a large variable of doubles in octave 
+     * as {@link #putChunks(String, int[], Iterator)} 
+     * but reading the data from a channel, e.g. from a file or a socket. 
+     *
+     * @param key
+     *            the name of the variable
+     * @param dims
+     *            the dimensions of the variable
+     * @param src
+     *            a blocking channel providing the doubles in column major order
+     * @param order
+     *            the byte order of the doubles
+     * @param chunkLen
+     *            the number of doubles transferred at once
+     * @throws IllegalArgumentException
+     *            if the channel ends before all entries are read
+     * @see OctaveIO#setChunks(String, int[], ReadableByteChannel, ByteOrder, int)
+     */
+    public void putChunks(final String key, final int[] dims, 
+			  final ReadableByteChannel src, 
+			  final ByteOrder order, 
+			  final int chunkLen) {
+	ensureAlive();
+	try {
+	    this.octaveIO.setChunks(key, dims, src, order, chunkLen);
+	} catch (final OctaveException e) {
+	    throw recover(e);
+	}
+    }
+
+    /**
+     * Sets a value in octave as {@link #put(String, OctaveObject)} 
+     * and pins it: 
+     * If this engine is supervised, 
+     * the value is set again after respawning the octave process. 
+     *
+     * @param key
+     *            the name of the variable
+     * @param value
+     *            the value to set
+     */
+    public void putPinned(final String key, final OctaveObject value) {
+	put(key, value);
+	this.pinned.put(key, value);
+    }
+
+    /**
+     * Unpins the variable <code>key</code>, 
+     * i.e. after respawning the octave process, it is no longer set. 
+     * The variable itself is not changed. 
+     *
+     * @param key
+     *            the name of the variable
+     */
+    public void unpin(final String key) {
+	this.pinned.remove(key);
     }
 
     /**
@@ -235,7 +733,56 @@ public final class OctaveEngine {
      * @return the value from octave or null if the variable does not exist
      */
     public OctaveObject get(final String key) {
-        return this.octaveIO.get(key);
+	ensureAlive();
+	try {
+	    return this.octaveIO.get(key);
+	} catch (final OctaveException e) {
+	    throw recover(e);
+	}
+    }
+
+    /**
+     * Gets the values of several variables in a single round trip. 
+     *
+     * @param keys
+     *            the names of the variables
+     * @return 
+     *    a map from the names of the variables which exist to their values. 
+     *    Variables which do not exist are not contained. 
+     */
+    public Map<String, OctaveObject> getAll(final Collection<String> keys) {
+	ensureAlive();
+	try {
+	    return this.octaveIO.getAll(keys);
+	} catch (final OctaveException e) {
+	    throw recover(e);
+	}
+    }
+
+    /**
+     * Returns an iterator over the data of a large variable 
+     * in chunks of doubles in column major order 
+     * without holding the whole variable in memory. 
+     * Each invocation of <code>next()</code> transfers one chunk 
+     * into a buffer which is reused. 
+     * The variable must not change while iterating 
+     * and the iterator should be closed if not exhausted. 
+     *
+     * @param key
+     *            the name of the variable
+     * @param chunkLen
+     *            the maximal number of entries of a chunk, 
+     *            a multiple of the number of rows for blocks of columns
+     * @return the chunks of the variable or null if the variable does not exist
+     * @see OctaveIO#getChunks(String, int)
+     */
+    public OctaveChunkIterator getChunks(final String key, final int chunkLen) {
+	ensureAlive();
+	try {
+	    return this.octaveIO.getChunks(key, chunkLen);
+	} catch (final OctaveException e) {
+	    throw recover(e);
+	}
     }
 
     /**
@@ -254,6 +801,36 @@ public final class OctaveEngine {
         return Cast.cast(castClass, get(key));
     }
 
+    /**
+     * Runs <code>job</code>: 
+     * Records the variables existing, 
+     * sets its inputs, evaluates its script and gets its outputs. 
+     * Finally, inputs and outputs and all variables created 
+     * are cleared, also if the job failed. 
+     * Only the evaluation of the script is counted in {@link #getStats()}. 
+     *
+     * @param job
+     *            the job to run
+     * @return 
+     *    a map from the names of the outputs which exist to their values. 
+     * @throws OctaveEvalException
+     *             if the script fails
+     */
+    public Map<String, OctaveObject> run(final OctaveJob job) {
+	internalEval(OctaveJob.RECORD_COMMAND);
+	try {
+	    putAll(job.getInputs());
+	    eval(job.getScript());
+	    return getAll(job.getOutputNames());
+	} finally {
+	    try {
+		internalEval(job.getClearCommand());
+	    } catch (final OctaveException e) {
+		LOG.debug("Could not clear variables of " + job + ". ", e);
+	    }
+	}
+    }
+
     // ER: nowhere used
     /**
      * @return the factory that created this object
@@ -262,6 +839,24 @@ public final class OctaveEngine {
         return this.factory;
     }
 
+    /**
+     * Sets the default timeout for all operations of this engine, 
+     * in particular for {@link #eval(String)}. 
+     * If an operation does not finish in time, 
+     * an {@link OctaveTimeoutException} is thrown. 
+     * By default, there is no timeout. 
+     *
+     * @param timeout
+     *            the timeout or <code>0</code> for no timeout 
+     * @param unit
+     *            the unit of <code>timeout</code> 
+     * @throws IllegalArgumentException
+     *            if <code>timeout</code> is negative 
+     */
+    public void setTimeout(final long timeout, final TimeUnit unit) {
+        this.octaveExec.setTimeout(toTimeoutMillis(timeout, unit));
+    }
+
     /**
      * Set the writer that the scripts output will be written to.
      *
@@ -283,21 +878,361 @@ public final class OctaveEngine {
      *            the errorWriter to set
      */
     public void setErrorWriter(final Writer errorWriter) {
+        this.errorWriter = errorWriter;
         this.octaveExec.setErrorWriter(errorWriter);
     }
 
+    /**
+     * Sets whether this engine is supervised. 
+     * If so, before each operation it is checked 
+     * whether the octave process is alive and if not it is respawned. 
+     * Likewise, if an operation fails 
+     * with an {@link OctaveNonrecoverableException} 
+     * or an exception marked destroyed, e.g. due to a timeout, 
+     * the process is respawned 
+     * and the operation throws an {@link OctaveRetryableException}. 
+     * After respawning, the script set by {@link #setInitScript(String)} 
+     * is evaluated and the variables set by 
+     * {@link #putPinned(String, OctaveObject)} are set again. 
+     * Note that if the engine is closed or destroyed 
+     * by {@link #close()} or {@link #destroy()}, 
+     * the process is not respawned. 
+     * By default, an engine is not supervised. 
+     *
+     * @param supervised
+     *            whether this engine is supervised
+     */
+    public void setSupervised(final boolean supervised) {
+        this.supervised = supervised;
+    }
+
+    /**
+     * Sets whether {@link #put(String, OctaveObject)}, 
+     * {@link #putAll(Map)} and {@link #get(String)} 
+     * transfer values in the <code>-binary</code> format of octave 
+     * via a temporary file instead of as text through the pipe. 
+     * This is lossless and much faster for large numeric values. 
+     * Values which cannot be transferred in binary format 
+     * are transferred as text. 
+     * By default, values are transferred as text. 
+     *
+     * @param binaryTransfer
+     *            whether to transfer values in binary format where possible
+     * @see OctaveIO#setBinaryTransfer(boolean)
+     */
+    public void setBinaryTransfer(final boolean binaryTransfer) {
+        this.octaveIO.setBinaryTransfer(binaryTransfer);
+    }
+
+    /**
+     * Sets the minimal number of bytes of a real matrix of doubles 
+     * which {@link #put(String, OctaveObject)}, 
+     * {@link #putAll(Map)} and {@link #get(String)} 
+     * transfer as raw data through a memory mapped file, 
+     * residing in shared memory if <code>/dev/shm</code> exists, 
+     * instead of through the pipe. 
+     * This takes precedence over {@link #setBinaryTransfer(boolean)}. 
+     * By default, this is <code>0</code> which means disabled. 
+     *
+     * @param mappedThreshold
+     *            the minimal number of bytes or <code>0</code> 
+     * @throws IllegalArgumentException
+     *            if <code>mappedThreshold</code> is negative
+     * @see OctaveIO#setMappedTransferThreshold(long)
+     */
+    public void setMappedTransferThreshold(final long mappedThreshold) {
+        this.octaveIO.setMappedTransferThreshold(mappedThreshold);
+    }
+
+    /**
+     * Sets the script evaluated after respawning the octave process 
+     * if this engine is supervised 
+     * or <code>null</code> which means that no script is evaluated. 
+     * Typically, this loads packages and adds paths. 
+     *
+     * @param initScript
+     *            the script to initialize a respawned process or null
+     */
+    public void setInitScript(final String initScript) {
+        this.initScript = initScript;
+    }
+
     /**
      * Close the octave process in an orderly fashion.
+     * Pending asynchronous operations are performed before.
      */
     public void close() {
-        this.octaveExec.close();
+	this.terminated = true;
+	final ExecutorService executor = shutdownAsync();
+	if (executor != null) {
+	    try {
+		while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+		    // wait for pending asynchronous operations 
+		}
+	    } catch (final InterruptedException e) {
+		Thread.currentThread().interrupt();
+		throw new OctaveInterruptedException(e);
+	    }
+	}
+	try {
+	    this.octaveExec.close();
+	} finally {
+	    this.octaveIO.close();
+	}
     }
 
     /**
      * Kill the octave process without remorse.
+     * Pending asynchronous operations fail 
+     * with an {@link OctaveIOException} marked as destroyed. 
      */
     public void destroy() {
-        this.octaveExec.destroy();
+	this.terminated = true;
+	final ExecutorService executor = shutdownAsync();
+	if (executor != null) {
+	    final List<Runnable> pending = executor.shutdownNow();
+	    for (Runnable task : pending) {
+		final OctaveIOException exc = 
+		    new OctaveIOException("Engine destroyed");
+		exc.setDestroyed(true);
+		((AsyncTask<?>) task).future.completeExceptionally(exc);
+	    }
+	}
+	try {
+	    this.octaveExec.destroy();
+	} finally {
+	    this.octaveIO.close();
+	}
+    }
+
+    /**
+     * Queues <code>operation</code> to be performed 
+     * by {@link #asyncExecutor} after all operations queued before. 
+     *
+     * @param operation
+     *    the operation to be performed asynchronously. 
+     * @return
+     *    a future completed with the result of <code>operation</code> 
+     *    or exceptionally with the exception thrown by <code>operation</code>. 
+     *    If the engine is closed or destroyed, 
+     *    the future fails with an {@link OctaveIOException}. 
+     */
+    private <T> CompletableFuture<T> async(final Callable<T> operation) {
+	final CompletableFuture<T> future = new CompletableFuture<T>();
+	synchronized (this) {
+	    if (this.asyncExecutor == null) {
+		this.asyncExecutor = Executors.newSingleThreadExecutor
+		    (new NamedThreadFactory(OctaveEngine.class.getSimpleName()));
+	    }
+	    try {
+		this.asyncExecutor
+		    .execute(new AsyncTask<T>(future, operation));
+	    } catch (final RejectedExecutionException e) {
+		future.completeExceptionally
+		    (new OctaveIOException("Engine closed", e));
+	    }
+	}
+	return future;
+    }
+
+    /**
+     * Shuts down {@link #asyncExecutor} if it exists 
+     * so that no further operations are accepted. 
+     *
+     * @return
+     *    {@link #asyncExecutor} which may be <code>null</code>. 
+     */
+    private synchronized ExecutorService shutdownAsync() {
+	if (this.asyncExecutor != null) {
+	    this.asyncExecutor.shutdown();
+	}
+	return this.asyncExecutor;
+    }
+
+    /**
+     * Asynchronous variant of {@link #eval(String)}. 
+     *
+     * @param script
+     *    the script to execute
+     * @return
+     *    a future completed after evaluation 
+     *    or exceptionally, e.g. with an {@link OctaveEvalException} 
+     *    if the script fails. 
+     */
+    public CompletableFuture<Void> evalAsync(final String script) {
+	return async(new Callable<Void>() {
+		@Override
+		public Void call() {
+		    eval(script);
+		    return null;
+		}
+	    });
+    }
+
+    /**
+     * Asynchronous variant of {@link #put(String, OctaveObject)}. 
+     *
+     * @param key
+     *            the name of the variable
+     * @param value
+     *            the value to set
+     * @return
+     *    a future completed after the value is set. 
+     */
+    public CompletableFuture<Void> putAsync(final String key, 
+					    final OctaveObject value) {
+	return async(new Callable<Void>() {
+		@Override
+		public Void call() {
+		    put(key, value);
+		    return null;
+		}
+	    });
+    }
+
+    /**
+     * Asynchronous variant of {@link #putAll(Map)}. 
+     *
+     * @param vars
+     *            the variables to be stored in octave
+     * @return
+     *    a future completed after the values are set. 
+     */
+    public CompletableFuture<Void> 
+	putAllAsync(final Map<String, OctaveObject> vars) {
+	return async(new Callable<Void>() {
+		@Override
+		public Void call() {
+		    putAll(vars);
+		    return null;
+		}
+	    });
+    }
+
+    /**
+     * Asynchronous variant of {@link #get(String)}. 
+     *
+     * @param key
+     *            the name of the variable
+     * @return
+     *    a future completed with the value from octave 
+     *    or with null if the variable does not exist
+     */
+    public CompletableFuture<OctaveObject> getAsync(final String key) {
+	return async(new Callable<OctaveObject>() {
+		@Override
+		public OctaveObject call() {
+		    return get(key);
+		}
+	    });
+    }
+
+    /**
+     * Asynchronous variant of {@link #get(Class, String)}. 
+     *
+     * @param castClass
+     *            Class to cast to
+     * @param key
+     *            the name of the variable
+     * @param <T>
+     *            the class of the return value
+     * @return
+     *    a future completed with the value from octave 
+     *    or with null if the variable does not exist 
+     *    or exceptionally with an {@link OctaveClassCastException} 
+     *    if the object can not be cast to a castClass
+     */
+    public <T extends OctaveObject> 
+	CompletableFuture<T> getAsync(final Class<T> castClass,
+				      final String key) {
+	return async(new Callable<T>() {
+		@Override
+		public T call() {
+		    return get(castClass, key);
+		}
+	    });
+    }
+
+    /**
+     * Asynchronous variant of {@link #run(OctaveJob)}. 
+     *
+     * @param job
+     *            the job to run
+     * @return
+     *    a future completed with the outputs of the job. 
+     */
+    public CompletableFuture<Map<String, OctaveObject>> 
+	runAsync(final OctaveJob job) {
+	return async(new Callable<Map<String, OctaveObject>>() {
+		@Override
+		public Map<String, OctaveObject> call() {
+		    return run(job);
+		}
+	    });
+    }
+
+    /**
+     * Checks whether the octave process is alive and responsive 
+     * sending a command which does nothing. 
+     * This is cheap, but nevertheless requires a round trip to octave 
+     * and so shall not be invoked while other operations are pending. 
+     * In contrast to the other operations, 
+     * a failing ping does not cause a supervised engine 
+     * to respawn the octave process. 
+     * Note that if octave does not respond in time, 
+     * it is interrupted as described for {@link #eval(String, long, TimeUnit)}. 
+     *
+     * @param timeout
+     *            the timeout or <code>0</code> for no timeout 
+     * @param unit
+     *            the unit of <code>timeout</code> 
+     * @return
+     *    whether octave responded within the timeout as expected. 
+     * @throws IllegalArgumentException
+     *            if <code>timeout</code> is negative 
+     */
+    public boolean ping(final long timeout, final TimeUnit unit) {
+	final long timeoutMillis = toTimeoutMillis(timeout, unit);
+	final StringWriter output = new StringWriter();
+	try {
+	    this.octaveExec.evalRW
+		(Collections.<WriteFunctor>singletonList
+		 (new StringWriteFunctor("")), 
+		 Collections.<ReadFunctor>singletonList
+		 (new WriterReadFunctor(output)), 
+		 timeoutMillis);
+	} catch (final OctaveException e) {
+	    LOG.debug("Ping failed. ", e);
+	    return false;
+	} catch (final RejectedExecutionException e) {
+	    // engine closed 
+	    LOG.debug("Ping failed. ", e);
+	    return false;
+	}
+	return output.toString().isEmpty();
+    }
+
+    /**
+     * Returns whether the octave process of this engine is alive. 
+     *
+     * @return
+     *    whether the octave process is alive. 
+     */
+    boolean isAlive() {
+	return this.octaveExec.isAlive();
+    }
+
+    /**
+     * Returns a snapshot of the statistics of this engine. 
+     *
+     * @return
+     *    the statistics of this engine. 
+     */
+    public OctaveEngineStats getStats() {
+	return new OctaveEngineStats(isAlive(), 
+				     System.nanoTime() - this.startNanos, 
+				     this.numEvals.get(), 
+				     this.lastEvalNanos);
     }
 
     /**
@@ -308,10 +1243,14 @@ public final class OctaveEngine {
      */
     public String getVersion() {
         final StringWriter version = new StringWriter();
-	StringReader reader =
-	    new StringReader("printf(\"%s\", OCTAVE_VERSION());");
-        this.octaveExec.evalRW(new ReaderWriteFunctor(reader),
-			       new WriterReadFunctor(version));
+	ensureAlive();
+	try {
+	    this.octaveExec.evalRW(new StringWriteFunctor
+				   ("printf(\"%s\", OCTAVE_VERSION());"),
+				   new WriterReadFunctor(version));
+	} catch (final OctaveException e) {
+	    throw recover(e);
+	}
         return version.toString();
     }
 }
@@ -23,6 +23,25 @@ import java.io.OutputStreamWriter;
 import java.io.Writer;
 
 import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import eu.simuline.octave.exception.OctaveException;
+import eu.simuline.octave.exception.OctaveEvalException;
+import eu.simuline.octave.exec.OctaveExec;
+import eu.simuline.octave.util.AsyncLogWriter;
+import eu.simuline.octave.util.NamedThreadFactory;
+import eu.simuline.octave.util.ReaderWriterPipeThread;
+import eu.simuline.octave.util.RotatingFileWriter;
+import eu.simuline.octave.util.VirtualThreadFactory;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 
 /**
  * Factory that creates OctaveEngines. 
@@ -36,10 +55,17 @@ import java.util.Arrays;
  * also the default value is documented 
  * which is used to create an {@link OctaveEngine} 
  * if the setter method is not invoked. 
+ * <p>
+ * Starting an octave process is expensive. 
+ * Thus the factory may keep a number of standby engines 
+ * which are started and warmed up in the background 
+ * as described for {@link #setNumStandby(int)}. 
  * 
  */
 public final class OctaveEngineFactory {
 
+    private static final Log LOG = LogFactory.getLog(OctaveEngineFactory.class);
+
     /**
      * System property where the executable is found. 
      */
@@ -145,6 +171,118 @@ public final class OctaveEngineFactory {
      */
     private int numThreadsReuse = 2;
 
+    /**
+     * The number of characters of the error stream of octave 
+     * buffered for {@link #errWriter} beyond which characters are dropped. 
+     * By default, this is {@link ReaderWriterPipeThread#DEFAULT_CAPACITY}. 
+     * The according setter method is {@link #setErrorCapacity(int)}. 
+     */
+    private int errorCapacity = ReaderWriterPipeThread.DEFAULT_CAPACITY;
+
+    /**
+     * The number of characters of the error stream of octave read last 
+     * which are attached to an {@link OctaveEvalException}. 
+     * By default, this is 
+     * {@link ReaderWriterPipeThread#DEFAULT_TAIL_CAPACITY}. 
+     * The according setter method is {@link #setErrorTailCapacity(int)}. 
+     */
+    private int errorTailCapacity = 
+	ReaderWriterPipeThread.DEFAULT_TAIL_CAPACITY;
+
+    /**
+     * The default timeout in milliseconds of the engines created 
+     * or <code>0</code> which means that there is no timeout. 
+     * By default, this is <code>0</code>. 
+     * The according setter method is {@link #setTimeout(long, TimeUnit)}. 
+     */
+    private long timeoutMillis = 0;
+
+    /**
+     * Whether the engines created are supervised, 
+     * i.e. respawn their octave process if it broke. 
+     * By default, this is <code>false</code>. 
+     * The according setter method is {@link #setSupervised(boolean)}. 
+     */
+    private boolean supervised = false;
+
+    /**
+     * Whether the engines created transfer values in binary format 
+     * where possible. 
+     * By default, this is <code>false</code>. 
+     * The according setter method is {@link #setBinaryTransfer(boolean)}. 
+     */
+    private boolean binaryTransfer = false;
+
+    /**
+     * The minimal number of bytes of a real matrix of doubles 
+     * the engines created transfer through a memory mapped file 
+     * or <code>0</code> if this is disabled. 
+     * By default, this is <code>0</code>. 
+     * The according setter method is 
+     * {@link #setMappedTransferThreshold(long)}. 
+     */
+    private long mappedThreshold = 0;
+
+    /**
+     * Whether the threads reading from and writing to octave 
+     * are virtual threads. 
+     * This takes effect only if virtual threads are supported, 
+     * i.e. for java 21 or higher. 
+     * By default, this is <code>false</code>. 
+     * The according setter method is {@link #setUseVirtualThreads(boolean)}. 
+     */
+    private boolean useVirtualThreads = false;
+
+    /**
+     * The script evaluated on each engine created 
+     * before it is returned by {@link #getScriptEngine()} 
+     * or <code>null</code> if there is no such script. 
+     * Typically, this loads packages and adds paths. 
+     * Even without script, the engine is warmed up 
+     * waiting until octave has started. 
+     * By default, this is <code>null</code>. 
+     * The according setter method is {@link #setWarmUpScript(String)}. 
+     */
+    private String warmUpScript = null;
+
+    /**
+     * The number of standby engines to be kept, 
+     * i.e. started and warmed up in the background. 
+     * By default, this is <code>0</code>. 
+     * The according setter method is {@link #setNumStandby(int)}. 
+     */
+    private int numStandby = 0;
+
+    /**
+     * The standby engines which are started and warmed up already. 
+     * These are handed out by {@link #getScriptEngine()} first. 
+     */
+    private final Queue<OctaveEngine> standby = 
+	new ConcurrentLinkedQueue<OctaveEngine>();
+
+    /**
+     * The number of standby engines being started in the background 
+     * by {@link #spawner}. 
+     * Access is synchronized on this factory. 
+     */
+    private int numSpawning = 0;
+
+    /**
+     * The number of times the standby engines were discarded 
+     * by {@link #discardStandby()}. 
+     * Engines being started while the standby engines are discarded 
+     * are discarded also. 
+     * Access is synchronized on this factory. 
+     */
+    private int generation = 0;
+
+    /**
+     * Starts standby engines in the background 
+     * with daemon threads which terminate if idle. 
+     * This is created lazily if {@link #numStandby} is positive. 
+     */
+    private ExecutorService spawner = null;
+
     /**
      * Default constructor creating a factory with default parameters. 
      */
@@ -154,11 +292,145 @@ public final class OctaveEngineFactory {
 
     /**
      * Returns a script engine with the parameters set for this factory. 
+     * If there is a standby engine with a live octave process, 
+     * this is returned immediately; dead standby engines are discarded. 
+     * Otherwise, a new engine is started and warmed up 
+     * which may take seconds. 
+     * In both cases, if standby engines are configured, 
+     * replacements are started in the background. 
      *
      * @return 
      *    a new OctaveEngine with the current parameters. 
+     * @throws OctaveException 
+     *    if the warm up script fails or octave cannot be started. 
      */
     public OctaveEngine getScriptEngine() {
+	OctaveEngine engine;
+	while ((engine = this.standby.poll()) != null && !engine.isAlive()) {
+	    LOG.warn("Discarded standby engine with dead octave process. ");
+	    engine.destroy();
+	}
+	if (engine == null) {
+	    engine = createEngine();
+	    warmUp(engine, this.warmUpScript);
+	}
+	replenishStandby();
+        return engine;
+    }
+
+    /**
+     * Starts standby engines in the background 
+     * until, including those being started, 
+     * there are {@link #numStandby} standby engines. 
+     * The engines are created with the current parameters. 
+     */
+    private synchronized void replenishStandby() {
+	while (this.standby.size() + this.numSpawning < this.numStandby) {
+	    if (this.spawner == null) {
+		ThreadPoolExecutor tpe = new ThreadPoolExecutor
+		    (1, 1, 1, TimeUnit.SECONDS,
+		     new LinkedBlockingQueue<Runnable>(),
+		     new NamedThreadFactory
+		     (OctaveEngineFactory.class.getSimpleName(), true));
+		tpe.allowCoreThreadTimeOut(true);
+		this.spawner = tpe;
+	    }
+	    this.numSpawning++;
+	    // Create the process in this thread 
+	    // to use the parameters as set in this thread. 
+	    // This is cheap: starting up the interpreter is what takes time 
+	    // and this is awaited by the warm up in the background. 
+	    final OctaveEngine engine = createEngine();
+	    final String script = this.warmUpScript;
+	    final int gen = this.generation;
+	    this.spawner.execute(new Runnable() {
+		    @Override
+		    public void run() {
+			spawnStandby(engine, script, gen);
+		    }
+		});
+	}
+    }
+
+    /**
+     * Warms up the engine <code>engine</code> 
+     * and adds it to {@link #standby} 
+     * unless the standby engines were discarded in the meantime. 
+     * This runs in a thread of {@link #spawner}. 
+     */
+    private void spawnStandby(final OctaveEngine engine, 
+			      final String script, 
+			      final int gen) {
+	boolean keep = false;
+	try {
+	    warmUp(engine, script);
+	    keep = true;
+	} catch (final OctaveException e) {
+	    LOG.error("Failed to warm up standby engine. ", e);
+	} finally {
+	    synchronized (this) {
+		this.numSpawning--;
+		keep &= gen == this.generation;
+		if (keep) {
+		    this.standby.add(engine);
+		}
+	    }
+	    if (!keep) {
+		engine.destroy();
+	    }
+	}
+    }
+
+    /**
+     * Waits until <code>engine</code> has started 
+     * and evaluates <code>script</code> if not <code>null</code>. 
+     * If this fails, the engine is destroyed. 
+     *
+     * @throws OctaveException 
+     *    if evaluation fails. 
+     */
+    private static void warmUp(final OctaveEngine engine, 
+			       final String script) {
+	try {
+	    if (script == null) {
+		// waits until octave has started 
+		engine.unsafeEval("");
+	    } else {
+		engine.eval(script);
+	    }
+	} catch (final OctaveException e) {
+	    engine.destroy();
+	    throw e;
+	}
+    }
+
+    /**
+     * Destroys all standby engines 
+     * and all engines currently being started in the background. 
+     * This is invoked by every setter method 
+     * after assigning the parameter, 
+     * because standby engines are created with the parameters 
+     * at the time they were started: 
+     * An engine started concurrently with the old parameter 
+     * is tagged with the old {@link #generation} and so is discarded. 
+     * Note that subsequent invocations of {@link #getScriptEngine()} 
+     * start new standby engines if {@link #numStandby} is positive. 
+     */
+    public void discardStandby() {
+	synchronized (this) {
+	    this.generation++;
+	}
+	OctaveEngine engine;
+	while ((engine = this.standby.poll()) != null) {
+	    engine.destroy();
+	}
+    }
+
+    /**
+     * Creates a new engine with the current parameters 
+     * without warming it up. 
+     */
+    private OctaveEngine createEngine() {
 	// determine the command/path of the octave program 
 	String octaveProgramPathCmd = (this.octaveProgramFile == null)
 	    ? System.getProperty(PROPERTY_EXECUTABLE, this.octaveProgramCmd)
@@ -169,13 +441,27 @@ public final class OctaveEngineFactory {
 	cmdArray[0] = octaveProgramPathCmd;
 	System.arraycopy(this.argsArray, 0, cmdArray, 1, this.argsArray.length);
 
-        return new OctaveEngine(this, 
-				this.numThreadsReuse,
-				this.octaveInputLog, 
-				this.errWriter,
-				cmdArray,
-				this.environment,
-				this.workingDir);
+	final ThreadFactory threadFactory = 
+	    this.useVirtualThreads && VirtualThreadFactory.isSupported()
+	    ? new VirtualThreadFactory(OctaveExec.class.getSimpleName())
+	    : new NamedThreadFactory();
+
+        final OctaveEngine engine = new OctaveEngine(this, 
+						     this.numThreadsReuse,
+						     threadFactory,
+						     this.errorCapacity,
+						     this.errorTailCapacity,
+						     this.octaveInputLog, 
+						     this.errWriter,
+						     cmdArray,
+						     this.environment,
+						     this.workingDir);
+	engine.setTimeout(this.timeoutMillis, TimeUnit.MILLISECONDS);
+	engine.setSupervised(this.supervised);
+	engine.setBinaryTransfer(this.binaryTransfer);
+	engine.setMappedTransferThreshold(this.mappedThreshold);
+	engine.setInitScript(this.warmUpScript);
+	return engine;
     }
 
     /**
@@ -186,6 +472,37 @@ public final class OctaveEngineFactory {
      */
     public void setOctaveInputLog(final Writer octaveInputLog) {
         this.octaveInputLog = octaveInputLog;
+	discardStandby();
+    }
+
+    /**
+     * Sets the log of the input of the engines created 
+     * to an {@link AsyncLogWriter} logging to <code>octaveInputLog</code>, 
+     * so that a slow log does not slow down sending data to octave. 
+     * For a log file which shall not grow without limit, 
+     * <code>octaveInputLog</code> may be a {@link RotatingFileWriter}. 
+     * Note that the thread logging is stopped and <code>octaveInputLog</code> 
+     * is closed only when closing the writer 
+     * returned by this method. 
+     *
+     * @param octaveInputLog
+     *    the writer to log the input to asynchronously. 
+     * @param capacity
+     *    the maximal number of chunks of input not yet logged. 
+     * @param policy
+     *    what to do if <code>capacity</code> is reached. 
+     * @return
+     *    the asynchronous log writer set as {@link #octaveInputLog}. 
+     * @see AsyncLogWriter#AsyncLogWriter(Writer, int, AsyncLogWriter.Policy)
+     */
+    public AsyncLogWriter setAsyncOctaveInputLog(final Writer octaveInputLog,
+						 final int capacity,
+						 final AsyncLogWriter.Policy 
+						 policy) {
+	final AsyncLogWriter asyncLog = 
+	    new AsyncLogWriter(octaveInputLog, capacity, policy);
+	setOctaveInputLog(asyncLog);
+	return asyncLog;
     }
 
     /**
@@ -196,6 +513,7 @@ public final class OctaveEngineFactory {
      */
     public void setErrorWriter(final Writer errWriter) {
         this.errWriter = errWriter;
+	discardStandby();
     }
 
     /**
@@ -206,6 +524,7 @@ public final class OctaveEngineFactory {
      */
     public void setOctaveProgramFile(final File octaveProgramFile) {
         this.octaveProgramFile = octaveProgramFile;
+	discardStandby();
     }
 
     /**
@@ -219,6 +538,7 @@ public final class OctaveEngineFactory {
      */
     public void setOctaveProgramCmd(final String octaveProgramCmd) {
         this.octaveProgramCmd = octaveProgramCmd;
+	discardStandby();
     }
 
     /**
@@ -236,6 +556,7 @@ public final class OctaveEngineFactory {
      */
     public void setArgsArray(final String[] argsArray) {
         this.argsArray = Arrays.copyOf(argsArray, argsArray.length);
+	discardStandby();
     }
 
     /**
@@ -251,6 +572,7 @@ public final class OctaveEngineFactory {
         this.environment = environment == null 
 	    ? null
 	    : Arrays.copyOf(environment, environment.length);
+	discardStandby();
     }
 
     /**
@@ -261,6 +583,7 @@ public final class OctaveEngineFactory {
      */
     public void setWorkingDir(final File workingDir) {
         this.workingDir = workingDir;
+	discardStandby();
     }
 
     /**
@@ -277,5 +600,175 @@ public final class OctaveEngineFactory {
 	    throw new IllegalArgumentException();
 	}
 	this.numThreadsReuse = numThreadsReuse;
+	discardStandby();
+    }
+
+    /**
+     * Sets the default timeout of the engines created 
+     * as described for {@link OctaveEngine#setTimeout(long, TimeUnit)}. 
+     * The default value is <code>0</code> which means no timeout. 
+     *
+     * @param timeout
+     *    the timeout or <code>0</code> for no timeout. 
+     * @param unit
+     *    the unit of <code>timeout</code>. 
+     */
+    public void setTimeout(final long timeout, final TimeUnit unit) {
+	final long millis = OctaveEngine.toTimeoutMillis(timeout, unit);
+	this.timeoutMillis = millis;
+	discardStandby();
+    }
+
+    /**
+     * Sets the number of characters of the error stream of octave 
+     * buffered for the error writer. 
+     * The error stream is read by a thread of its own 
+     * and handed over to another thread writing it to the error writer, 
+     * so that a slow error writer does not slow down octave. 
+     * If the error writer cannot keep up, 
+     * characters beyond this capacity are dropped. 
+     * The default value is {@link ReaderWriterPipeThread#DEFAULT_CAPACITY}. 
+     *
+     * @param errorCapacity
+     *    the capacity in characters which shall be positive. 
+     */
+    public void setErrorCapacity(final int errorCapacity) {
+	if (errorCapacity <= 0) {
+	    throw new IllegalArgumentException();
+	}
+	this.errorCapacity = errorCapacity;
+	discardStandby();
+    }
+
+    /**
+     * Sets the number of characters of the error stream of octave read last 
+     * which are attached to an {@link OctaveEvalException} 
+     * via {@link OctaveEvalException#setErrorTail(String)}. 
+     * The default value is 
+     * {@link ReaderWriterPipeThread#DEFAULT_TAIL_CAPACITY}. 
+     *
+     * @param errorTailCapacity
+     *    the number of characters which may be <code>0</code>. 
+     */
+    public void setErrorTailCapacity(final int errorTailCapacity) {
+	if (errorTailCapacity < 0) {
+	    throw new IllegalArgumentException();
+	}
+	this.errorTailCapacity = errorTailCapacity;
+	discardStandby();
+    }
+
+    /**
+     * Sets whether the engines created are supervised 
+     * as described for {@link OctaveEngine#setSupervised(boolean)}. 
+     * After respawning, the warm up script 
+     * set by {@link #setWarmUpScript(String)} is evaluated again. 
+     * The default value is <code>false</code>. 
+     *
+     * @param supervised
+     *    whether the engines created are supervised. 
+     */
+    public void setSupervised(final boolean supervised) {
+	this.supervised = supervised;
+	discardStandby();
+    }
+
+    /**
+     * Sets whether the engines created transfer values in binary format 
+     * as described for {@link OctaveEngine#setBinaryTransfer(boolean)}. 
+     * The default value is <code>false</code>. 
+     *
+     * @param binaryTransfer
+     *    whether the engines created transfer values in binary format. 
+     */
+    public void setBinaryTransfer(final boolean binaryTransfer) {
+	this.binaryTransfer = binaryTransfer;
+	discardStandby();
+    }
+
+    /**
+     * Sets the minimal number of bytes of a real matrix of doubles 
+     * the engines created transfer through a memory mapped file 
+     * as described for 
+     * {@link OctaveEngine#setMappedTransferThreshold(long)}. 
+     * The default value is <code>0</code> which means disabled. 
+     *
+     * @param mappedThreshold
+     *    the minimal number of bytes or <code>0</code>. 
+     * @throws IllegalArgumentException
+     *    if <code>mappedThreshold</code> is negative. 
+     */
+    public void setMappedTransferThreshold(final long mappedThreshold) {
+	if (mappedThreshold < 0) {
+	    throw new IllegalArgumentException
+		("Expected non-negative threshold but found " + 
+		 mappedThreshold + ". ");
+	}
+	this.mappedThreshold = mappedThreshold;
+	discardStandby();
+    }
+
+    /**
+     * Sets whether the threads reading from and writing to octave 
+     * including the thread piping the error stream 
+     * are virtual threads. 
+     * This is useful if many engines are used simultaneously, 
+     * because these threads block on io most of the time. 
+     * Virtual threads are supported for java 21 or higher only; 
+     * otherwise a warning is logged and ordinary threads are used. 
+     * The default value is <code>false</code>. 
+     *
+     * @param useVirtualThreads
+     *    whether to use virtual threads. 
+     */
+    public void setUseVirtualThreads(final boolean useVirtualThreads) {
+	if (useVirtualThreads && !VirtualThreadFactory.isSupported()) {
+	    LOG.warn("Virtual threads are not supported by this jvm; " + 
+		     "ordinary threads are used instead. ");
+	}
+	this.useVirtualThreads = useVirtualThreads;
+	discardStandby();
+    }
+
+    /**
+     * Sets the script evaluated on each engine created 
+     * before it is handed out by {@link #getScriptEngine()} 
+     * or <code>null</code> which means that no script is evaluated. 
+     * Typically, the script loads packages and adds paths. 
+     * The default value is <code>null</code>. 
+     *
+     * @param warmUpScript
+     *    the script to warm up engines or <code>null</code>. 
+     */
+    public void setWarmUpScript(final String warmUpScript) {
+	this.warmUpScript = warmUpScript;
+	discardStandby();
+    }
+
+    /**
+     * Sets the number of standby engines. 
+     * If this is positive, {@link #getScriptEngine()} 
+     * hands out an engine started and warmed up in the background 
+     * if there is one and starts a replacement in the background. 
+     * The standby engines are started 
+     * the first time {@link #getScriptEngine()} is invoked 
+     * after setting a positive number. 
+     * The default value is <code>0</code>. 
+     * <p>
+     * Note that standby engines are ordinary octave processes. 
+     * To terminate them without terminating the virtual machine, 
+     * set the number of standby engines to <code>0</code>. 
+     *
+     * @param numStandby
+     *    the number of standby engines which shall not be negative. 
+     */
+    public void setNumStandby(final int numStandby) {
+	if (numStandby < 0) {
+	    throw new IllegalArgumentException();
+	}
+	synchronized (this) {
+	    this.numStandby = numStandby;
+	}
+	discardStandby();
     }
 }
@@ -0,0 +1,602 @@
+/*
+ * Copyright 2026 Simuline Organization (l2r)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.simuline.octave;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import eu.simuline.octave.exception.OctaveException;
+import eu.simuline.octave.exception.OctaveInterruptedException;
+import eu.simuline.octave.util.NamedThreadFactory;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * A pool of pre-started {@link OctaveEngine}s 
+ * created by an {@link OctaveEngineFactory}. 
+ * Since each engine wraps an octave process, 
+ * creating an engine is expensive 
+ * and an engine can evaluate one script at a time only. 
+ * Thus a thread needing an engine checks one out via {@link #checkout()} 
+ * and gives it back via {@link #checkin(OctaveEngine)}. 
+ * In the meantime, the engine is used by that thread exclusively. 
+ * On checkin, the workspace of the engine is reset 
+ * evaluating {@link #RESET_SCRIPT}. 
+ * An engine which is broken, e.g. because octave died, 
+ * shall be given back via {@link #invalidate(OctaveEngine)} instead. 
+ * <p> 
+ * The parameters of the pool are set by setter methods. 
+ * In the documentation of each setter method, 
+ * also the default value is documented. 
+ * Idle engines are evicted in the background, 
+ * if idle longer than {@link #maxIdleMillis}, 
+ * but there are always kept at least {@link #minIdle} engines, 
+ * as long as the pool is not closed via {@link #close()}. 
+ */
+public final class OctaveEnginePool {
+
+    private static final Log LOG = LogFactory.getLog(OctaveEnginePool.class);
+
+    /**
+     * The script evaluated on an engine given back 
+     * via {@link #checkin(OctaveEngine)} to reset its workspace. 
+     */
+    public static final String RESET_SCRIPT = "clear all;";
+
+    /**
+     * The period in milliseconds 
+     * in which idle engines are evicted and new ones are started 
+     * to keep {@link #minIdle} engines. 
+     */
+    private static final long MAINTENANCE_PERIOD_MILLIS = 1000;
+
+    /**
+     * An engine which is not checked out 
+     * together with the time it was given back. 
+     */
+    private static final class IdleEngine {
+
+	/**
+	 * The engine which is idle. 
+	 */
+	private final OctaveEngine engine;
+
+	/**
+	 * The time in milliseconds when {@link #engine} became idle. 
+	 */
+	private final long idleSince;
+
+	IdleEngine(final OctaveEngine engine) {
+	    this.engine = engine;
+	    this.idleSince = System.currentTimeMillis();
+	}
+    } // class IdleEngine
+
+    /**
+     * The factory creating the engines of this pool. 
+     */
+    private final OctaveEngineFactory factory;
+
+    /**
+     * The engines which are not checked out. 
+     * The most recently given back engine comes first, 
+     * so that the engines at the end are candidates for eviction. 
+     */
+    private final Deque<IdleEngine> idle = new ArrayDeque<IdleEngine>();
+
+    /**
+     * The engines checked out via {@link #checkout()} 
+     * and not yet given back. 
+     */
+    private final Set<OctaveEngine> active = new HashSet<OctaveEngine>();
+
+    /**
+     * The number of engines currently being started. 
+     * These are neither {@link #idle} nor {@link #active} 
+     * but count for {@link #maxTotal}. 
+     */
+    private int numStarting = 0;
+
+    /**
+     * The minimal number of idle engines kept. 
+     * By default, this is <code>0</code>. 
+     * The according setter method is {@link #setMinIdle(int)}. 
+     */
+    private int minIdle = 0;
+
+    /**
+     * The maximal number of engines, idle or not, 
+     * or <code>-1</code> if there is no limit. 
+     * By default, this is the number of available processors. 
+     * The according setter method is {@link #setMaxTotal(int)}. 
+     */
+    private int maxTotal = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * The time in milliseconds an engine may be idle before being evicted 
+     * or <code>-1</code> if idle engines are never evicted. 
+     * By default, this is one minute. 
+     * The according setter method is {@link #setMaxIdleTime(long, TimeUnit)}. 
+     */
+    private long maxIdleMillis = TimeUnit.MINUTES.toMillis(1);
+
+    /**
+     * The timeout in milliseconds for the ping 
+     * validating an engine before it is handed out by {@link #checkout()} 
+     * or <code>0</code> if engines are not validated. 
+     * By default, this is <code>0</code>. 
+     * The according setter method is {@link #setValidationTimeout(long, TimeUnit)}. 
+     */
+    private long validationMillis = 0;
+
+    /**
+     * Whether this pool is closed via {@link #close()}. 
+     */
+    private boolean closed = false;
+
+    /**
+     * Evicts idle engines and starts new ones 
+     * to keep {@link #minIdle} engines. 
+     */
+    private final ScheduledExecutorService maintainer;
+
+    /**
+     * Creates a pool of engines created by <code>factory</code>. 
+     * Initially, the pool holds no engine. 
+     * Note that changing the parameters of the factory 
+     * affects only engines created afterwards. 
+     *
+     * @param factory
+     *    the factory to create the engines of this pool. 
+     */
+    public OctaveEnginePool(final OctaveEngineFactory factory) {
+	this.factory = factory;
+	this.maintainer = new ScheduledThreadPoolExecutor
+	    (1, new NamedThreadFactory(OctaveEnginePool.class.getSimpleName()));
+	this.maintainer.scheduleWithFixedDelay(new Runnable() {
+		@Override
+		public void run() {
+		    maintain();
+		}
+	    },
+	    MAINTENANCE_PERIOD_MILLIS,
+	    MAINTENANCE_PERIOD_MILLIS,
+	    TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Checks out an engine, waiting if necessary 
+     * until an engine becomes available. 
+     * If there is no idle engine but the number of engines 
+     * is below {@link #maxTotal}, a new engine is started. 
+     *
+     * @return
+     *    an engine for exclusive use until given back 
+     *    via {@link #checkin(OctaveEngine)} or 
+     *    via {@link #invalidate(OctaveEngine)}. 
+     * @throws OctaveInterruptedException
+     *    if interrupted while waiting. 
+     * @throws IllegalStateException
+     *    if this pool is closed. 
+     */
+    public OctaveEngine checkout() {
+	return checkout(-1, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Checks out an engine, waiting at most the given time 
+     * until an engine becomes available. 
+     * This is as {@link #checkout()} except for the timeout. 
+     *
+     * @param timeout
+     *    the maximal time to wait or a negative value to wait without limit. 
+     * @param unit
+     *    the time unit of <code>timeout</code>. 
+     * @return
+     *    an engine for exclusive use or <code>null</code> 
+     *    if the timeout elapsed before an engine became available. 
+     * @throws OctaveInterruptedException
+     *    if interrupted while waiting. 
+     * @throws IllegalStateException
+     *    if this pool is closed. 
+     */
+    public OctaveEngine checkout(final long timeout, final TimeUnit unit) {
+	final long deadline = timeout < 0
+	    ? -1 : System.currentTimeMillis() + unit.toMillis(timeout);
+	while (true) {
+	    final OctaveEngine engine = checkout(deadline);
+	    if (engine == null || isValid(engine)) {
+		return engine;
+	    }
+	    invalidate(engine);
+	}
+    }
+
+    /**
+     * Returns whether <code>engine</code> checked out passes validation, 
+     * i.e. if validation is switched off by {@link #validationMillis} 
+     * or if it responds to a ping within {@link #validationMillis}. 
+     *
+     * @param engine
+     *    an engine checked out. 
+     * @return
+     *    whether <code>engine</code> may be handed out. 
+     */
+    private boolean isValid(final OctaveEngine engine) {
+	final long timeoutMillis;
+	synchronized (this) {
+	    timeoutMillis = this.validationMillis;
+	}
+	if (timeoutMillis == 0 
+	    || engine.ping(timeoutMillis, TimeUnit.MILLISECONDS)) {
+	    return true;
+	}
+	LOG.warn("Engine failed validation and is discarded: " + 
+		 engine.getStats());
+	return false;
+    }
+
+    /**
+     * Checks out an engine without validation, 
+     * waiting at most until the given deadline. 
+     *
+     * @param deadline
+     *    the deadline in the sense of {@link System#currentTimeMillis()} 
+     *    or <code>-1</code> to wait without limit. 
+     * @return
+     *    an engine for exclusive use or <code>null</code> 
+     *    if the deadline passed before an engine became available. 
+     */
+    private OctaveEngine checkout(final long deadline) {
+	synchronized (this) {
+	    while (true) {
+		checkNotClosed();
+		final IdleEngine idleEngine = this.idle.pollFirst();
+		if (idleEngine != null) {
+		    this.active.add(idleEngine.engine);
+		    return idleEngine.engine;
+		}
+		if (mayStartEngine()) {
+		    this.numStarting++;
+		    break;
+		}
+		// wait until an engine is given back
+		try {
+		    if (deadline == -1) {
+			wait();
+		    } else {
+			final long rest = deadline - System.currentTimeMillis();
+			if (rest <= 0) {
+			    return null;
+			}
+			wait(rest);
+		    }
+		} catch (final InterruptedException e) {
+		    Thread.currentThread().interrupt();
+		    throw new OctaveInterruptedException(e);
+		}
+	    } // while
+	}
+	// Here, a slot for a new engine is reserved.
+	// Start it without holding the lock
+	final OctaveEngine engine = startEngine();
+	synchronized (this) {
+	    this.numStarting--;
+	    if (this.closed) {
+		engine.destroy();
+		checkNotClosed();
+	    }
+	    this.active.add(engine);
+	}
+	return engine;
+    }
+
+    /**
+     * Gives back an engine checked out before. 
+     * The workspace of the engine is reset evaluating {@link #RESET_SCRIPT}. 
+     * If this fails, the engine is destroyed instead. 
+     * If the pool is closed in the meantime, the engine is closed. 
+     *
+     * @param engine
+     *    an engine checked out via {@link #checkout()} and not yet given back. 
+     * @throws IllegalArgumentException
+     *    if <code>engine</code> is not checked out from this pool. 
+     */
+    public void checkin(final OctaveEngine engine) {
+	synchronized (this) {
+	    checkActive(engine);
+	}
+	boolean reset;
+	try {
+	    engine.unsafeEval(RESET_SCRIPT);
+	    reset = true;
+	} catch (final OctaveException e) {
+	    LOG.warn("Failed to reset engine; destroy it. ", e);
+	    engine.destroy();
+	    reset = false;
+	}
+	synchronized (this) {
+	    this.active.remove(engine);
+	    if (reset) {
+		if (this.closed) {
+		    closeEngine(engine);
+		} else {
+		    this.idle.addFirst(new IdleEngine(engine));
+		}
+	    }
+	    notifyAll();
+	}
+    }
+
+    /**
+     * Gives back an engine checked out before which shall not be reused, 
+     * e.g. because its octave process died. 
+     * The engine is destroyed. 
+     *
+     * @param engine
+     *    an engine checked out via {@link #checkout()} and not yet given back. 
+     * @throws IllegalArgumentException
+     *    if <code>engine</code> is not checked out from this pool. 
+     */
+    public void invalidate(final OctaveEngine engine) {
+	synchronized (this) {
+	    checkActive(engine);
+	    this.active.remove(engine);
+	    notifyAll();
+	}
+	engine.destroy();
+    }
+
+    /**
+     * Closes this pool: 
+     * Closes all idle engines and engines given back in the future. 
+     * Afterwards, no engine can be checked out any more. 
+     */
+    public void close() {
+	final List<IdleEngine> toClose;
+	synchronized (this) {
+	    if (this.closed) {
+		return;
+	    }
+	    this.closed = true;
+	    toClose = new ArrayList<IdleEngine>(this.idle);
+	    this.idle.clear();
+	    notifyAll();
+	}
+	this.maintainer.shutdownNow();
+	for (IdleEngine idleEngine : toClose) {
+	    closeEngine(idleEngine.engine);
+	}
+    }
+
+    /**
+     * Evicts engines being idle longer than {@link #maxIdleMillis} 
+     * keeping at least {@link #minIdle} engines 
+     * and starts new engines if there are less than {@link #minIdle}. 
+     * This is invoked periodically by {@link #maintainer}. 
+     */
+    private void maintain() {
+	final List<OctaveEngine> toClose = new ArrayList<OctaveEngine>();
+	int numToStart = 0;
+	synchronized (this) {
+	    if (this.closed) {
+		return;
+	    }
+	    if (this.maxIdleMillis != -1) {
+		final long now = System.currentTimeMillis();
+		// the oldest idle engines are at the end
+		final Iterator<IdleEngine> iter = this.idle.descendingIterator();
+		while (iter.hasNext() && this.idle.size() > this.minIdle) {
+		    final IdleEngine idleEngine = iter.next();
+		    if (now - idleEngine.idleSince <= this.maxIdleMillis) {
+			break;
+		    }
+		    iter.remove();
+		    toClose.add(idleEngine.engine);
+		}
+	    }
+	    while (this.idle.size() + this.numStarting < this.minIdle
+		   && mayStartEngine()) {
+		this.numStarting++;
+		numToStart++;
+	    }
+	}
+	for (OctaveEngine engine : toClose) {
+	    LOG.debug("Evict idle engine. ");
+	    closeEngine(engine);
+	}
+	for (int i = 0; i < numToStart; i++) {
+	    final OctaveEngine engine;
+	    try {
+		engine = startEngine();
+	    } catch (final RuntimeException e) { // NOPMD
+		// startEngine() released the reservation already
+		LOG.error("Failed to start engine for pool. ", e);
+		continue;
+	    }
+	    synchronized (this) {
+		this.numStarting--;
+		if (this.closed) {
+		    engine.destroy();
+		} else {
+		    // the newest idle engines are at the start as for checkin 
+		    this.idle.addFirst(new IdleEngine(engine));
+		}
+		notifyAll();
+	    }
+	}
+    }
+
+    /**
+     * Starts a new engine from {@link #factory} 
+     * for a slot reserved in {@link #numStarting} before. 
+     * If this fails, the reservation is released. 
+     */
+    private OctaveEngine startEngine() {
+	try {
+	    return this.factory.getScriptEngine();
+	} catch (final RuntimeException e) { // NOPMD
+	    synchronized (this) {
+		this.numStarting--;
+		notifyAll();
+	    }
+	    throw e;
+	}
+    }
+
+    /**
+     * Returns whether one more engine may be started 
+     * without exceeding {@link #maxTotal}. 
+     * Requires the lock on this pool. 
+     */
+    private boolean mayStartEngine() {
+	return this.maxTotal == -1 ||
+	    this.idle.size() + this.active.size() + this.numStarting
+	    < this.maxTotal;
+    }
+
+    /**
+     * Closes <code>engine</code> in an orderly fashion 
+     * destroying it if this fails. 
+     */
+    private static void closeEngine(final OctaveEngine engine) {
+	try {
+	    engine.close();
+	} catch (final OctaveException e) {
+	    LOG.debug("Failed to close engine; destroy it. ", e);
+	    engine.destroy();
+	}
+    }
+
+    /**
+     * Throws an exception if <code>engine</code> is not checked out. 
+     * Requires the lock on this pool. 
+     */
+    private void checkActive(final OctaveEngine engine) {
+	if (!this.active.contains(engine)) {
+	    throw new IllegalArgumentException
+		("Engine is not checked out from this pool. ");
+	}
+    }
+
+    /**
+     * Throws an exception if this pool is closed. 
+     * Requires the lock on this pool. 
+     */
+    private void checkNotClosed() {
+	if (this.closed) {
+	    throw new IllegalStateException("Pool is closed. ");
+	}
+    }
+
+    /**
+     * Returns the number of idle engines. 
+     *
+     * @return
+     *    the number of engines which may be checked out without waiting. 
+     */
+    public synchronized int getNumIdle() {
+	return this.idle.size();
+    }
+
+    /**
+     * Returns the number of engines checked out. 
+     *
+     * @return
+     *    the number of engines checked out and not yet given back. 
+     */
+    public synchronized int getNumActive() {
+	return this.active.size();
+    }
+
+    /**
+     * Sets the minimal number of idle engines kept in this pool. 
+     * If there are less, new engines are started in the background. 
+     * The default value is <code>0</code>. 
+     *
+     * @param minIdle
+     *    the minimal number of idle engines which must not be negative. 
+     */
+    public synchronized void setMinIdle(final int minIdle) {
+	if (minIdle < 0) {
+	    throw new IllegalArgumentException();
+	}
+	this.minIdle = minIdle;
+    }
+
+    /**
+     * Sets the maximal number of engines, idle or checked out, 
+     * or <code>-1</code> which indicates no limit. 
+     * The default value is the number of available processors. 
+     *
+     * @param maxTotal
+     *    the maximal number of engines 
+     *    which shall be positive or <code>-1</code>. 
+     */
+    public synchronized void setMaxTotal(final int maxTotal) {
+	if (maxTotal == 0 || maxTotal < -1) {
+	    throw new IllegalArgumentException();
+	}
+	this.maxTotal = maxTotal;
+	notifyAll();
+    }
+
+    /**
+     * Sets the time an engine may be idle before it is evicted 
+     * or a negative value if idle engines shall never be evicted. 
+     * Note that at least {@link #minIdle} engines are kept anyway. 
+     * The default value is one minute. 
+     *
+     * @param maxIdleTime
+     *    the maximal idle time or a negative value. 
+     * @param unit
+     *    the time unit of <code>maxIdleTime</code>. 
+     */
+    public synchronized void setMaxIdleTime(final long maxIdleTime,
+					    final TimeUnit unit) {
+	this.maxIdleMillis = maxIdleTime < 0 ? -1 : unit.toMillis(maxIdleTime);
+    }
+
+    /**
+     * Sets the timeout for validating engines on checkout 
+     * or <code>0</code> which means that engines are not validated. 
+     * If engines are validated, 
+     * an engine is pinged via {@link OctaveEngine#ping(long, TimeUnit)} 
+     * before being handed out by {@link #checkout()} 
+     * and if it does not respond in time it is invalidated 
+     * and another engine is checked out. 
+     * The default value is <code>0</code>. 
+     *
+     * @param timeout
+     *    the timeout for validation or <code>0</code>. 
+     * @param unit
+     *    the time unit of <code>timeout</code>. 
+     */
+    public synchronized void setValidationTimeout(final long timeout,
+						  final TimeUnit unit) {
+	this.validationMillis = OctaveEngine.toTimeoutMillis(timeout, unit);
+    }
+
+}
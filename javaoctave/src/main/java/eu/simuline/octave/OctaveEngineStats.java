@@ -0,0 +1,119 @@
+/*
+ * Copyright 2026 Simuline Organization (l2r)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.simuline.octave;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A snapshot of the statistics of an {@link OctaveEngine} 
+ * as returned by {@link OctaveEngine#getStats()}. 
+ * Evaluations are those by {@link OctaveEngine#eval(String)} 
+ * and by {@link OctaveEngine#unsafeEval(String)} and its variants. 
+ * Together with {@link OctaveEngine#ping(long, TimeUnit)}, 
+ * this allows to route work away from wedged or overloaded engines. 
+ */
+public final class OctaveEngineStats {
+
+    /**
+     * Whether the octave process was alive. 
+     */
+    private final boolean alive;
+
+    /**
+     * The time the octave process was running in nanoseconds. 
+     */
+    private final long uptimeNanos;
+
+    /**
+     * The number of evaluations performed by the engine. 
+     */
+    private final long numEvals;
+
+    /**
+     * The duration of the last evaluation in nanoseconds 
+     * or <code>-1</code> if there was no evaluation yet. 
+     */
+    private final long lastEvalNanos;
+
+    OctaveEngineStats(final boolean alive, 
+		      final long uptimeNanos, 
+		      final long numEvals, 
+		      final long lastEvalNanos) {
+	this.alive = alive;
+	this.uptimeNanos = uptimeNanos;
+	this.numEvals = numEvals;
+	this.lastEvalNanos = lastEvalNanos;
+    }
+
+    /**
+     * Returns whether the octave process was alive. 
+     *
+     * @return
+     *    whether the octave process had not terminated. 
+     */
+    public boolean isAlive() {
+	return this.alive;
+    }
+
+    /**
+     * Returns the time the octave process was running. 
+     * If the process of a supervised engine was respawned, 
+     * this refers to the current process. 
+     *
+     * @param unit
+     *    the time unit of the result. 
+     * @return
+     *    the uptime of the octave process. 
+     */
+    public long getUptime(final TimeUnit unit) {
+	return unit.convert(this.uptimeNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns the number of evaluations performed by the engine. 
+     *
+     * @return
+     *    the number of evaluations, successful or not. 
+     */
+    public long getNumEvals() {
+	return this.numEvals;
+    }
+
+    /**
+     * Returns the duration of the last evaluation. 
+     *
+     * @param unit
+     *    the time unit of the result. 
+     * @return
+     *    the duration of the last evaluation 
+     *    or <code>-1</code> if there was no evaluation yet. 
+     */
+    public long getLastEvalLatency(final TimeUnit unit) {
+	return this.lastEvalNanos == -1 
+	    ? -1 
+	    : unit.convert(this.lastEvalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public String toString() {
+	return "<OctaveEngineStats alive=" + this.alive + 
+	    " uptime=" + getUptime(TimeUnit.MILLISECONDS) + "ms" + 
+	    " numEvals=" + this.numEvals + 
+	    " lastEvalLatency=" + getLastEvalLatency(TimeUnit.MICROSECONDS) + 
+	    "us>";
+    }
+
+}
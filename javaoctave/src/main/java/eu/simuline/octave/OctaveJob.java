@@ -0,0 +1,148 @@
+/*
+ * Copyright 2026 Simuline Organization (l2r)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.simuline.octave;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import eu.simuline.octave.type.OctaveObject;
+
+/**
+ * A unit of work for an {@link OctaveEngine} 
+ * consisting of input variables, a script and the names of output variables. 
+ * Running the job via {@link OctaveEngine#run(OctaveJob)} 
+ * sets the inputs, evaluates the script, 
+ * gets the outputs and finally clears inputs and outputs 
+ * and all other variables created while running the job. 
+ * So a job leaves the variables of the workspace as found, 
+ * except that variables overwritten by the job are cleared, 
+ * and jobs can be run one after the other on an arbitrary engine. 
+ * Jobs are immutable. 
+ */
+public final class OctaveJob {
+
+    /**
+     * The name of the auxiliary variable in octave 
+     * holding the names of the variables existing before a job. 
+     */
+    static final String VARS_BEFORE = "javaoctave_job_before";
+
+    /**
+     * The name of the auxiliary variable in octave 
+     * holding the names of the variables to be cleared after a job. 
+     */
+    static final String VARS_CLEAR = "javaoctave_job_clear";
+
+    /**
+     * The command recording the variables existing before a job 
+     * in {@link #VARS_BEFORE}. 
+     */
+    static final String RECORD_COMMAND = VARS_BEFORE + " = who();";
+
+    /**
+     * The input variables mapping names to values. 
+     */
+    private final Map<String, OctaveObject> inputs;
+
+    /**
+     * The script to be evaluated. 
+     */
+    private final String script;
+
+    /**
+     * The names of the output variables. 
+     */
+    private final List<String> outputNames;
+
+    /**
+     * Creates a job. 
+     *
+     * @param inputs
+     *    the input variables mapping names to values. 
+     * @param script
+     *    the script to be evaluated. 
+     * @param outputNames
+     *    the names of the output variables. 
+     */
+    public OctaveJob(final Map<String, OctaveObject> inputs, 
+		     final String script, 
+		     final Collection<String> outputNames) {
+	this.inputs = Collections.unmodifiableMap
+	    (new LinkedHashMap<String, OctaveObject>(inputs));
+	this.script = script;
+	this.outputNames = Collections.unmodifiableList
+	    (new ArrayList<String>(outputNames));
+    }
+
+    /**
+     * @return
+     *    the input variables mapping names to values. 
+     */
+    public Map<String, OctaveObject> getInputs() {
+	return this.inputs;
+    }
+
+    /**
+     * @return
+     *    the script to be evaluated. 
+     */
+    public String getScript() {
+	return this.script;
+    }
+
+    /**
+     * @return
+     *    the names of the output variables. 
+     */
+    public List<String> getOutputNames() {
+	return this.outputNames;
+    }
+
+    /**
+     * Returns the command clearing all variables of this job: 
+     * inputs and outputs 
+     * and the variables not recorded by {@link #RECORD_COMMAND}. 
+     * As {@link #VARS_BEFORE} is always cleared, 
+     * <code>clear</code> is never invoked without arguments 
+     * which would clear all variables. 
+     */
+    String getClearCommand() {
+	final StringBuilder res = new StringBuilder();
+	res.append(VARS_CLEAR).append(" = union(setdiff(who(), ")
+	    .append(VARS_BEFORE).append("), {'").append(VARS_BEFORE).append('\'');
+	for (String name : this.inputs.keySet()) {
+	    res.append(", '").append(name).append('\'');
+	}
+	for (String name : this.outputNames) {
+	    res.append(", '").append(name).append('\'');
+	}
+	res.append("});\nclear(").append(VARS_CLEAR).append("{:});\n")
+	    .append("clear ").append(VARS_CLEAR).append(';');
+	return res.toString();
+    }
+
+    @Override
+    public String toString() {
+	return "<OctaveJob inputs=" + this.inputs.keySet() + 
+	    " script='" + this.script + 
+	    "' outputs=" + this.outputNames + ">";
+    }
+
+}
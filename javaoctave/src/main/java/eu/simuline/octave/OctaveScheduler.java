@@ -0,0 +1,434 @@
+/*
+ * Copyright 2026 Simuline Organization (l2r)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.simuline.octave;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+
+import eu.simuline.octave.exception.OctaveInterruptedException;
+import eu.simuline.octave.exception.OctaveRecoverableException;
+import eu.simuline.octave.type.OctaveObject;
+import eu.simuline.octave.util.NamedThreadFactory;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Schedules {@link OctaveJob}s of several tenants, e.g. subsystems, 
+ * on the engines of an {@link OctaveEnginePool}. 
+ * A fixed number of worker threads take the jobs from a queue, 
+ * check out an engine from the pool, 
+ * run the job via {@link OctaveEngine#run(OctaveJob)} 
+ * and give the engine back. 
+ * <p> 
+ * The job to run next is chosen as follows: 
+ * <ul> 
+ * <li> 
+ * Jobs with higher {@link Priority} are run first, 
+ * so that interactive jobs need not wait for a sequence of batch jobs. 
+ * <li> 
+ * Among the jobs with the same priority, 
+ * the tenants are served round robin, 
+ * so that a tenant submitting many jobs does not starve the others. 
+ * <li> 
+ * The jobs of one tenant with the same priority are run in submission order. 
+ * </ul> 
+ * The number of jobs queued is bounded by {@link #capacity}. 
+ * If the queue is full, submitting a job 
+ * is rejected or blocks according to {@link #overflowPolicy}. 
+ * <p> 
+ * The parameters of the scheduler are set by setter methods. 
+ * In the documentation of each setter method, 
+ * also the default value is documented. 
+ * The scheduler does not own the pool: 
+ * Closing the scheduler via {@link #close()} does not close the pool. 
+ */
+public final class OctaveScheduler {
+
+    private static final Log LOG = LogFactory.getLog(OctaveScheduler.class);
+
+    /**
+     * The priority classes of jobs. 
+     * A job is run only if no job with higher priority is queued. 
+     */
+    public enum Priority {
+	/**
+	 * For jobs a user waits for. 
+	 */
+	HIGH,
+	/**
+	 * The default priority. 
+	 */
+	NORMAL,
+	/**
+	 * For batch jobs. 
+	 */
+	LOW;
+    } // enum Priority 
+
+    /**
+     * What to do on submitting a job if the queue is full. 
+     */
+    public enum OverflowPolicy {
+	/**
+	 * Throw a {@link RejectedExecutionException}. 
+	 */
+	REJECT,
+	/**
+	 * Wait until there is space in the queue. 
+	 */
+	BLOCK;
+    } // enum OverflowPolicy 
+
+    /**
+     * A job queued together with the future of its outputs. 
+     */
+    private static final class Task {
+	private final OctaveJob job;
+	private final CompletableFuture<Map<String, OctaveObject>> future;
+
+	Task(final OctaveJob job) {
+	    this.job = job;
+	    this.future = new CompletableFuture<Map<String, OctaveObject>>();
+	}
+    } // class Task 
+
+    /**
+     * The queues of the tasks of one priority class, one per tenant, 
+     * and the tenants with queued tasks in the order they are served. 
+     */
+    private static final class TenantQueues {
+	private final Map<String, Deque<Task>> tenant2tasks = 
+	    new HashMap<String, Deque<Task>>();
+	private final Deque<String> tenants = new ArrayDeque<String>();
+
+	void add(final String tenant, final Task task) {
+	    Deque<Task> tasks = this.tenant2tasks.get(tenant);
+	    if (tasks == null) {
+		tasks = new ArrayDeque<Task>();
+		this.tenant2tasks.put(tenant, tasks);
+		this.tenants.addLast(tenant);
+	    }
+	    tasks.addLast(task);
+	}
+
+	// returns null if empty 
+	Task poll() {
+	    final String tenant = this.tenants.pollFirst();
+	    if (tenant == null) {
+		return null;
+	    }
+	    final Deque<Task> tasks = this.tenant2tasks.get(tenant);
+	    final Task task = tasks.pollFirst();
+	    if (tasks.isEmpty()) {
+		this.tenant2tasks.remove(tenant);
+	    } else {
+		this.tenants.addLast(tenant);
+	    }
+	    return task;
+	}
+    } // class TenantQueues 
+
+    /**
+     * The pool the engines are checked out from. 
+     */
+    private final OctaveEnginePool pool;
+
+    /**
+     * The queued tasks by priority. 
+     */
+    private final Map<Priority, TenantQueues> queues = 
+	new EnumMap<Priority, TenantQueues>(Priority.class);
+
+    /**
+     * The number of tasks in {@link #queues}. 
+     */
+    private int numQueued = 0;
+
+    /**
+     * The maximal number of queued jobs. 
+     * The default value is <code>1000</code>. 
+     */
+    private int capacity = 1000;
+
+    /**
+     * What to do if {@link #capacity} is reached. 
+     * The default value is {@link OverflowPolicy#REJECT}. 
+     */
+    private OverflowPolicy overflowPolicy = OverflowPolicy.REJECT;
+
+    /**
+     * Whether {@link #close()} has been invoked. 
+     */
+    private boolean closed = false;
+
+    /**
+     * The worker threads. 
+     */
+    private final List<Thread> workers;
+
+    /**
+     * Creates a scheduler running jobs on engines of <code>pool</code> 
+     * with <code>numWorkers</code> worker threads. 
+     * At most <code>numWorkers</code> jobs run concurrently, 
+     * so this shall not exceed the maximal number of engines of the pool. 
+     *
+     * @param pool
+     *    the pool to check out engines from. 
+     * @param numWorkers
+     *    the number of worker threads which shall be positive. 
+     * @throws IllegalArgumentException
+     *    if <code>numWorkers</code> is not positive. 
+     */
+    public OctaveScheduler(final OctaveEnginePool pool, final int numWorkers) {
+	if (numWorkers <= 0) {
+	    throw new IllegalArgumentException
+		("Expected positive number of workers but found " + 
+		 numWorkers + ". ");
+	}
+	this.pool = pool;
+	for (Priority prio : Priority.values()) {
+	    this.queues.put(prio, new TenantQueues());
+	}
+	final ThreadFactory threadFactory = 
+	    new NamedThreadFactory(OctaveScheduler.class.getSimpleName(), true);
+	this.workers = new ArrayList<Thread>(numWorkers);
+	for (int idx = 0; idx < numWorkers; idx++) {
+	    final Thread worker = threadFactory.newThread(new Runnable() {
+		    @Override
+		    public void run() {
+			work();
+		    }
+		});
+	    this.workers.add(worker);
+	    worker.start();
+	}
+    }
+
+    /**
+     * Submits <code>job</code> with priority {@link Priority#NORMAL}. 
+     *
+     * @see #submit(String, Priority, OctaveJob)
+     */
+    public CompletableFuture<Map<String, OctaveObject>> 
+	submit(final String tenant, final OctaveJob job) {
+	return submit(tenant, Priority.NORMAL, job);
+    }
+
+    /**
+     * Queues <code>job</code> of <code>tenant</code> 
+     * with priority <code>prio</code>. 
+     *
+     * @param tenant
+     *    the tenant, e.g. a subsystem, the job belongs to. 
+     * @param prio
+     *    the priority of the job. 
+     * @param job
+     *    the job to run. 
+     * @return
+     *    a future completed with the outputs of the job 
+     *    as described for {@link OctaveEngine#run(OctaveJob)}. 
+     *    If the job fails, the future completes exceptionally. 
+     * @throws RejectedExecutionException
+     *    if this scheduler is closed 
+     *    or if the queue is full and the policy is {@link OverflowPolicy#REJECT}. 
+     * @throws OctaveInterruptedException
+     *    if interrupted while waiting for space in the queue. 
+     */
+    public synchronized CompletableFuture<Map<String, OctaveObject>> 
+	submit(final String tenant, final Priority prio, final OctaveJob job) {
+	while (true) {
+	    if (this.closed) {
+		throw new RejectedExecutionException("Scheduler is closed. ");
+	    }
+	    if (this.numQueued < this.capacity) {
+		break;
+	    }
+	    if (this.overflowPolicy == OverflowPolicy.REJECT) {
+		throw new RejectedExecutionException
+		    ("Queue is full with " + this.numQueued + " jobs. ");
+	    }
+	    try {
+		wait();
+	    } catch (final InterruptedException e) {
+		Thread.currentThread().interrupt();
+		throw new OctaveInterruptedException(e);
+	    }
+	}
+	final Task task = new Task(job);
+	this.queues.get(prio).add(tenant, task);
+	this.numQueued++;
+	notifyAll();
+	return task.future;
+    }
+
+    /**
+     * Returns the next task to run, waiting until there is one. 
+     *
+     * @return
+     *    the next task or <code>null</code> 
+     *    if this scheduler is closed and there are no tasks left. 
+     */
+    private synchronized Task take() throws InterruptedException {
+	while (true) {
+	    for (Priority prio : Priority.values()) {
+		final Task task = this.queues.get(prio).poll();
+		if (task != null) {
+		    this.numQueued--;
+		    notifyAll();
+		    return task;
+		}
+	    }
+	    if (this.closed) {
+		return null;
+	    }
+	    wait();
+	}
+    }
+
+    /**
+     * The loop of a worker thread running the tasks 
+     * until this scheduler is closed and no task is left. 
+     */
+    private void work() {
+	try {
+	    Task task;
+	    while ((task = take()) != null) {
+		run(task);
+	    }
+	} catch (final InterruptedException e) {
+	    LOG.debug("Worker interrupted. ", e);
+	}
+    }
+
+    /**
+     * Runs <code>task</code> on an engine checked out from {@link #pool} 
+     * and completes its future with the result of the job 
+     * or with any throwable, also an {@link Error}, 
+     * so that the future does not stay pending. 
+     * Afterwards, in a separate step, 
+     * the engine is given back to the pool 
+     * if the job succeeded or failed with a recoverable exception, 
+     * else it is invalidated. 
+     *
+     * @param task
+     *    the task to run. 
+     */
+    private void run(final Task task) {
+	final OctaveEngine engine;
+	try {
+	    engine = this.pool.checkout();
+	} catch (final Throwable e) { // NOPMD
+	    task.future.completeExceptionally(e);
+	    return;
+	}
+	boolean reusable;
+	try {
+	    task.future.complete(engine.run(task.job));
+	    reusable = true;
+	} catch (final OctaveRecoverableException e) {
+	    task.future.completeExceptionally(e);
+	    reusable = true;
+	} catch (final Throwable e) { // NOPMD
+	    LOG.debug("Job failed; invalidate engine. ", e);
+	    task.future.completeExceptionally(e);
+	    reusable = false;
+	}
+	try {
+	    if (reusable) {
+		this.pool.checkin(engine);
+	    } else {
+		this.pool.invalidate(engine);
+	    }
+	} catch (final RuntimeException e) { // NOPMD
+	    // the future is complete already 
+	    LOG.warn("Failed to give back engine to pool. ", e);
+	}
+    }
+
+    /**
+     * Closes this scheduler: 
+     * Afterwards, no job can be submitted, 
+     * but the jobs already queued are still run. 
+     */
+    public synchronized void close() {
+	this.closed = true;
+	notifyAll();
+    }
+
+    /**
+     * Waits until all jobs queued are run after closing this scheduler. 
+     *
+     * @throws OctaveInterruptedException
+     *    if interrupted while waiting. 
+     */
+    public void awaitTermination() {
+	for (Thread worker : this.workers) {
+	    try {
+		worker.join();
+	    } catch (final InterruptedException e) {
+		Thread.currentThread().interrupt();
+		throw new OctaveInterruptedException(e);
+	    }
+	}
+    }
+
+    /**
+     * Returns the number of jobs queued, i.e. not yet running. 
+     *
+     * @return
+     *    the number of jobs queued. 
+     */
+    public synchronized int getNumQueued() {
+	return this.numQueued;
+    }
+
+    /**
+     * Sets the maximal number of queued jobs. 
+     * The default value is <code>1000</code>. 
+     *
+     * @param capacity
+     *    the maximal number of queued jobs which shall be positive. 
+     */
+    public synchronized void setCapacity(final int capacity) {
+	if (capacity <= 0) {
+	    throw new IllegalArgumentException();
+	}
+	this.capacity = capacity;
+	notifyAll();
+    }
+
+    /**
+     * Sets what to do on submitting a job if the queue is full. 
+     * The default value is {@link OverflowPolicy#REJECT}. 
+     *
+     * @param overflowPolicy
+     *    the policy if the queue is full. 
+     */
+    public synchronized void setOverflowPolicy(final OverflowPolicy 
+					       overflowPolicy) {
+	this.overflowPolicy = overflowPolicy;
+    }
+
+}
@@ -0,0 +1,403 @@
+/*
+ * Copyright 2026 Simuline Organization (l2r)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.simuline.octave;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import eu.simuline.octave.exception.OctaveException;
+import eu.simuline.octave.type.OctaveCell;
+import eu.simuline.octave.type.OctaveObject;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Spreads {@link OctaveJob}s across a fixed number of engines, 
+ * i.e. of octave processes, 
+ * so that independent jobs run in parallel on several cores. 
+ * The engines are created by an {@link OctaveEngineFactory} 
+ * when constructing the executor. 
+ * A job submitted via {@link #submit(OctaveJob)} 
+ * is queued on the engine with the least number of pending jobs 
+ * and run via {@link OctaveEngine#runAsync(OctaveJob)}. 
+ * Since a job clears its variables, 
+ * it does not matter on which engine it runs. 
+ * <p> 
+ * The executor is thread safe. 
+ * The engines are used exclusively by this executor 
+ * until it is closed via {@link #close()}. 
+ */
+public final class ShardedOctaveExecutor {
+
+    private static final Log LOG = 
+	LogFactory.getLog(ShardedOctaveExecutor.class);
+
+    /**
+     * The name of the variable holding the input cell of a chunk 
+     * in {@link #parallelMap(String, List)}. 
+     */
+    private static final String MAP_IN = "javaoctave_pmap_in";
+
+    /**
+     * The name of the variable holding the output cell of a chunk 
+     * in {@link #parallelMap(String, List)}. 
+     */
+    private static final String MAP_OUT = "javaoctave_pmap_out";
+
+    /**
+     * The pattern of function names accepted by 
+     * {@link #parallelMap(String, List)}: 
+     * an identifier possibly qualified by packages. 
+     */
+    private static final Pattern FUNC_NAME = 
+	Pattern.compile("[A-Za-z][A-Za-z0-9_]*(\\.[A-Za-z][A-Za-z0-9_]*)*");
+
+    /**
+     * The engines jobs are run on. 
+     */
+    private final List<OctaveEngine> engines;
+
+    /**
+     * The number of jobs pending for the according entry of {@link #engines}, 
+     * i.e. submitted but not yet completed. 
+     */
+    private final AtomicInteger[] pending;
+
+    /**
+     * The index of the engine to start searching the least loaded one. 
+     * This rotates, so that engines with the same load are used in turn. 
+     */
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * Creates an executor with <code>numEngines</code> engines 
+     * created by <code>factory</code>. 
+     * Note that this starts <code>numEngines</code> octave processes 
+     * which may take some seconds. 
+     *
+     * @param factory
+     *    the factory to create the engines. 
+     * @param numEngines
+     *    the number of engines which shall be positive. 
+     *    Typically, this is the number of cores. 
+     * @throws IllegalArgumentException
+     *    if <code>numEngines</code> is not positive. 
+     */
+    public ShardedOctaveExecutor(final OctaveEngineFactory factory, 
+				 final int numEngines) {
+	if (numEngines <= 0) {
+	    throw new IllegalArgumentException
+		("Expected positive number of engines but found " + 
+		 numEngines + ". ");
+	}
+	this.engines = new ArrayList<OctaveEngine>(numEngines);
+	this.pending = new AtomicInteger[numEngines];
+	try {
+	    for (int idx = 0; idx < numEngines; idx++) {
+		this.engines.add(factory.getScriptEngine());
+		this.pending[idx] = new AtomicInteger();
+	    }
+	} catch (final RuntimeException e) { // NOPMD
+	    for (OctaveEngine engine : this.engines) {
+		engine.destroy();
+	    }
+	    throw e;
+	}
+    }
+
+    /**
+     * Returns the number of engines. 
+     *
+     * @return
+     *    the number of engines of this executor. 
+     */
+    public int getNumEngines() {
+	return this.engines.size();
+    }
+
+    /**
+     * Returns the number of jobs pending in total. 
+     *
+     * @return
+     *    the number of jobs submitted but not yet completed. 
+     */
+    public int getNumPending() {
+	int res = 0;
+	for (AtomicInteger num : this.pending) {
+	    res += num.get();
+	}
+	return res;
+    }
+
+    /**
+     * Submits <code>job</code> to the engine with the least pending jobs. 
+     *
+     * @param job
+     *    the job to run. 
+     * @return
+     *    a future completed with the outputs of the job 
+     *    as described for {@link OctaveEngine#run(OctaveJob)}. 
+     *    If the job fails, the future completes exceptionally. 
+     */
+    public CompletableFuture<Map<String, OctaveObject>> 
+	submit(final OctaveJob job) {
+	final int start = Math.floorMod(this.next.getAndIncrement(), 
+					this.pending.length);
+	int best = start;
+	for (int cnt = 1; cnt < this.pending.length; cnt++) {
+	    final int idx = (start + cnt) % this.pending.length;
+	    if (this.pending[idx].get() < this.pending[best].get()) {
+		best = idx;
+	    }
+	}
+	final AtomicInteger load = this.pending[best];
+	load.incrementAndGet();
+	if (LOG.isTraceEnabled()) {
+	    LOG.trace("Submit " + job + " to engine " + best + ". ");
+	}
+	return this.engines.get(best).runAsync(job)
+	    .whenComplete(new BiConsumer<Map<String, OctaveObject>, 
+			  Throwable>() {
+		    @Override
+		    public void accept(final Map<String, OctaveObject> res, 
+				       final Throwable exc) {
+			load.decrementAndGet();
+		    }
+		});
+    }
+
+    /**
+     * Submits all <code>jobs</code> 
+     * and returns a stream of their outputs in the order of the jobs. 
+     * The stream is lazy: 
+     * Getting an element waits until the according job is completed. 
+     *
+     * @param jobs
+     *    the jobs to run. 
+     * @return
+     *    the stream of the outputs of <code>jobs</code> 
+     *    as described for {@link OctaveEngine#run(OctaveJob)}. 
+     *    If a job failed, getting its output throws 
+     *    a {@link CompletionException} 
+     *    with the exception of the job as cause. 
+     */
+    public Stream<Map<String, OctaveObject>> stream(final List<OctaveJob> jobs) {
+	final List<CompletableFuture<Map<String, OctaveObject>>> futures = 
+	    new ArrayList<CompletableFuture<Map<String, OctaveObject>>>
+	    (jobs.size());
+	for (OctaveJob job : jobs) {
+	    futures.add(submit(job));
+	}
+	return futures.stream()
+	    .map(new Function<CompletableFuture<Map<String, OctaveObject>>, 
+		 Map<String, OctaveObject>>() {
+		    @Override
+		    public Map<String, OctaveObject> 
+			apply(final CompletableFuture<Map<String, OctaveObject>> 
+			      future) {
+			return future.join();
+		    }
+		});
+    }
+
+    /**
+     * Applies the octave function <code>function</code> 
+     * to each of the <code>inputs</code> in parallel. 
+     * The inputs are split into one contiguous chunk per engine 
+     * and on each chunk, the function is applied via 
+     * <code>cellfun(@function, chunk, 'UniformOutput', false)</code>. 
+     * The results are reassembled in the order of the inputs. 
+     *
+     * @param function
+     *    the name of an octave function 
+     *    taking one argument and returning at least one value. 
+     * @param inputs
+     *    the arguments to apply <code>function</code> to. 
+     * @return
+     *    a cell of size <code>1 x n</code>, 
+     *    where <code>n</code> is the size of <code>inputs</code>, 
+     *    the <code>i</code>th entry of which is 
+     *    the result of <code>function</code> 
+     *    applied to the <code>i</code>th input. 
+     * @throws IllegalArgumentException
+     *    if <code>function</code> is no valid function name. 
+     * @throws OctaveException
+     *    if applying the function failed on some chunk. 
+     */
+    public OctaveCell parallelMap(final String function, 
+				  final List<? extends OctaveObject> inputs) {
+	if (!FUNC_NAME.matcher(function).matches()) {
+	    throw new IllegalArgumentException
+		("Expected function name but found '" + function + "'. ");
+	}
+	final int num = inputs.size();
+	final OctaveCell res = new OctaveCell(1, num);
+	if (num == 0) {
+	    return res;
+	}
+
+	final String script = MAP_OUT + " = cellfun(@" + function + ", " + 
+	    MAP_IN + ", 'UniformOutput', false);";
+	final int numChunks = Math.min(num, this.engines.size());
+	final List<CompletableFuture<Map<String, OctaveObject>>> futures = 
+	    new ArrayList<CompletableFuture<Map<String, OctaveObject>>>
+	    (numChunks);
+	// chunk idx covers [lower(idx), lower(idx+1)) 
+	for (int idx = 0; idx < numChunks; idx++) {
+	    final int lower = chunkBound(num, numChunks, idx);
+	    final int upper = chunkBound(num, numChunks, idx + 1);
+	    final OctaveCell chunk = new OctaveCell(1, upper - lower);
+	    for (int pos = lower; pos < upper; pos++) {
+		chunk.set(inputs.get(pos), 1, pos - lower + 1);
+	    }
+	    futures.add(submit(new OctaveJob
+			       (Collections.<String, OctaveObject>
+				singletonMap(MAP_IN, chunk), 
+				script, 
+				Collections.singleton(MAP_OUT))));
+	}
+
+	for (int idx = 0; idx < numChunks; idx++) {
+	    final int lower = chunkBound(num, numChunks, idx);
+	    final OctaveCell chunkRes = (OctaveCell) 
+		join(futures.get(idx)).get(MAP_OUT);
+	    final int upper = chunkBound(num, numChunks, idx + 1);
+	    for (int pos = lower; pos < upper; pos++) {
+		res.set(chunkRes.get(1, pos - lower + 1), 1, pos + 1);
+	    }
+	}
+	return res;
+    }
+
+    /**
+     * Applies the octave function <code>function</code> 
+     * to each entry of the cell <code>inputs</code> in parallel. 
+     * This is as {@link #parallelMap(String, List)} 
+     * with the entries of <code>inputs</code> in octave's linear order, 
+     * i.e. column major, 
+     * except that the result has the same size as <code>inputs</code>. 
+     *
+     * @param function
+     *    the name of an octave function 
+     *    taking one argument and returning at least one value. 
+     * @param inputs
+     *    the cell of arguments to apply <code>function</code> to. 
+     * @return
+     *    a cell with the same size as <code>inputs</code>, 
+     *    each entry of which is the result of <code>function</code> 
+     *    applied to the according entry of <code>inputs</code>. 
+     * @throws IllegalArgumentException
+     *    if <code>function</code> is no valid function name. 
+     * @throws OctaveException
+     *    if applying the function failed on some chunk. 
+     */
+    public OctaveCell parallelMap(final String function, 
+				  final OctaveCell inputs) {
+	final int[] size = new int[inputs.getSizeLength()];
+	int num = 1;
+	for (int dim = 0; dim < size.length; dim++) {
+	    size[dim] = inputs.getSize(dim + 1);
+	    num *= size[dim];
+	}
+
+	final List<OctaveObject> flat = new ArrayList<OctaveObject>(num);
+	final int[] pos = new int[size.length];
+	for (int idx = 0; idx < num; idx++) {
+	    flat.add(inputs.get(linear2pos(idx, size, pos)));
+	}
+	final OctaveCell flatRes = parallelMap(function, flat);
+	final OctaveCell res = new OctaveCell(size);
+	for (int idx = 0; idx < num; idx++) {
+	    res.set(flatRes.get(1, idx + 1), linear2pos(idx, size, pos));
+	}
+	return res;
+    }
+
+    /**
+     * Returns the lower bound of chunk <code>idx</code> 
+     * if <code>num</code> elements are split 
+     * into <code>numChunks</code> chunks the sizes of which differ at most by one. 
+     */
+    private static int chunkBound(final int num, 
+				  final int numChunks, 
+				  final int idx) {
+	return (int) ((long) num * idx / numChunks);
+    }
+
+    /**
+     * Converts the linear index <code>idx</code> into a cell of size 
+     * <code>size</code> into the position in 1 based numbering 
+     * as used by {@link OctaveCell#get(int...)}. 
+     * The position is written into <code>pos</code> which is returned. 
+     */
+    private static int[] linear2pos(final int idx, 
+				    final int[] size, 
+				    final int[] pos) {
+	int rest = idx;
+	for (int dim = 0; dim < size.length; dim++) {
+	    pos[dim] = rest % size[dim] + 1;
+	    rest /= size[dim];
+	}
+	return pos;
+    }
+
+    /**
+     * Waits for <code>future</code> and returns its result. 
+     * An {@link OctaveException} causing the failure of <code>future</code> 
+     * is thrown as is. 
+     */
+    private static Map<String, OctaveObject> 
+	join(final CompletableFuture<Map<String, OctaveObject>> future) {
+	try {
+	    return future.join();
+	} catch (final CompletionException e) {
+	    if (e.getCause() instanceof OctaveException) {
+		throw (OctaveException) e.getCause();
+	    }
+	    throw e;
+	}
+    }
+
+    /**
+     * Closes all engines after the pending jobs are completed. 
+     */
+    public void close() {
+	for (OctaveEngine engine : this.engines) {
+	    engine.close();
+	}
+    }
+
+    /**
+     * Destroys all engines at once. 
+     * Pending jobs fail as described for {@link OctaveEngine#destroy()}. 
+     */
+    public void destroy() {
+	for (OctaveEngine engine : this.engines) {
+	    engine.destroy();
+	}
+    }
+
+}
@@ -20,9 +20,20 @@ import eu.simuline.octave.OctaveEngine;
 /**
  * Exception thrown when evaluation of an octave statement 
  * in {@link OctaveEngine#eval(String)} fails.
+ * Special methods: {@link #setErrorTail(String)} and {@link #getErrorTail()} 
+ * for the last output of octave on its error stream, e.g. warnings. 
  */
 public class OctaveEvalException extends OctaveRecoverableException {
 
+    /**
+     * The last characters octave wrote to its error stream 
+     * during the evaluation which failed 
+     * or <code>null</code> if not known. 
+     * As the error stream is read asynchronously, this is best effort: 
+     * Error output arriving late may be missing. 
+     */
+    private String errorTail = null;
+
     /**
      * Constructor. 
      *
@@ -63,4 +74,18 @@ public class OctaveEvalException extends OctaveRecoverableException {
         super(message, cause);
     }
 
+    /**
+     * @return errorTail
+     */
+    public final String getErrorTail() {
+        return this.errorTail;
+    }
+
+    /**
+     * @param errorTail
+     */
+    public final void setErrorTail(final String errorTail) {
+        this.errorTail = errorTail;
+    }
+
 }
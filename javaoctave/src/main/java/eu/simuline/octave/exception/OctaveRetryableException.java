@@ -0,0 +1,71 @@
+/*
+ * Copyright 2026 Simuline Organization (l2r)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.simuline.octave.exception;
+
+import eu.simuline.octave.OctaveEngine;
+
+/**
+ * Exception thrown by a supervised {@link OctaveEngine} 
+ * if an operation failed because the octave process broke. 
+ * The process is respawned already, 
+ * the initialization script and the pinned variables are restored 
+ * so the operation may be retried. 
+ * The cause is the exception originally thrown. 
+ */
+public class OctaveRetryableException extends OctaveRecoverableException {
+
+    /**
+     * Constructor. 
+     *
+     * @see Throwable
+     */
+    public OctaveRetryableException() {
+	// Do nothing
+    }
+
+    /**
+     * Constructor. 
+     *
+     * @param message
+     * @see Throwable
+     */
+    public OctaveRetryableException(final String message) {
+	super(message);
+    }
+
+    /**
+     * Constructor. 
+     *
+     * @param cause
+     * @see Throwable
+     */
+    public OctaveRetryableException(final Throwable cause) {
+	super(cause);
+    }
+
+    /**
+     * Constructor. 
+     *
+     * @param message
+     * @param cause
+     * @see Throwable
+     */
+    public OctaveRetryableException(final String message, 
+				    final Throwable cause) {
+	super(message, cause);
+    }
+
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2026 Simuline Organization (l2r)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.simuline.octave.exception;
+
+import eu.simuline.octave.exec.OctaveExec;
+
+/**
+ * Exception thrown when a command passed to octave 
+ * in {@link OctaveExec#evalRW(java.util.List, java.util.List, long)} 
+ * did not finish in time. 
+ * Then octave is interrupted and the engine can still be used. 
+ * Only if interrupting fails, the octave process is destroyed 
+ * and {@link #isDestroyed()} returns true. 
+ */
+public class OctaveTimeoutException extends OctaveRecoverableException {
+
+    /**
+     * Constructor. 
+     *
+     * @see Throwable
+     */
+    public OctaveTimeoutException() {
+	// Do nothing
+    }
+
+    /**
+     * Constructor. 
+     *
+     * @param message
+     * @see Throwable
+     */
+    public OctaveTimeoutException(final String message) {
+	super(message);
+    }
+
+    /**
+     * Constructor. 
+     *
+     * @param cause
+     * @see Throwable
+     */
+    public OctaveTimeoutException(final Throwable cause) {
+	super(cause);
+    }
+
+    /**
+     * Constructor. 
+     *
+     * @param message
+     * @param cause
+     * @see Throwable
+     */
+    public OctaveTimeoutException(final String message, 
+				  final Throwable cause) {
+	super(message, cause);
+    }
+
+}
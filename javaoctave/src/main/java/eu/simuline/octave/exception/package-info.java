@@ -37,6 +37,9 @@ package eu.simuline.octave.exception;
  *   OctaveRecoverableException
  *     OctaveClassCastException
  *     OctaveParseException
+ *     OctaveEvalException
+ *     OctaveTimeoutException
+ *     OctaveRetryableException
  *   OctaveNonrecoverableException
  *     OctaveIOException
  *     OctaveInterruptedException
@@ -18,13 +18,16 @@
  */
 package eu.simuline.octave.exec;
 
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
+import java.io.Reader;
 import java.io.Writer;
+import java.lang.reflect.Field;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Random;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
@@ -32,9 +35,12 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import eu.simuline.octave.exception.OctaveException;
 import eu.simuline.octave.exception.OctaveIOException;
+import eu.simuline.octave.exception.OctaveTimeoutException;
 import eu.simuline.octave.util.NamedThreadFactory;
 import eu.simuline.octave.util.NoCloseWriter;
 import eu.simuline.octave.util.ReaderWriterPipeThread;
@@ -73,13 +79,13 @@ public final class OctaveExec {
 
     /**
      * The input reader for {@link #process}. 
-     * This is used by {@link #evalRW(WriteFunctor, ReadFunctor)} 
+     * This is used by {@link #evalRW(List, List)} 
      * and used to close via {@link #close()}. 
      */
-    private final BufferedReader processReader;
+    private final OctaveProcessReader processReader;
 
     /**
-     * Used in method {@link #evalRW(WriteFunctor, ReadFunctor)} 
+     * Used in method {@link #evalRW(List, List)} 
      * to submit essentially the write functor which submits the input 
      * and thereafter the read function which collects the output. 
      * Besides this, the executor is invoked to shutdown. 
@@ -96,6 +102,41 @@ public final class OctaveExec {
 
     private boolean destroyed = false;
 
+    /**
+     * The default timeout in milliseconds 
+     * used by {@link #evalRW(List, List)} 
+     * or <code>0</code> which means that there is no timeout. 
+     * By default, this is <code>0</code>. 
+     */
+    private volatile long timeoutMillis = 0;
+
+    /**
+     * The token of the spacers, random for each octave process 
+     * so that the output of a script does not accidentally contain a spacer. 
+     */
+    private final long spacerToken = new Random().nextLong();
+
+    /**
+     * The sequence number of the spacer 
+     * terminating the next frame written by {@link #evalRW(List, List)}. 
+     * This increases monotonically; 
+     * each evaluation reserves one number per frame 
+     * and one for the abort spacer. 
+     */
+    private long nextSeq = 0;
+
+    /**
+     * The writer of the frames, reused by {@link #evalRW(List, List)} 
+     * unless still running after a failure. 
+     */
+    private OctaveWriterCallable writerCallable;
+
+    /**
+     * The reader of the frames, reused by {@link #evalRW(List, List)} 
+     * unless still running after a failure. 
+     */
+    private OctaveReaderCallable readerCallable;
+
     /**
      * Will start the octave process.
      *
@@ -136,7 +177,76 @@ public final class OctaveExec {
 		      final String[] cmdArray,
 		      final String[] environment, // always invoked with null 
 		      final File workingDir) {
-	ThreadFactory threadFactory = new NamedThreadFactory();
+	this(numThreadsReuse, new NamedThreadFactory(), 
+	     stdinLog, stderrLog, cmdArray, environment, workingDir);
+    }
+
+    /**
+     * Will start the octave process 
+     * as {@link #OctaveExec(int, Writer, Writer, String[], String[], File)} 
+     * but with the threads reading from and writing to the process 
+     * created by <code>threadFactory</code>. 
+     * This allows using virtual threads, 
+     * e.g. from a {@link eu.simuline.octave.util.VirtualThreadFactory}. 
+     *
+     * @param numThreadsReuse
+     *    the number of threads to be reused in a fixed thread pool 
+     *    or <code>-1</code> for a cached thread pool. 
+     * @param threadFactory
+     *    the factory creating the threads of {@link #executor} 
+     *    and of {@link #errorStreamThread}. 
+     * @param stdinLog
+     * @param stderrLog
+     * @param cmdArray
+     * @param environment
+     * @param workingDir
+     */
+    public OctaveExec(final int numThreadsReuse,
+		      final ThreadFactory threadFactory,
+		      final Writer stdinLog, 
+		      final Writer stderrLog, 
+		      final String[] cmdArray,
+		      final String[] environment, 
+		      final File workingDir) {
+	this(numThreadsReuse, threadFactory, 
+	     ReaderWriterPipeThread.DEFAULT_CAPACITY, 
+	     ReaderWriterPipeThread.DEFAULT_TAIL_CAPACITY, 
+	     stdinLog, stderrLog, cmdArray, environment, workingDir);
+    }
+
+    /**
+     * Will start the octave process 
+     * as {@link #OctaveExec(int, ThreadFactory, Writer, Writer, String[], String[], File)} 
+     * but with the given capacities of the buffers of the error stream. 
+     *
+     * @param numThreadsReuse
+     *    the number of threads to be reused in a fixed thread pool 
+     *    or <code>-1</code> for a cached thread pool. 
+     * @param threadFactory
+     *    the factory creating the threads of {@link #executor} 
+     *    and of {@link #errorStreamThread}. 
+     * @param errorCapacity
+     *    the number of characters of the error stream 
+     *    buffered for <code>stderrLog</code> 
+     *    beyond which characters are dropped. 
+     * @param errorTailCapacity
+     *    the number of characters of the error stream read last 
+     *    returned by {@link #getErrorTail()}. 
+     * @param stdinLog
+     * @param stderrLog
+     * @param cmdArray
+     * @param environment
+     * @param workingDir
+     */
+    public OctaveExec(final int numThreadsReuse,
+		      final ThreadFactory threadFactory,
+		      final int errorCapacity,
+		      final int errorTailCapacity,
+		      final Writer stdinLog, 
+		      final Writer stderrLog, 
+		      final String[] cmdArray,
+		      final String[] environment, 
+		      final File workingDir) {
 	this.executor = numThreadsReuse == -1
 	    ? Executors.newCachedThreadPool(threadFactory)
 	    : Executors.newFixedThreadPool(numThreadsReuse, threadFactory);
@@ -152,12 +262,14 @@ public final class OctaveExec {
         this.errorStreamThread = ReaderWriterPipeThread
 	    .instantiate(new InputStreamReader(this.process.getErrorStream(), 
 					       OctaveUtils.getUTF8()),
-			 stderrLog);
+			 stderrLog, 
+			 threadFactory,
+			 errorCapacity,
+			 errorTailCapacity);
 
         // Connect stdout
-        this.processReader = new BufferedReader
-	    (new InputStreamReader(this.process.getInputStream(), 
-				   OctaveUtils.getUTF8()));
+        this.processReader = new OctaveProcessReader
+	    (this.process.getInputStream(), OctaveUtils.getUTF8());
 
         // Connect stdin
 	Writer pw = new OutputStreamWriter(this.process.getOutputStream(),
@@ -167,14 +279,39 @@ public final class OctaveExec {
 	this.processWriter = (stdinLog == null)
 	    ? pw
 	    : new TeeWriter(new NoCloseWriter(stdinLog), pw);
+	this.writerCallable = 
+	    new OctaveWriterCallable(this.processWriter, this.spacerToken);
+	this.readerCallable = 
+	    new OctaveReaderCallable(this.processReader, this.spacerToken);
     }
 
-    private final Random random = new Random();
+    /**
+     * The maximal number of characters of a script 
+     * which is written on the calling thread 
+     * instead of a thread of {@link #executor}. 
+     * This is far below the size of a pipe buffer on common platforms. 
+     */
+    private static final int INLINE_WRITE_LIMIT = 4 * 1024;
 
-    private String generateSpacer() {
-        return "-=+X+=- Octave.java spacer -=+X+=- " + 
-	    random.nextLong() + " -=+X+=-";
-    }
+    /**
+     * The time in milliseconds 
+     * octave is given to get back in sync after being interrupted 
+     * because of a timeout. 
+     * After that, the octave process is destroyed. 
+     */
+    private static final long INTERRUPT_GRACE_MILLIS = 2000;
+
+    /**
+     * The time in milliseconds without new characters on the error stream 
+     * after which {@link #getErrorTail(long)} considers it complete. 
+     */
+    private static final long ERROR_QUIET_MILLIS = 20;
+
+    /**
+     * The maximal time in milliseconds 
+     * {@link #getErrorTail(long)} waits for the error stream to be quiet. 
+     */
+    private static final long ERROR_WAIT_MILLIS = 500;
 
     /**
      * Passes <code>input</code> to octave 
@@ -192,21 +329,126 @@ public final class OctaveExec {
     // OctaveIO#checkIfVarExists(String) and in 
     // OctaveEngine#unsafeEval(String) OctaveEngine#unsafeEval(Reader) and 
     // OctaveEngine#getVersion() only 
+    // CAUTION: shall be equivalent with evalRW(List, List) 
+    // for singleton lists. 
     public void evalRW(final WriteFunctor input, final ReadFunctor output) {
-        final String spacer = generateSpacer();
-        final Future<Void> writerFuture = 
-	    this.executor.submit(new OctaveWriterCallable(this.processWriter, 
-							  input, 
-							  spacer));
-        final Future<Void> readerFuture = 
-	    this.executor.submit(new OctaveReaderCallable(this.processReader, 
-							  output, 
-							  spacer));
-        final RuntimeException writerException = getFromFuture(writerFuture);
-        // if (writerException instanceof CancellationException) {
-        //     LOG.error("Did not expect writer to be canceled", 
-	//               writerException);
-        // }
+	evalRW(Collections.singletonList(input), 
+	       Collections.singletonList(output));
+    }
+
+    /**
+     * Passes the <code>inputs</code> to octave in a single pipelined write 
+     * and gets back the according <code>outputs</code> 
+     * as {@link #evalRW(List, List, long)} 
+     * with the default timeout set by {@link #setTimeout(long)}. 
+     *
+     * @param inputs
+     *    the write functors, each representing a script 
+     *    to be executed in octave. 
+     * @param outputs
+     *    the read functors, the i-th one 
+     *    reading the result of executing the i-th entry of <code>inputs</code>. 
+     * @throws IllegalArgumentException
+     *    if <code>inputs</code> and <code>outputs</code> 
+     *    differ in size or are empty. 
+     * @throws OctaveTimeoutException
+     *    if a timeout is set and octave did not finish in time. 
+     */
+    public void evalRW(final List<WriteFunctor> inputs, 
+		       final List<ReadFunctor> outputs) {
+	evalRW(inputs, outputs, this.timeoutMillis);
+    }
+
+    /**
+     * Passes the <code>inputs</code> to octave in a single pipelined write 
+     * and gets back the according <code>outputs</code>. 
+     * Each input is followed by its own spacer, 
+     * so the i-th output reads exactly what octave printed 
+     * when executing the i-th input. 
+     * The spacers are numbered consecutively 
+     * and the objects writing and reading the frames are reused, 
+     * so that an evaluation allocates hardly anything beyond the functors. 
+     * Thus this method must not be invoked concurrently. 
+     * All inputs are written and flushed at once 
+     * and so only a single round trip to octave is needed 
+     * instead of one round trip per input. 
+     * If the inputs are small {@link StringWriteFunctor}s, 
+     * they are written on the calling thread 
+     * and only reading takes place in another thread. 
+     * <p>
+     * If a read functor fails with a runtime exception, 
+     * the outputs of the remaining inputs are skipped 
+     * before the exception is rethrown. 
+     * <p>
+     * If octave does not finish within <code>timeoutMillis</code>, 
+     * it is interrupted sending <code>SIGINT</code> 
+     * and its output is skipped up to a spacer written afterwards. 
+     * So the octave process can be used further. 
+     * Only if this does not succeed within a grace period, 
+     * e.g. because signals are not supported on the platform, 
+     * the octave process is destroyed. 
+     *
+     * @param inputs
+     *    the write functors, each representing a script 
+     *    to be executed in octave. 
+     * @param outputs
+     *    the read functors, the i-th one 
+     *    reading the result of executing the i-th entry of <code>inputs</code>. 
+     * @param timeoutMillis
+     *    the timeout in milliseconds 
+     *    or <code>0</code> which means that there is no timeout. 
+     * @throws IllegalArgumentException
+     *    if <code>inputs</code> and <code>outputs</code> 
+     *    differ in size or are empty 
+     *    or if <code>timeoutMillis</code> is negative. 
+     * @throws OctaveTimeoutException
+     *    if octave did not finish in time. 
+     *    If the process had to be destroyed, this is marked destroyed. 
+     */
+    public void evalRW(final List<WriteFunctor> inputs, 
+		       final List<ReadFunctor> outputs, 
+		       final long timeoutMillis) {
+	if (inputs.size() != outputs.size() || inputs.isEmpty()) {
+	    throw new IllegalArgumentException
+		("Expected the same positive number of write and read functors " + 
+		 "but found " + inputs.size() + " and " + outputs.size() + ". ");
+	}
+	if (timeoutMillis < 0) {
+	    throw new IllegalArgumentException
+		("Expected non-negative timeout but found " + timeoutMillis + ". ");
+	}
+	final long deadline = System.nanoTime() 
+	    + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+	final long firstSeq = this.nextSeq;
+	final long abortSeq = firstSeq + inputs.size();
+	this.nextSeq = abortSeq + 1;
+	// after a failure, the callables may still be running 
+	if (this.writerCallable.isRunning()) {
+	    this.writerCallable = 
+		new OctaveWriterCallable(this.processWriter, this.spacerToken);
+	}
+	if (this.readerCallable.isRunning()) {
+	    this.readerCallable = 
+		new OctaveReaderCallable(this.processReader, this.spacerToken);
+	}
+	final OctaveWriterCallable writerCallable = this.writerCallable;
+	final OctaveReaderCallable readerCallable = this.readerCallable;
+	writerCallable.reset(inputs, firstSeq);
+	readerCallable.reset(outputs, firstSeq, timeoutMillis != 0);
+	// small scripts are written on the calling thread 
+	final boolean inline = isWriteInline(inputs);
+        final Future<Void> writerFuture = inline 
+	    ? null 
+	    : this.executor.submit(writerCallable);
+        final Future<Void> readerFuture = this.executor.submit(readerCallable);
+	if (!inline && !awaitDone(writerFuture, deadline, timeoutMillis)) {
+	    // writer blocks: octave does not read anymore 
+            readerFuture.cancel(true);
+	    throw timeout(timeoutMillis, readerFuture, null, abortSeq);
+	}
+        final RuntimeException writerException = inline 
+	    ? callInline(writerCallable) 
+	    : getFromFuture(writerFuture);
         if (writerException != null) {
             if (writerException instanceof CancellationException) {
                 LOG.error("Did not expect writer to be canceled", 
@@ -215,10 +457,10 @@ public final class OctaveExec {
             readerFuture.cancel(true); // may interrupt if running 
 	    throw writerException;
         }
+	if (!awaitDone(readerFuture, deadline, timeoutMillis)) {
+	    throw timeout(timeoutMillis, readerFuture, readerCallable, abortSeq);
+	}
         final RuntimeException readerException = getFromFuture(readerFuture);
-        // if (writerException != null) {
-        //     throw writerException;
-        // }
         if (readerException != null) {
             // Only gets here when writerException==null, 
 	    // and in that case we don't expect the reader to be cancelled
@@ -230,6 +472,238 @@ public final class OctaveExec {
         }
     }
 
+    /**
+     * Waits until <code>future</code> is done or <code>deadline</code> 
+     * is reached, whatever comes first. 
+     * Exceptions are not reported here but by {@link #getFromFuture(Future)}. 
+     *
+     * @param future
+     *    the future to wait for. 
+     * @param deadline
+     *    the deadline in the sense of {@link System#nanoTime()}. 
+     * @param timeoutMillis
+     *    the timeout in milliseconds, where <code>0</code> means no timeout. 
+     *    In the latter case, this method returns <code>true</code> at once. 
+     * @return
+     *    whether <code>future</code> is done before the deadline. 
+     */
+    private static boolean awaitDone(final Future<Void> future, 
+				     final long deadline, 
+				     final long timeoutMillis) {
+	if (timeoutMillis == 0) {
+	    return true;
+	}
+	try {
+	    future.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+	} catch (final TimeoutException e) {
+	    return false;
+	} catch (final InterruptedException e) {
+	    // reported by getFromFuture 
+	    Thread.currentThread().interrupt();
+	} catch (final ExecutionException e) { // NOPMD
+	    // reported by getFromFuture 
+	} catch (final CancellationException e) { // NOPMD
+	    // reported by getFromFuture 
+	}
+	return true;
+    }
+
+    /**
+     * Handles a timeout and returns the exception to be thrown. 
+     * If the writer has written all input, 
+     * octave is interrupted and the spacer with number <code>abortSeq</code> 
+     * is written which is read by <code>readerCallable</code> 
+     * or by an additional reader, skipping the output of octave. 
+     * If this does not succeed within {@link #INTERRUPT_GRACE_MILLIS}, 
+     * the octave process is destroyed. 
+     *
+     * @param timeoutMillis
+     *    the timeout in milliseconds exceeded. 
+     * @param readerFuture
+     *    the future of <code>readerCallable</code>. 
+     * @param readerCallable
+     *    the reader which is still reading 
+     *    or <code>null</code> if the writer did not write all input. 
+     *    In the latter case, the octave process is destroyed at once. 
+     * @param abortSeq
+     *    the sequence number of the spacer 
+     *    <code>readerCallable</code> reads in addition 
+     *    to the ordinary spacers. 
+     * @return
+     *    the exception signifying the timeout, 
+     *    marked destroyed if the octave process was destroyed. 
+     */
+    private OctaveTimeoutException timeout(final long timeoutMillis, 
+					   final Future<Void> readerFuture, 
+					   final OctaveReaderCallable readerCallable, 
+					   final long abortSeq) {
+	LOG.warn("Octave did not finish within " + timeoutMillis + " ms. ");
+	final boolean inSync = readerCallable != null 
+	    && interrupt() 
+	    && resync(readerFuture, readerCallable, abortSeq);
+	if (!inSync) {
+	    destroy();
+	}
+	final OctaveTimeoutException exc = new OctaveTimeoutException
+	    ("Octave did not finish within " + timeoutMillis + " ms; " + 
+	     (inSync ? "interrupted. " : "octave process destroyed. "));
+	exc.setDestroyed(!inSync);
+	return exc;
+    }
+
+    /**
+     * Sends <code>SIGINT</code> to the octave process 
+     * using the command <code>kill</code>. 
+     * The process id is obtained via reflection: 
+     * From java 9 on, there is the method <code>Process.pid()</code>, 
+     * whereas for java 8 on unix-like systems, 
+     * the process has a private field <code>pid</code>. 
+     *
+     * @return
+     *    whether the signal could be sent. 
+     */
+    private boolean interrupt() {
+	long pid;
+	try {
+	    pid = (Long) Process.class.getMethod("pid").invoke(this.process);
+	} catch (final NoSuchMethodException e) {
+	    try {
+		final Field field = this.process.getClass()
+		    .getDeclaredField("pid");
+		field.setAccessible(true);
+		pid = field.getInt(this.process);
+	    } catch (final ReflectiveOperationException 
+		     | RuntimeException e2) { // NOPMD
+		LOG.debug("Could not determine pid of octave process. ", e2);
+		return false;
+	    }
+	} catch (final ReflectiveOperationException 
+		 | RuntimeException e) { // NOPMD
+	    LOG.debug("Could not determine pid of octave process. ", e);
+	    return false;
+	}
+	try {
+	    return Runtime.getRuntime()
+		.exec(new String[] {"kill", "-INT", Long.toString(pid)})
+		.waitFor() == 0;
+	} catch (final IOException e) {
+	    LOG.debug("Could not send SIGINT to octave process. ", e);
+	    return false;
+	} catch (final InterruptedException e) {
+	    Thread.currentThread().interrupt();
+	    return false;
+	}
+    }
+
+    /**
+     * Writes the spacer with number <code>abortSeq</code> to octave 
+     * and waits until it is read back. 
+     * This is read either by <code>readerCallable</code> 
+     * or, if this finished before, by an additional reader. 
+     *
+     * @param readerFuture
+     *    the future of <code>readerCallable</code>. 
+     * @param readerCallable
+     *    the reader still reading the output of the interrupted commands. 
+     * @param abortSeq
+     *    the sequence number of the spacer to be written. 
+     * @return
+     *    whether the spacer was read 
+     *    within {@link #INTERRUPT_GRACE_MILLIS}, 
+     *    i.e. whether octave is in sync again. 
+     */
+    private boolean resync(final Future<Void> readerFuture, 
+			   final OctaveReaderCallable readerCallable, 
+			   final long abortSeq) {
+	final long deadline = System.nanoTime() 
+	    + TimeUnit.MILLISECONDS.toNanos(INTERRUPT_GRACE_MILLIS);
+	try {
+	    final Spacer abortSpacer = new Spacer(this.spacerToken);
+	    abortSpacer.setSeq(abortSeq);
+	    abortSpacer.writeCommand(this.processWriter);
+	    this.processWriter.flush();
+	} catch (final IOException e) {
+	    LOG.debug(OctaveWriterCallable.EXCEPTION_MESSAGE_SPACER, e);
+	    return false;
+	}
+	// wait until the reader is done reading the interrupted commands 
+	if (!awaitDone(readerFuture, deadline, INTERRUPT_GRACE_MILLIS)) {
+	    return false;
+	}
+	if (readerCallable.isAborted()) {
+	    return true;
+	}
+	// the reader finished before the abort spacer: skip up to it 
+	final OctaveReaderCallable skipCallable = 
+	    new OctaveReaderCallable(this.processReader, this.spacerToken);
+	skipCallable.reset(Collections.<ReadFunctor>singletonList
+			   (new ReadFunctor() {
+				   @Override
+				   public void doReads(final Reader reader) {
+				       // skipped when closing reader 
+				   }
+			       }), 
+			   abortSeq, 
+			   false);
+	final Future<Void> skipFuture = this.executor.submit(skipCallable);
+	return awaitDone(skipFuture, deadline, INTERRUPT_GRACE_MILLIS) 
+	    && getFromFuture(skipFuture) == null;
+    }
+
+    /**
+     * Returns whether the given write functors 
+     * shall be written on the calling thread. 
+     * This is the case if all are {@link StringWriteFunctor}s 
+     * the lengths of which sum up to at most {@link #INLINE_WRITE_LIMIT}: 
+     * Then writing does not block even if octave does not read, 
+     * because the data fit into the buffer of the pipe. 
+     *
+     * @param inputs
+     *    the write functors to be written. 
+     * @return
+     *    whether to write <code>inputs</code> on the calling thread. 
+     */
+    private static boolean isWriteInline(final List<WriteFunctor> inputs) {
+	int length = 0;
+	for (int idx = 0; idx < inputs.size(); idx++) {
+	    final WriteFunctor input = inputs.get(idx);
+	    if (!(input instanceof StringWriteFunctor)) {
+		return false;
+	    }
+	    length += ((StringWriteFunctor) input).length();
+	    if (length > INLINE_WRITE_LIMIT) {
+		return false;
+	    }
+	}
+	return true;
+    }
+
+    /**
+     * Calls <code>writerCallable</code> on the calling thread 
+     * and returns the exception thrown 
+     * in the same way as {@link #getFromFuture(Future)} does. 
+     *
+     * @param writerCallable
+     *    the writer to be called. 
+     * @return
+     *    the exception thrown by <code>writerCallable</code> 
+     *    or <code>null</code> if there is none. 
+     */
+    private RuntimeException callInline(final OctaveWriterCallable writerCallable) {
+	try {
+	    writerCallable.call();
+	} catch (final OctaveException e) {
+	    if (isDestroyed()) {
+		e.setDestroyed(true);
+	    }
+	    return e;
+	} catch (final RuntimeException e) { // NOPMD 
+	    LOG.error(MSG_RTE_NH, e);
+	    return new RuntimeException(MSG_RTE_NH, e);
+	}
+	return null;
+    }
+
     /**
      * Completes computation on future 
      * and returns an exception thrown or null. 
@@ -369,6 +843,44 @@ public final class OctaveExec {
         }
     }
 
+    /**
+     * Returns whether the octave process is alive. 
+     *
+     * @return
+     *    whether the octave process has not yet terminated. 
+     */
+    public boolean isAlive() {
+	return this.process.isAlive();
+    }
+
+    /**
+     * Sets the default timeout used by {@link #evalRW(List, List)}. 
+     *
+     * @param timeoutMillis
+     *    the timeout in milliseconds 
+     *    or <code>0</code> which means that there is no timeout. 
+     * @throws IllegalArgumentException
+     *    if <code>timeoutMillis</code> is negative. 
+     */
+    public void setTimeout(final long timeoutMillis) {
+	if (timeoutMillis < 0) {
+	    throw new IllegalArgumentException
+		("Expected non-negative timeout but found " + timeoutMillis + ". ");
+	}
+	this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Returns the default timeout used by {@link #evalRW(List, List)}. 
+     *
+     * @return
+     *    the timeout in milliseconds 
+     *    or <code>0</code> which means that there is no timeout. 
+     */
+    public long getTimeout() {
+	return this.timeoutMillis;
+    }
+
     /**
      * @param writer
      *    the new writer to write the error output to
@@ -377,4 +889,77 @@ public final class OctaveExec {
         this.errorStreamThread.setWriter(writer);
     }
 
+    /**
+     * Returns the last characters octave wrote to its error stream, 
+     * as far as already read. 
+     *
+     * @return
+     *    the tail of the error stream. 
+     * @see ReaderWriterPipeThread#getTail()
+     */
+    public String getErrorTail() {
+	return this.errorStreamThread.getTail();
+    }
+
+    /**
+     * Returns the number of characters of the error stream read so far, 
+     * to be passed to {@link #getErrorTail(long)} 
+     * to get the error output of the evaluations which follow. 
+     *
+     * @return
+     *    the current position in the error stream. 
+     */
+    public long getErrorPosition() {
+	return this.errorStreamThread.getTailPosition();
+    }
+
+    /**
+     * Returns the last characters octave wrote to its error stream 
+     * since position <code>from</code>. 
+     * As the error stream is read asynchronously, 
+     * this waits until no new characters arrived 
+     * for {@link #ERROR_QUIET_MILLIS} 
+     * but at most {@link #ERROR_WAIT_MILLIS}. 
+     * So this is best effort: 
+     * Output octave writes later is missing. 
+     * If the tail capacity is <code>0</code>, 
+     * this returns the empty string at once. 
+     *
+     * @param from
+     *    a position returned by {@link #getErrorPosition()} before. 
+     * @return
+     *    the tail of the error stream since <code>from</code>. 
+     */
+    public String getErrorTail(final long from) {
+	if (this.errorStreamThread.getTailCapacity() == 0) {
+	    return "";
+	}
+	final long deadline = System.currentTimeMillis() + ERROR_WAIT_MILLIS;
+	long pos = this.errorStreamThread.getTailPosition();
+	try {
+	    while (System.currentTimeMillis() < deadline) {
+		Thread.sleep(ERROR_QUIET_MILLIS);
+		final long newPos = this.errorStreamThread.getTailPosition();
+		if (newPos == pos) {
+		    break;
+		}
+		pos = newPos;
+	    }
+	} catch (final InterruptedException e) {
+	    Thread.currentThread().interrupt();
+	}
+	return this.errorStreamThread.getTail(from);
+    }
+
+    /**
+     * Returns the number of characters of the error stream 
+     * dropped because the error writer could not keep up. 
+     *
+     * @return
+     *    the number of characters of the error stream not written. 
+     */
+    public long getNumErrorDropped() {
+	return this.errorStreamThread.getNumDropped();
+    }
+
 }
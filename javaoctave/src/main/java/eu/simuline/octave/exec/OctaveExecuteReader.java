@@ -15,20 +15,29 @@
  */
 package eu.simuline.octave.exec;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.Reader;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
-import eu.simuline.octave.util.StringUtil;
-
 /**
  * Reader that passes the reading on to the output from the octave process 
  * until the spacer reached, then it returns EOF. 
  * When this reader is closed 
  * the underlying reader is slurped up to the spacer. 
+ * <p>
+ * The spacer is a line of its own. 
+ * So it is looked for only at the start of each line 
+ * comparing the characters buffered by the {@link OctaveProcessReader} 
+ * with the spacer directly, 
+ * and the characters in between are copied from that buffer 
+ * without creating a string for each line. 
+ * The newline preceding the spacer is not passed on. 
+ * <p>
+ * The spacers are given as {@link CharSequence}s 
+ * which may change between frames: 
+ * A reader is reused for subsequent frames via {@link #reset(boolean)}. 
  */
 final class OctaveExecuteReader extends Reader {
 
@@ -37,40 +46,70 @@ final class OctaveExecuteReader extends Reader {
     /**
      * The wrapped reader. 
      */
-    private final BufferedReader octaveReader;
+    private final OctaveProcessReader octaveReader;
 
     /**
-     * The string signifying end of stream. 
+     * The line signifying end of stream. 
      */
-    private final String spacer;
+    private final CharSequence spacer;
 
     /**
-     * The current line read from {@link #octaveReader} 
-     * but not yet passed to a char-array by {@link #read(char[], int, int)}. 
-     * If this buffer were empty, it is <code>null</code> instead, 
-     * which is also the initial value. 
-     * If this is not the first line, the line read from {@link #octaveReader} 
-     * is preceeded by newline before being passed to {@link #buffer}. 
+     * Whether the next character of {@link #octaveReader} 
+     * starts a line, which may be the spacer. 
+     * Initially, this is true. 
      */
-    private StringBuffer buffer = null;
+    private boolean atLineStart = true;
 
     /**
-     * Whether reading the first line. 
-     * Initially, this is true. 
-     * It is set to false, by {@link #read(char[], int, int)} 
-     * if {@link #buffer} is filled for the first time. 
+     * Whether a newline has been consumed from {@link #octaveReader} 
+     * but not yet passed on, 
+     * because it is not passed on if the spacer follows. 
+     * Initially, this is false. 
      */
-    private boolean firstLine = true;
+    private boolean pendingNewline = false;
 
     /**
      * Whether end of reader found. 
      * Initially, this is false. 
-     * It is set to false, by {@link #read(char[], int, int)} 
-     * if {@link #buffer} equals {@link #spacer}, 
+     * It is set to true, by {@link #read(char[], int, int)} 
+     * if a line equal to {@link #spacer} is found, 
      * not really end of {@link #octaveReader}. 
      */
     private boolean eof = false;
 
+    /**
+     * Whether this reader reads the output of the last command 
+     * pipelined in a single round trip. 
+     * Only then, nothing may follow the spacer when closing this reader. 
+     */
+    private boolean last;
+
+    /**
+     * The line signifying that the command was aborted 
+     * or <code>null</code> if the command cannot be aborted. 
+     * This is also end of stream but sets {@link #aborted}. 
+     */
+    private CharSequence abortSpacer;
+
+    /**
+     * The abort spacer given when constructing this reader. 
+     * {@link #reset(boolean, boolean)} sets {@link #abortSpacer} to this 
+     * or to <code>null</code>. 
+     */
+    private final CharSequence abortSpacerInit;
+
+    /**
+     * The buffer used by {@link #close()} to slurp the rest of the frame. 
+     * This is allocated on first use and then reused. 
+     */
+    private char[] skipBuf;
+
+    /**
+     * Whether {@link #abortSpacer} was found. 
+     * Initially, this is false. 
+     */
+    private boolean aborted = false;
+
     /**
      * This reader will read from <code>octaveReader</code> 
      * until a single line equal() <code>spacer</code> is read, 
@@ -81,11 +120,72 @@ final class OctaveExecuteReader extends Reader {
      *    the wrapped reader 
      * @param spacer
      *    the line signifying end of stream. 
+     * @param last
+     *    whether this reads the output of the last command pipelined. 
+     */
+    OctaveExecuteReader(final OctaveProcessReader octaveReader, 
+			final CharSequence spacer, 
+			final boolean last) {
+	this(octaveReader, spacer, last, null);
+    }
+
+    /**
+     * This reader will read from <code>octaveReader</code> 
+     * as {@link #OctaveExecuteReader(OctaveProcessReader, CharSequence, boolean)} 
+     * but a line equal to <code>abortSpacer</code> 
+     * also signifies end of stream. 
+     * Then {@link #isAborted()} returns true. 
+     *
+     * @param octaveReader
+     *    the wrapped reader 
+     * @param spacer
+     *    the line signifying end of stream. 
+     * @param last
+     *    whether this reads the output of the last command pipelined. 
+     * @param abortSpacer
+     *    the line signifying that the command was aborted 
+     *    or <code>null</code>. 
      */
-    OctaveExecuteReader(final BufferedReader octaveReader, 
-			final String spacer) {
+    OctaveExecuteReader(final OctaveProcessReader octaveReader, 
+			final CharSequence spacer, 
+			final boolean last, 
+			final CharSequence abortSpacer) {
         this.octaveReader = octaveReader;
         this.spacer = spacer;
+        this.last = last;
+        this.abortSpacer = abortSpacer;
+        this.abortSpacerInit = abortSpacer;
+    }
+
+    /**
+     * Resets this reader to read the next frame 
+     * as if it were newly constructed. 
+     * The spacers are the ones given to the constructor 
+     * with their current content. 
+     *
+     * @param last
+     *    whether this reads the output of the last command pipelined. 
+     * @param abortable
+     *    whether the abort spacer given to the constructor 
+     *    signifies end of stream. 
+     */
+    void reset(final boolean last, final boolean abortable) {
+	this.last = last;
+	this.abortSpacer = abortable ? this.abortSpacerInit : null;
+	this.atLineStart = true;
+	this.pendingNewline = false;
+	this.eof = false;
+	this.aborted = false;
+    }
+
+    /**
+     * Returns whether reading ended with the abort spacer. 
+     *
+     * @return
+     *    whether the line given by {@link #abortSpacer} was read. 
+     */
+    boolean isAborted() {
+        return this.aborted;
     }
 
     /**
@@ -115,51 +215,104 @@ final class OctaveExecuteReader extends Reader {
         if (this.eof) {
             return -1;
         }
-        if (this.buffer == null) {
-            final String line = this.octaveReader.readLine();
-            if (LOG.isTraceEnabled()) {
-                LOG.trace("octaveReader.readLine() = " + 
-			  StringUtil.jQuote(line));
-            }
-            if (line == null) {
-                throw new IOException("Pipe to octave-process broken");
-            }
-            if (this.spacer.equals(line)) {
-                this.eof = true;
-                return -1;
-            }
-
-	    // line possibly preceeded by \n 
-            this.buffer = new StringBuffer(line.length() + 1);
-            if (this.firstLine) {
-                this.firstLine = false;
-            } else {
-                this.buffer.append('\n');
-            }
-            this.buffer.append(line);
-        }
-	assert this.buffer != null;
-
-        final int charsRead = Math.min(this.buffer.length(), len);
-        this.buffer.getChars(0, charsRead, cbuf, off);
-        if (charsRead == buffer.length()) {
-            this.buffer = null;
-        } else {
-            this.buffer.delete(0, charsRead);
-        }
-        return charsRead;
+	int num = 0;
+	while (num < len) {
+	    if (this.octaveReader.available() == 0) {
+		// do not block if something can be returned 
+		if (num > 0) {
+		    return num;
+		}
+		if (!this.octaveReader.request(1)) {
+		    throw new IOException("Pipe to octave-process broken");
+		}
+	    }
+	    if (this.atLineStart) {
+		if (isLine(this.spacer)) {
+		    this.eof = true;
+		    return num == 0 ? -1 : num;
+		}
+		if (this.abortSpacer != null && isLine(this.abortSpacer)) {
+		    this.eof = true;
+		    this.aborted = true;
+		    return num == 0 ? -1 : num;
+		}
+		this.atLineStart = false;
+		if (this.pendingNewline) {
+		    this.pendingNewline = false;
+		    cbuf[off + num++] = '\n';
+		    continue;
+		}
+	    }
+	    num += this.octaveReader.copyUntil(cbuf, off + num, len - num, '\n');
+	    if (this.octaveReader.available() > 0 
+		&& this.octaveReader.charAt(0) == '\n') {
+		this.octaveReader.consume(1);
+		this.atLineStart = true;
+		this.pendingNewline = true;
+	    }
+	}
+	return num;
+    }
+
+    /**
+     * Returns whether the line starting with the next character 
+     * of {@link #octaveReader} is <code>line</code> 
+     * and if so, consumes it including its line terminator. 
+     * This blocks only as long as the characters available 
+     * are a proper prefix of <code>line</code> and its terminator. 
+     *
+     * @param line
+     *    a line without terminator. 
+     * @return
+     *    whether the next line is <code>line</code>. 
+     *    The line is terminated by <code>\n</code>, <code>\r\n</code> 
+     *    or by the end of the stream. 
+     * @throws IOException
+     *    if reading from {@link #octaveReader} fails. 
+     */
+    private boolean isLine(final CharSequence line) throws IOException {
+	final int len = line.length();
+	for (int idx = 0; idx < len; idx++) {
+	    if (idx == this.octaveReader.available() 
+		&& !this.octaveReader.request(idx + 1)) {
+		return false;
+	    }
+	    if (this.octaveReader.charAt(idx) != line.charAt(idx)) {
+		return false;
+	    }
+	}
+	int term;
+	if (!this.octaveReader.request(len + 1)) {
+	    term = 0;
+	} else if (this.octaveReader.charAt(len) == '\n') {
+	    term = 1;
+	} else if (this.octaveReader.charAt(len) == '\r' 
+		   && this.octaveReader.request(len + 2) 
+		   && this.octaveReader.charAt(len + 1) == '\n') {
+	    term = 2;
+	} else {
+	    return false;
+	}
+	this.octaveReader.consume(len + term);
+	if (LOG.isTraceEnabled()) {
+	    LOG.trace("octaveReader line = " + line);
+	}
+	return true;
     }
 
     @Override
     @SuppressWarnings({"checkstyle:magicnumber", "checkstyle:emptyblock"})
     // length of buffer is immaterial for function 
     public void close() throws IOException {
-        final char[] buffer1 = new char[4096];
+        if (this.skipBuf == null) {
+            this.skipBuf = new char[4096];
+        }
         // Slurp the rest of the wrapped input
-        while (read(buffer1) != -1) { // NOPMD 
+        while (read(this.skipBuf) != -1) { // NOPMD 
             // Do nothing
         }
-        if (this.octaveReader.ready()) {
+        // output of the next command pipelined may be available already 
+        if (this.last && !this.aborted && this.octaveReader.ready()) {
             throw new IOException("octaveReader is ready()");
         }
         LOG.debug("Reader closed()");
@@ -0,0 +1,387 @@
+/*
+ * Copyright 2026 Simuline Organization (l2r)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.simuline.octave.exec;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * A buffered reader of the output of the octave process 
+ * which, unlike {@link java.io.BufferedReader}, 
+ * gives {@link OctaveExecuteReader} access to the characters buffered, 
+ * so that it can look for spacers 
+ * and copy the output between spacers without creating strings. 
+ * <p> 
+ * The characters buffered are 
+ * those of {@link #buf} from {@link #pos} to {@link #lim}. 
+ * <p>
+ * The output of the process is read as bytes from a channel 
+ * into {@link #bytes}. 
+ * Since the output is mostly numbers, i.e. ASCII, 
+ * runs of ASCII bytes are converted to characters directly 
+ * and only the other runs are decoded by {@link #decoder}. 
+ * Note that in an ASCII compatible charset like UTF-8, 
+ * an ASCII byte is never part of the encoding of another character. 
+ * Unlike {@link java.io.BufferedReader}, this is not synchronized; 
+ * it is read by one {@link OctaveReaderCallable} at a time. 
+ */
+final class OctaveProcessReader extends Reader {
+
+    /**
+     * The initial size of {@link #buf}. 
+     */
+    @SuppressWarnings("checkstyle:magicnumber")
+    private static final int BUF_SIZE = 64 * 1024;
+
+    /**
+     * The wrapped reader 
+     * or <code>null</code> if reading from {@link #channel}. 
+     */
+    private final Reader in;
+
+    /**
+     * The stream {@link #channel} reads from 
+     * or <code>null</code> if reading from {@link #in}. 
+     * This is used by {@link #ready()} only. 
+     */
+    private final InputStream stream;
+
+    /**
+     * The channel to read bytes from 
+     * or <code>null</code> if reading from {@link #in}. 
+     */
+    private final ReadableByteChannel channel;
+
+    /**
+     * The bytes read from {@link #channel} but not yet converted, 
+     * ready for reading, i.e. flipped. 
+     * This is a heap buffer: 
+     * A channel on the stream of a process copies via a byte array anyway 
+     * and the ASCII fast path reads the backing array. 
+     */
+    private final ByteBuffer bytes;
+
+    /**
+     * Decodes the runs of non-ASCII bytes in {@link #bytes}. 
+     */
+    private final CharsetDecoder decoder;
+
+    /**
+     * Whether the end of {@link #channel} has been reached. 
+     */
+    private boolean channelEof = false;
+
+    /**
+     * The buffer for the characters read from {@link #in}. 
+     */
+    private char[] buf = new char[BUF_SIZE];
+
+    /**
+     * The index of the next character in {@link #buf} to be consumed. 
+     */
+    private int pos = 0;
+
+    /**
+     * The index in {@link #buf} after the last character read. 
+     */
+    private int lim = 0;
+
+    /**
+     * Creates a buffered reader reading from <code>in</code>. 
+     *
+     * @param in
+     *    the wrapped reader. 
+     */
+    OctaveProcessReader(final Reader in) {
+	this.in = in;
+	this.stream = null;
+	this.channel = null;
+	this.bytes = null;
+	this.decoder = null;
+    }
+
+    /**
+     * Creates a buffered reader reading bytes 
+     * from a channel on <code>stream</code> 
+     * and converting them into characters according to <code>charset</code> 
+     * which shall be ASCII compatible. 
+     * Malformed input is replaced. 
+     *
+     * @param stream
+     *    the stream to read from, e.g. the output of the octave process. 
+     * @param charset
+     *    an ASCII compatible charset like UTF-8. 
+     */
+    OctaveProcessReader(final InputStream stream, final Charset charset) {
+	this.in = null;
+	this.stream = stream;
+	this.channel = Channels.newChannel(stream);
+	this.bytes = ByteBuffer.allocate(BUF_SIZE);
+	this.bytes.flip();
+	this.decoder = charset.newDecoder()
+	    .onMalformedInput(CodingErrorAction.REPLACE)
+	    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    /**
+     * Reads characters from {@link #in} or from {@link #channel} 
+     * blocking until at least one character is available. 
+     *
+     * @return
+     *    the number of characters read which is positive, 
+     *    or <code>-1</code> if the end of stream is reached. 
+     */
+    private int fill(final char[] cbuf, final int off, final int len) 
+	throws IOException {
+	if (this.in != null) {
+	    return this.in.read(cbuf, off, len);
+	}
+	while (true) {
+	    final int num = convert(cbuf, off, len);
+	    if (num > 0) {
+		return num;
+	    }
+	    if (this.channelEof) {
+		return -1;
+	    }
+	    // read more bytes, keeping an incomplete sequence 
+	    this.bytes.compact();
+	    final int read = this.channel.read(this.bytes);
+	    this.bytes.flip();
+	    if (read == -1) {
+		this.channelEof = true;
+	    }
+	}
+    }
+
+    /**
+     * Converts the bytes in {@link #bytes} into characters: 
+     * a run of ASCII bytes directly 
+     * and a run of other bytes by {@link #decoder}. 
+     *
+     * @return
+     *    the number of characters converted 
+     *    which is <code>0</code> if no bytes are left 
+     *    or only the start of the encoding of a character 
+     *    at the end of the bytes read so far. 
+     */
+    private int convert(final char[] cbuf, final int off, final int len) 
+	throws IOException {
+	final byte[] arr = this.bytes.array();
+	final int start = this.bytes.position();
+	final int end = this.bytes.limit();
+	int idx = start;
+	// fast path for ASCII 
+	final int asciiEnd = Math.min(end, start + len);
+	while (idx < asciiEnd && arr[idx] >= 0) {
+	    cbuf[off + idx - start] = (char) arr[idx];
+	    idx++;
+	}
+	if (idx > start || idx == end) {
+	    this.bytes.position(idx);
+	    return idx - start;
+	}
+	// decode the run of non-ASCII bytes 
+	while (idx < end && arr[idx] < 0) {
+	    idx++;
+	}
+	// a run followed by an ASCII byte is complete: 
+	// a truncated sequence at its end is malformed and replaced 
+	// whereas one at the end of the bytes read may be continued 
+	final boolean complete = idx < end || this.channelEof;
+	this.bytes.limit(idx);
+	final CharBuffer out = CharBuffer.wrap(cbuf, off, len);
+	this.decoder.decode(this.bytes, out, complete);
+	this.bytes.limit(end);
+	if (complete) {
+	    this.decoder.reset();
+	}
+	return out.position() - off;
+    }
+
+    /**
+     * Returns the number of characters buffered. 
+     *
+     * @return
+     *    the number of characters which can be consumed without blocking. 
+     */
+    int available() {
+	return this.lim - this.pos;
+    }
+
+    /**
+     * Returns the character buffered at index <code>idx</code> 
+     * relative to the next character to be consumed. 
+     *
+     * @param idx
+     *    an index less than {@link #available()}. 
+     * @return
+     *    the according character. 
+     */
+    char charAt(final int idx) {
+	return this.buf[this.pos + idx];
+    }
+
+    /**
+     * Reads from the wrapped reader 
+     * until at least <code>num</code> characters are buffered 
+     * or the end of stream is reached. 
+     * This blocks only as long as less than <code>num</code> 
+     * characters are buffered. 
+     *
+     * @param num
+     *    the number of characters to be buffered. 
+     * @return
+     *    whether <code>num</code> characters are buffered, 
+     *    i.e. whether the end of stream was not reached before. 
+     * @throws IOException
+     *    if reading from the wrapped reader fails. 
+     */
+    boolean request(final int num) throws IOException {
+	if (this.lim - this.pos >= num) {
+	    return true;
+	}
+	// keep space for a surrogate pair 
+	if (num >= this.buf.length) {
+	    final char[] newBuf = 
+		new char[Math.max(num + 1, 2 * this.buf.length)];
+	    System.arraycopy(this.buf, this.pos, newBuf, 0, this.lim - this.pos);
+	    this.buf = newBuf;
+	} else {
+	    System.arraycopy(this.buf, this.pos, this.buf, 0, this.lim - this.pos);
+	}
+	this.lim -= this.pos;
+	this.pos = 0;
+	while (this.lim < num) {
+	    final int len = fill(this.buf, this.lim, this.buf.length - this.lim);
+	    if (len == -1) {
+		return false;
+	    }
+	    this.lim += len;
+	}
+	return true;
+    }
+
+    /**
+     * Consumes <code>num</code> characters buffered. 
+     *
+     * @param num
+     *    a number of characters not exceeding {@link #available()}. 
+     */
+    void consume(final int num) {
+	assert num <= this.lim - this.pos;
+	this.pos += num;
+    }
+
+    /**
+     * Consumes characters buffered up to <code>len</code> 
+     * or up to but excluding the next character <code>stop</code> 
+     * and copies them to <code>cbuf</code>. 
+     *
+     * @param cbuf
+     *    the array to copy to. 
+     * @param off
+     *    the index in <code>cbuf</code> of the first character copied. 
+     * @param len
+     *    the maximal number of characters to copy. 
+     * @param stop
+     *    the character not to be consumed. 
+     * @return
+     *    the number of characters copied. 
+     */
+    int copyUntil(final char[] cbuf, final int off, final int len, 
+		  final char stop) {
+	final int end = Math.min(this.lim, this.pos + len);
+	int idx = this.pos;
+	while (idx < end && this.buf[idx] != stop) {
+	    idx++;
+	}
+	final int num = idx - this.pos;
+	System.arraycopy(this.buf, this.pos, cbuf, off, num);
+	this.pos = idx;
+	return num;
+    }
+
+    @Override
+    public int read(final char[] cbuf, final int off, final int len) 
+	throws IOException {
+	if (len == 0) {
+	    return 0;
+	}
+	if (this.lim == this.pos && !request(1)) {
+	    return -1;
+	}
+	final int num = Math.min(len, this.lim - this.pos);
+	System.arraycopy(this.buf, this.pos, cbuf, off, num);
+	this.pos += num;
+	return num;
+    }
+
+    /**
+     * Reads a line terminated by <code>\n</code> or <code>\r\n</code>. 
+     * This is as {@link java.io.BufferedReader#readLine()} 
+     * except that a single <code>\r</code> does not terminate a line. 
+     *
+     * @return
+     *    the line without terminator 
+     *    or <code>null</code> if the end of stream is reached. 
+     * @throws IOException
+     *    if reading from the wrapped reader fails. 
+     */
+    String readLine() throws IOException {
+	final StringBuilder line = new StringBuilder();
+	while (true) {
+	    if (this.lim == this.pos && !request(1)) {
+		return line.length() == 0 ? null : line.toString();
+	    }
+	    final char chr = this.buf[this.pos++];
+	    if (chr == '\n') {
+		final int len = line.length();
+		if (len > 0 && line.charAt(len - 1) == '\r') {
+		    line.setLength(len - 1);
+		}
+		return line.toString();
+	    }
+	    line.append(chr);
+	}
+    }
+
+    @Override
+    public boolean ready() throws IOException {
+	return this.lim > this.pos 
+	    || (this.in == null 
+		? this.bytes.hasRemaining() || this.stream.available() > 0 
+		: this.in.ready());
+    }
+
+    @Override
+    public void close() throws IOException {
+	if (this.in == null) {
+	    this.channel.close();
+	} else {
+	    this.in.close();
+	}
+    }
+
+}
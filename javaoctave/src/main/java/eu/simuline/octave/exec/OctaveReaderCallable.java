@@ -15,9 +15,8 @@
  */
 package eu.simuline.octave.exec;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.Reader;
+import java.util.List;
 import java.util.concurrent.Callable;
 
 import eu.simuline.octave.exception.OctaveIOException;
@@ -27,7 +26,14 @@ import org.apache.commons.logging.LogFactory;
 
 /**
  * Callable that reads from the octave process. 
- * Used in {@link OctaveExec#evalRW(WriteFunctor, ReadFunctor)} only. 
+ * Used in {@link OctaveExec#evalRW(List, List)} only. 
+ * Reads a sequence of frames, each terminated by its spacer, 
+ * and passes the i-th frame to the i-th read functor. 
+ * <p>
+ * The callable is reused for subsequent evaluations 
+ * via {@link #reset(List, long, boolean)} 
+ * and so is the single {@link OctaveExecuteReader} reading the frames 
+ * and the {@link Spacer}s it looks for. 
  */
 final class OctaveReaderCallable implements Callable<Void> {
 
@@ -40,29 +46,115 @@ final class OctaveReaderCallable implements Callable<Void> {
 	.getLog(OctaveReaderCallable.class);
 
 
-    private final BufferedReader processReader;
+    /**
+     * The spacer terminating the current frame. 
+     */
+    private final Spacer spacer;
+
+    /**
+     * The spacer written if the commands are aborted. 
+     * Its sequence number follows the one of the last frame. 
+     */
+    private final Spacer abortSpacer;
+
+    /**
+     * The reader of the current frame 
+     * looking for {@link #spacer} and {@link #abortSpacer}. 
+     */
+    private final OctaveExecuteReader reader;
+
+    private List<ReadFunctor> readFunctors;
 
-    private final ReadFunctor readFunctor;
+    /**
+     * The sequence number of the spacer terminating the first frame. 
+     */
+    private long firstSeq;
+
+    /**
+     * Whether reading ends also if {@link #abortSpacer} is read. 
+     */
+    private boolean abortable;
 
-    private final String spacer;
+    /**
+     * Whether reading was ended by {@link #abortSpacer}. 
+     */
+    private volatile boolean aborted = false;
+
+    /**
+     * Whether {@link #call()} is running. 
+     * As long as this is the case, this callable may not be reset. 
+     */
+    private volatile boolean running = false;
 
     /**
      * @param processReader
-     * @param readFunctor
-     * @param spacer
+     * @param token
+     *    the token of the spacers. 
+     */
+    OctaveReaderCallable(final OctaveProcessReader processReader, 
+			 final long token) {
+        this.spacer      = new Spacer(token);
+        this.abortSpacer = new Spacer(token);
+        this.reader = new OctaveExecuteReader(processReader, 
+					      this.spacer, 
+					      false, 
+					      this.abortSpacer);
+    }
+
+    /**
+     * Resets this callable to read the given frames. 
+     * If <code>abortable</code>, reading ends also 
+     * if the spacer with the sequence number following the last frame 
+     * is read. 
+     * Then the remaining frames are skipped 
+     * and {@link #isAborted()} returns true. 
+     *
+     * @param readFunctors
+     *    the read functors, one for each frame. 
+     * @param firstSeq
+     *    the sequence number of the spacer terminating the first frame. 
+     *    The following frames are terminated by the following numbers. 
+     * @param abortable
+     *    whether the commands can be aborted. 
+     */
+    void reset(final List<ReadFunctor> readFunctors, 
+	       final long firstSeq, 
+	       final boolean abortable) {
+	assert !this.running;
+        this.readFunctors = readFunctors;
+        this.firstSeq     = firstSeq;
+        this.abortable    = abortable;
+        this.aborted      = false;
+	this.abortSpacer.setSeq(firstSeq + readFunctors.size());
+    }
+
+    /**
+     * Returns whether reading was ended by the abort spacer. 
+     *
+     * @return
+     *    whether the abort spacer was read. 
      */
-    OctaveReaderCallable(final BufferedReader processReader, 
-			 final ReadFunctor readFunctor, 
-			 final String spacer) {
-        this.processReader = processReader;
-        this.readFunctor   = readFunctor;
-        this.spacer        = spacer;
+    boolean isAborted() {
+        return this.aborted;
     }
 
     /**
-     * Calling reads from an {@link OctaveExecuteReader} 
-     * made up from {@link #processReader} 
-     * with end of stream sign {@link #spacer}. 
+     * Returns whether {@link #call()} is running. 
+     *
+     * @return
+     *    whether this callable is still reading. 
+     */
+    boolean isRunning() {
+	return this.running;
+    }
+
+    /**
+     * Calling reads the frames from {@link #reader} 
+     * with end of stream signs given by {@link #spacer}. 
+     * If a read functor fails, the remaining frames are skipped 
+     * to keep the stream in sync with the spacers 
+     * and then the exception is rethrown. 
+     * If {@link #abortSpacer} is read, the remaining frames are skipped. 
      * Exceptions are logged on {@link #LOG}. 
      *
      * @throws OctaveIOException 
@@ -71,22 +163,44 @@ final class OctaveReaderCallable implements Callable<Void> {
      */
     @Override
     public Void call() {
-        final Reader reader = new OctaveExecuteReader(this.processReader, 
-						      this.spacer);
-        try {
-            this.readFunctor.doReads(reader);
-        } catch (final IOException e) {
-	    LOG.debug(MSG_IOE_READ, e);
-            throw new OctaveIOException(MSG_IOE_READ, e);
-        } finally { // NOPMD
-            try {
-                reader.close();
-            } catch (final IOException e) {
-                LOG.debug(MSG_IOE_CLS, e);
-                throw new OctaveIOException(MSG_IOE_CLS, e);
-            }
-        }
+	this.running = true;
+	try {
+	    readFrames();
+	} finally {
+	    this.running = false;
+	}
         return null;
     }
 
+    private void readFrames() {
+	final int num = this.readFunctors.size();
+	RuntimeException exc = null;
+	for (int idx = 0; idx < num && !this.aborted; idx++) {
+	    this.spacer.setSeq(this.firstSeq + idx);
+	    this.reader.reset(idx == num - 1, this.abortable);
+	    try {
+		if (exc == null) {
+		    this.readFunctors.get(idx).doReads(this.reader);
+		}
+	    } catch (final IOException e) {
+		LOG.debug(MSG_IOE_READ, e);
+		throw new OctaveIOException(MSG_IOE_READ, e);
+	    } catch (final RuntimeException e) { // NOPMD
+		// skip the remaining frames before rethrowing 
+		exc = e;
+	    } finally { // NOPMD
+		try {
+		    this.reader.close();
+		    this.aborted = this.reader.isAborted();
+		} catch (final IOException e) {
+		    LOG.debug(MSG_IOE_CLS, e);
+		    throw new OctaveIOException(MSG_IOE_CLS, e);
+		}
+	    }
+	}
+	if (exc != null) {
+	    throw exc;
+	}
+    }
+
 }
@@ -17,6 +17,7 @@ package eu.simuline.octave.exec;
 
 import java.io.IOException;
 import java.io.Writer;
+import java.util.List;
 import java.util.concurrent.Callable;
 
 import eu.simuline.octave.exception.OctaveIOException;
@@ -26,7 +27,14 @@ import org.apache.commons.logging.LogFactory;
 
 /**
  * Callable that writes to the octave process. 
- * Used in {@link OctaveExec#evalRW(WriteFunctor, ReadFunctor)} only. 
+ * Used in {@link OctaveExec#evalRW(List, List)} only. 
+ * Writes a sequence of frames back-to-back, 
+ * each given by a write functor followed by printing its spacer. 
+ * <p>
+ * The callable is reused for subsequent evaluations 
+ * via {@link #reset(List, long)}: 
+ * The spacers are given by consecutive sequence numbers 
+ * and are formatted into the buffer of a single {@link Spacer}. 
  */
 final class OctaveWriterCallable implements Callable<Void> {
 
@@ -42,48 +50,101 @@ final class OctaveWriterCallable implements Callable<Void> {
 
     private final Writer processWriter;
 
-    private final WriteFunctor writeFunctor;
+    /**
+     * The spacer terminating the current frame. 
+     */
+    private final Spacer spacer;
 
-    private final String spacer;
+    private List<WriteFunctor> writeFunctors;
+
+    /**
+     * The sequence number of the spacer terminating the first frame. 
+     */
+    private long firstSeq;
+
+    /**
+     * Whether {@link #call()} is running. 
+     * As long as this is the case, this callable may not be reset. 
+     */
+    private volatile boolean running = false;
 
     /**
      * @param processWriter
-     * @param writeFunctor
-     * @param spacer
+     * @param token
+     *    the token of the spacers. 
      */
-    OctaveWriterCallable(final Writer processWriter, 
-			 final WriteFunctor writeFunctor, 
-			 final String spacer) {
+    OctaveWriterCallable(final Writer processWriter, final long token) {
         this.processWriter = processWriter;
-        this.writeFunctor  = writeFunctor;
-        this.spacer        = spacer;
+        this.spacer        = new Spacer(token);
+    }
+
+    /**
+     * Resets this callable to write the given frames. 
+     *
+     * @param writeFunctors
+     *    the write functors, one for each frame. 
+     * @param firstSeq
+     *    the sequence number of the spacer terminating the first frame. 
+     *    The following frames are terminated by the following numbers. 
+     */
+    void reset(final List<WriteFunctor> writeFunctors, final long firstSeq) {
+	assert !this.running;
+        this.writeFunctors = writeFunctors;
+        this.firstSeq      = firstSeq;
+    }
+
+    /**
+     * Returns whether {@link #call()} is running. 
+     *
+     * @return
+     *    whether this callable is still writing. 
+     */
+    boolean isRunning() {
+	return this.running;
     }
 
     /**
      * Calling writes to {@link #processWriter}: 
-     * first according to {@link #writeFunctor} 
-     * then printf of {@link #spacer} and then flush. 
+     * for each frame first according to its entry in {@link #writeFunctors} 
+     * then printf of its spacer. 
+     * Flush takes place after the last frame only. 
      * Exceptions are logged on {@link #LOG}. 
      */
     @Override
     public Void call() {
-        // Write to process
-        try {
-	    this.writeFunctor.doWrites(this.processWriter);
-        } catch (final IOException e) {
-            LOG.debug(EXCEPTION_MESSAGE_FUNCTOR, e);
-            throw new OctaveIOException(EXCEPTION_MESSAGE_FUNCTOR, e);
-        }
+	this.running = true;
+	try {
+	    writeFrames();
+	} finally {
+	    this.running = false;
+	}
+        LOG.debug("Has written all");
+        return null;
+    }
+
+    private void writeFrames() {
+	for (int idx = 0; idx < this.writeFunctors.size(); idx++) {
+	    // Write to process
+	    try {
+		this.writeFunctors.get(idx).doWrites(this.processWriter);
+	    } catch (final IOException e) {
+		LOG.debug(EXCEPTION_MESSAGE_FUNCTOR, e);
+		throw new OctaveIOException(EXCEPTION_MESSAGE_FUNCTOR, e);
+	    }
+	    try {
+		this.spacer.setSeq(this.firstSeq + idx);
+		this.spacer.writeCommand(this.processWriter);
+	    } catch (final IOException e) {
+		LOG.debug(EXCEPTION_MESSAGE_SPACER, e);
+		throw new OctaveIOException(EXCEPTION_MESSAGE_SPACER, e);
+	    }
+	}
         try {
-	    this.processWriter.write("\nprintf(\"\\n%s\\n\", \"" + 
-				     this.spacer + "\");\n");
             this.processWriter.flush();
         } catch (final IOException e) {
             LOG.debug(EXCEPTION_MESSAGE_SPACER, e);
             throw new OctaveIOException(EXCEPTION_MESSAGE_SPACER, e);
         }
-        LOG.debug("Has written all");
-        return null;
     }
 
 }
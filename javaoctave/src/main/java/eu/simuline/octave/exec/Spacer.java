@@ -0,0 +1,150 @@
+/*
+ * Copyright 2026 Simuline Organization (l2r)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.simuline.octave.exec;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * A spacer, i.e. a line printed by octave to mark the end of a frame, 
+ * made up of a token fixed for an octave process and a sequence number. 
+ * The spacer is formatted into a buffer 
+ * together with the octave command printing it, 
+ * so that setting the sequence number via {@link #setSeq(long)}, 
+ * writing the command via {@link #writeCommand(Writer)} 
+ * and comparing the spacer as a {@link CharSequence} 
+ * allocate nothing. 
+ * <p> 
+ * Since the spacer is mutable, 
+ * each thread uses spacer objects of its own. 
+ */
+final class Spacer implements CharSequence {
+
+    /**
+     * The start of the command printing the spacer. 
+     */
+    private static final String CMD_START = "\nprintf(\"\\n%s\\n\", \"";
+
+    /**
+     * The end of the command printing the spacer. 
+     */
+    private static final String CMD_END = "\");\n";
+
+    /**
+     * The end of the spacer. 
+     */
+    private static final String SUFFIX = " -=+X+=-";
+
+    /**
+     * The maximal number of digits of a non-negative long. 
+     */
+    @SuppressWarnings("checkstyle:magicnumber")
+    private static final int MAX_DIGITS = 19;
+
+    /**
+     * The command printing the spacer 
+     * which starts at index {@link #CMD_START}'s length. 
+     * This is followed by unused characters. 
+     */
+    private final char[] cmd;
+
+    /**
+     * The index in {@link #cmd} where the sequence number starts. 
+     */
+    private final int seqStart;
+
+    /**
+     * The length of the spacer. 
+     */
+    private int length;
+
+    /**
+     * Creates a spacer with token <code>token</code> 
+     * and sequence number <code>0</code>. 
+     *
+     * @param token
+     *    the token which shall be random 
+     *    so that the output of a script does not accidentally contain it. 
+     */
+    Spacer(final long token) {
+	final String prefix = CMD_START + "-=+X+=- Octave.java spacer " 
+	    + Long.toHexString(token) + " ";
+	this.seqStart = prefix.length();
+	this.cmd = new char[this.seqStart + MAX_DIGITS 
+			    + SUFFIX.length() + CMD_END.length()];
+	prefix.getChars(0, this.seqStart, this.cmd, 0);
+	setSeq(0);
+    }
+
+    /**
+     * Sets the sequence number. 
+     *
+     * @param seq
+     *    the sequence number which shall not be negative. 
+     */
+    void setSeq(final long seq) {
+	assert seq >= 0;
+	int numDigits = 1;
+	for (long rest = seq / 10; rest > 0; rest /= 10) {
+	    numDigits++;
+	}
+	long rest = seq;
+	for (int idx = this.seqStart + numDigits - 1; 
+	     idx >= this.seqStart; idx--) {
+	    this.cmd[idx] = (char) ('0' + rest % 10);
+	    rest /= 10;
+	}
+	final int end = this.seqStart + numDigits;
+	SUFFIX.getChars(0, SUFFIX.length(), this.cmd, end);
+	CMD_END.getChars(0, CMD_END.length(), 
+			 this.cmd, end + SUFFIX.length());
+	this.length = end + SUFFIX.length() - CMD_START.length();
+    }
+
+    /**
+     * Writes the octave command printing this spacer on a line of its own. 
+     *
+     * @param writer
+     *    the writer to the octave process. 
+     * @throws IOException
+     *    if writing fails. 
+     */
+    void writeCommand(final Writer writer) throws IOException {
+	writer.write(this.cmd, 0, 
+		     CMD_START.length() + this.length + CMD_END.length());
+    }
+
+    @Override
+    public int length() {
+	return this.length;
+    }
+
+    @Override
+    public char charAt(final int index) {
+	return this.cmd[CMD_START.length() + index];
+    }
+
+    @Override
+    public CharSequence subSequence(final int start, final int end) {
+	return toString().subSequence(start, end);
+    }
+
+    @Override
+    public String toString() {
+	return new String(this.cmd, CMD_START.length(), this.length);
+    }
+
+}
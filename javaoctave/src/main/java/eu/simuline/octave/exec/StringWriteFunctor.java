@@ -0,0 +1,55 @@
+/*
+ * Copyright 2026 Simuline Organization (l2r)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.simuline.octave.exec;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes a given string to the writer. 
+ * In contrast to a {@link ReaderWriteFunctor}, 
+ * the size of what is written is known in advance via {@link #length()}. 
+ * This allows {@link OctaveExec} to write small scripts 
+ * on the calling thread. 
+ */
+public final class StringWriteFunctor implements WriteFunctor {
+
+    private final String script;
+
+    /**
+     * @param script
+     *    the script to be written. 
+     */
+    public StringWriteFunctor(final String script) {
+	this.script = script;
+    }
+
+    /**
+     * Returns the number of characters written by {@link #doWrites(Writer)}. 
+     *
+     * @return 
+     *    the length of the script to be written. 
+     */
+    public int length() {
+	return this.script.length();
+    }
+
+    @Override
+    public void doWrites(final Writer writer) throws IOException {
+	writer.write(this.script);
+    }
+
+}
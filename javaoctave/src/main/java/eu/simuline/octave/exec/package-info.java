@@ -21,6 +21,9 @@
  * Class {@link eu.simuline.octave.exec.OctaveExecuteReader} 
  * reads the output of the octave process, 
  * with end of stream given by a "spacer". 
+ * It looks for spacers directly in the buffer of 
+ * {@link eu.simuline.octave.exec.OctaveProcessReader} 
+ * reading the output of the process. 
  * <p>
  * The basic interfaces are {@link eu.simuline.octave.exec.ReadFunctor} 
  * and {@link eu.simuline.octave.exec.WriteFunctor} 
@@ -28,7 +31,10 @@
  * The sole implementations <em>in this package</em> are 
  * {@link eu.simuline.octave.exec.ReaderWriteFunctor} 
  * which is a WriteFunctor writing to a writer 
- * what is read from a wrapped reader 
+ * what is read from a wrapped reader, 
+ * {@link eu.simuline.octave.exec.StringWriteFunctor} 
+ * which is a WriteFunctor writing a given string, 
+ * small ones being written on the calling thread, 
  * and {@link eu.simuline.octave.exec.WriterReadFunctor} 
  * which is a ReadFunctor reading from a reader 
  * and writing to a wrapped writer. 
@@ -42,10 +48,12 @@
  * The classes 
  * {@link eu.simuline.octave.exec.OctaveWriterCallable} and 
  * {@link eu.simuline.octave.exec.OctaveReaderCallable} are required in 
- * {@link eu.simuline.octave.exec.OctaveExec#evalRW(WriteFunctor, ReadFunctor)} 
+ * {@link eu.simuline.octave.exec.OctaveExec#evalRW(java.util.List, java.util.List)} 
  * only. 
- * The first one writes a command to octave, 
- * whereas the second one reads the result back. 
+ * The first one writes a sequence of commands to octave, 
+ * each followed by a spacer, 
+ * whereas the second one reads the results back frame by frame. 
+ * This allows pipelining several commands in a single round trip. 
  */
 package eu.simuline.octave.exec;
 
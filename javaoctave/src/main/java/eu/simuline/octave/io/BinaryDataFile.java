@@ -0,0 +1,238 @@
+/*
+ * Copyright 2026 Simuline Organization (l2r)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.simuline.octave.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import eu.simuline.octave.exception.OctaveIOException;
+import eu.simuline.octave.exception.OctaveParseException;
+import eu.simuline.octave.io.spi.OctaveBinaryReader;
+import eu.simuline.octave.io.spi.OctaveBinaryWriter;
+import eu.simuline.octave.type.OctaveObject;
+
+/**
+ * Reads and writes files in the <code>-binary</code> format of octave 
+ * via {@link OctaveBinaryReader}s and {@link OctaveBinaryWriter}s. 
+ * The files are memory mapped, 
+ * so the data are copied only once from and into the arrays 
+ * of the {@link OctaveObject}s. 
+ * Files are written in the native byte order; 
+ * octave reads both byte orders. 
+ * <p> 
+ * The format is a header followed by the variables, 
+ * each given by its name, its documentation string, 
+ * whether it is global, its octave type 
+ * and the data written by an {@link OctaveBinaryWriter}. 
+ * Only the format introduced with octave 2.1 is supported 
+ * which is the one written by all versions of octave in use. 
+ */
+final class BinaryDataFile {
+
+    /**
+     * The start of the header followed by <code>L</code> or <code>B</code> 
+     * for little and big endian, respectively, 
+     * and by a byte signifying the floating point format. 
+     */
+    private static final String MAGIC = "Octave-1-";
+
+    /**
+     * The length of the header. 
+     */
+    private static final int HEADER_LEN = MAGIC.length() + 2;
+
+    /**
+     * The floating point formats of octave as written into the header: 
+     * IEEE little and big endian. 
+     */
+    private static final byte FLT_FMT_IEEE_LE = 0;
+    private static final byte FLT_FMT_IEEE_BE = 1;
+
+    /**
+     * The byte preceding the type of a variable 
+     * which marks the format introduced with octave 2.1. 
+     */
+    private static final byte NEW_FORMAT = (byte) 255;
+
+    private static final Charset ASCII = Charset.forName("US-ASCII");
+
+    private BinaryDataFile() {
+    }
+
+    /**
+     * Returns whether <code>value</code> can be written to a binary file, 
+     * i.e. whether there is an {@link OctaveBinaryWriter} for it. 
+     *
+     * @param value
+     *    a value to be written 
+     * @return
+     *    whether <code>value</code> can be written 
+     *    by {@link #write(File, Map)}. 
+     */
+    static boolean isWritable(final OctaveObject value) {
+	return OctaveBinaryWriter.getOctaveBinaryWriter(value) != null;
+    }
+
+    /**
+     * Writes the variables given by <code>values</code> to <code>file</code>. 
+     *
+     * @param file
+     *    the file to be written, overwriting its content. 
+     * @param values
+     *    a map from variable names to values 
+     *    each of which is {@link #isWritable(OctaveObject)}. 
+     * @throws OctaveIOException
+     *    if writing fails or the file would exceed 2 GB. 
+     */
+    static void write(final File file, final Map<String, OctaveObject> values) {
+	long size = HEADER_LEN;
+	for (Map.Entry<String, OctaveObject> entry : values.entrySet()) {
+	    size += varSize(entry.getKey(), entry.getValue());
+	}
+	if (size > Integer.MAX_VALUE) {
+	    throw new OctaveIOException
+		("Binary data of " + size + " bytes exceed 2 GB. ");
+	}
+	try (RandomAccessFile raf = new RandomAccessFile(file, "rw");
+	     FileChannel channel = raf.getChannel()) {
+	    raf.setLength(size);
+	    final MappedByteBuffer buf = channel
+		.map(FileChannel.MapMode.READ_WRITE, 0, size);
+	    buf.order(ByteOrder.nativeOrder());
+	    final boolean little = buf.order() == ByteOrder.LITTLE_ENDIAN;
+	    buf.put((MAGIC + (little ? 'L' : 'B')).getBytes(ASCII));
+	    buf.put(little ? FLT_FMT_IEEE_LE : FLT_FMT_IEEE_BE);
+	    for (Map.Entry<String, OctaveObject> entry : values.entrySet()) {
+		writeVar(buf, entry.getKey(), entry.getValue());
+	    }
+	    assert !buf.hasRemaining();
+	} catch (final IOException e) {
+	    throw new OctaveIOException(e);
+	}
+    }
+
+    private static <T extends OctaveObject> long varSize(final String name, 
+							  final T value) {
+	final OctaveBinaryWriter<T> writer = 
+	    OctaveBinaryWriter.getOctaveBinaryWriter(value);
+	// name, empty doc, global flag, format, type and data 
+	return Integer.BYTES + name.length() + Integer.BYTES + 2 
+	    + Integer.BYTES + writer.octaveType().length() 
+	    + writer.byteSize(value);
+    }
+
+    private static <T extends OctaveObject> void writeVar(final ByteBuffer buf, 
+							   final String name, 
+							   final T value) {
+	final OctaveBinaryWriter<T> writer = 
+	    OctaveBinaryWriter.getOctaveBinaryWriter(value);
+	putString(buf, name);
+	putString(buf, "");
+	buf.put((byte) 0);
+	buf.put(NEW_FORMAT);
+	putString(buf, writer.octaveType());
+	writer.write(buf, value);
+    }
+
+    private static void putString(final ByteBuffer buf, final String str) {
+	final byte[] bytes = str.getBytes(ASCII);
+	buf.putInt(bytes.length);
+	buf.put(bytes);
+    }
+
+    /**
+     * Reads the variables in <code>file</code>. 
+     *
+     * @param file
+     *    a file in the <code>-binary</code> format of octave. 
+     * @return
+     *    a map from the variable names to their values 
+     *    or <code>null</code> if there is a variable of an octave type 
+     *    without {@link OctaveBinaryReader}. 
+     * @throws OctaveIOException
+     *    if reading fails. 
+     * @throws OctaveParseException
+     *    if the file is not in the expected format. 
+     */
+    static Map<String, OctaveObject> read(final File file) {
+	try (RandomAccessFile raf = new RandomAccessFile(file, "r");
+	     FileChannel channel = raf.getChannel()) {
+	    final MappedByteBuffer buf = channel
+		.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+	    return read(buf);
+	} catch (final IOException e) {
+	    throw new OctaveIOException(e);
+	}
+    }
+
+    private static Map<String, OctaveObject> read(final ByteBuffer buf) {
+	final byte[] magic = new byte[MAGIC.length() + 1];
+	if (buf.remaining() < HEADER_LEN) {
+	    throw new OctaveParseException("Binary data without header. ");
+	}
+	buf.get(magic);
+	final String header = new String(magic, ASCII);
+	if (header.equals(MAGIC + 'L')) {
+	    buf.order(ByteOrder.LITTLE_ENDIAN);
+	} else if (header.equals(MAGIC + 'B')) {
+	    buf.order(ByteOrder.BIG_ENDIAN);
+	} else {
+	    throw new OctaveParseException
+		("Expected binary data from octave but found header '" 
+		 + header + "'. ");
+	}
+	final byte fltFmt = buf.get();
+	if (fltFmt != FLT_FMT_IEEE_LE && fltFmt != FLT_FMT_IEEE_BE) {
+	    throw new OctaveParseException
+		("Unsupported floating point format " + fltFmt + ". ");
+	}
+
+	final Map<String, OctaveObject> res = 
+	    new LinkedHashMap<String, OctaveObject>();
+	while (buf.hasRemaining()) {
+	    final String name = getString(buf);
+	    getString(buf); // doc 
+	    buf.get();      // global 
+	    if (buf.get() != NEW_FORMAT) {
+		throw new OctaveParseException
+		    ("Variable '" + name + "' in outdated binary format. ");
+	    }
+	    final String type = getString(buf);
+	    final OctaveBinaryReader reader = 
+		OctaveBinaryReader.getOctaveBinaryReader(type);
+	    if (reader == null) {
+		return null;
+	    }
+	    res.put(name, reader.read(buf));
+	}
+	return res;
+    }
+
+    private static String getString(final ByteBuffer buf) {
+	final byte[] bytes = new byte[buf.getInt()];
+	buf.get(bytes);
+	return new String(bytes, ASCII);
+    }
+
+}
@@ -18,69 +18,227 @@ package eu.simuline.octave.io;
 import static eu.simuline.octave.io.OctaveIO.readerReadLine;
 
 import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.Reader;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
+import eu.simuline.octave.exception.OctaveIOException;
 import eu.simuline.octave.exception.OctaveParseException;
 import eu.simuline.octave.exec.ReadFunctor;
 import eu.simuline.octave.type.OctaveObject;
 
 /**
- * Functor that reads a single variable named {@link #name} 
+ * Functor that reads the variables named {@link #names} 
  * into {@link #data} via {@link #doReads(Reader)}. 
+ * If instead of the variables the line {@link #MISSING} is read, 
+ * none of the variables exists and {@link #data} is empty. 
+ * If the line {@link #BINARY} is read, 
+ * the variables have been saved to a file in binary format instead 
+ * and {@link #isBinary()} returns true. 
+ * Likewise, if a line starting with {@link #MAPPED} is read, 
+ * the raw data of a matrix have been written to a file 
+ * and {@link #getMappedDims()} returns its dimensions. 
  */
-// ER: Very strange: whereas this read functor reads a single variable only 
-// the according write functor writes a map: 
-// see OctaveIO 
 final class DataReadFunctor implements ReadFunctor {
 
     /**
-     * The name of the variable to be read. 
+     * The line printed by octave instead of the output of <code>save</code> 
+     * if none of the variables to be read exists. 
+     * This cannot be confused with the first line of the output of save. 
      */
-    private final String name;
+    static final String MISSING = "# javaoctave: no such variable";
 
     /**
-     * After {@link #doReads(Reader)} returns, this contains the read data. 
+     * The line printed by octave instead of the output of <code>save</code> 
+     * if the variables have been saved to a file in binary format. 
+     * This cannot be confused with the first line of the output of save. 
      */
-    private OctaveObject data;
+    static final String BINARY = "# javaoctave: binary";
+
+    /**
+     * The start of the line printed by octave 
+     * instead of the output of <code>save</code> 
+     * if the raw data of a matrix have been written to a file. 
+     * The line continues with the dimensions of the matrix. 
+     */
+    static final String MAPPED = "# javaoctave: mapped";
+
+    /**
+     * The maximal length of a line 
+     * between the values of two variables in the output of save. 
+     * Used to mark and reset to the beginning of a line. 
+     */
+    private static final int MAX_SEP_LINE_LEN = 1024;
+
+    /**
+     * The names of the variables to be read. 
+     */
+    private final Set<String> names;
+
+    /**
+     * After {@link #doReads(Reader)} returns, 
+     * this maps the names of the variables read to their values. 
+     * Variables which do not exist are missing. 
+     */
+    private final Map<String, OctaveObject> data;
+
+    /**
+     * Whether {@link #BINARY} has been read. 
+     */
+    private boolean binary = false;
+
+    /**
+     * The dimensions following {@link #MAPPED} 
+     * or <code>null</code> if this has not been read. 
+     */
+    private int[] mappedDims = null;
 
     /**
      * @param name
+     *    the name of the single variable to be read. 
      */
     DataReadFunctor(final String name) {
-        this.name = name;
+        this(Collections.singleton(name));
+    }
+
+    /**
+     * @param names
+     *    the names of the variables to be read. 
+     */
+    DataReadFunctor(final Set<String> names) {
+        this.names = names;
+        this.data = new HashMap<String, OctaveObject>();
     }
 
     /**
+     * Reads the output of save, 
+     * i.e. after a header a sequence of variables 
+     * each given by {@link OctaveIO#readWithName(BufferedReader)}, 
+     * separated by blank lines, 
+     * or {@link #MISSING} if no variable exists 
+     * or {@link #BINARY} if the variables are saved in binary format 
+     * or {@link #MAPPED} if the raw data of a matrix are written to a file. 
+     * Reading stops when all variables in {@link #names} are read; 
+     * the rest of the output is left to the caller. 
+     *
      * @param reader
+     * @throws OctaveParseException
+     *    if the output is not as expected 
+     *    or contains a variable not in {@link #names}. 
      */
     @Override
     public void doReads(final Reader reader) {
         final BufferedReader bufferedReader = new BufferedReader(reader);
         final String createByOctaveLine = readerReadLine(bufferedReader);
+        if (MISSING.equals(createByOctaveLine)) {
+            return;
+        }
+        if (BINARY.equals(createByOctaveLine)) {
+            this.binary = true;
+            return;
+        }
+        if (createByOctaveLine != null 
+	    && createByOctaveLine.startsWith(MAPPED)) {
+	    final String[] dims = createByOctaveLine
+		.substring(MAPPED.length()).trim().split(" +");
+	    this.mappedDims = new int[dims.length];
+	    try {
+		for (int idx = 0; idx < dims.length; idx++) {
+		    this.mappedDims[idx] = Integer.parseInt(dims[idx]);
+		}
+	    } catch (final NumberFormatException e) {
+		throw new OctaveParseException
+		    ("Expected dimensions but found '" + createByOctaveLine + 
+		     "'. ", e);
+	    }
+            return;
+        }
         if (createByOctaveLine == null || 
 	    !createByOctaveLine.startsWith("# Created by Octave")) {
             throw new OctaveParseException
 		("Not created by Octave?: '" + createByOctaveLine + "'");
         }
-        final Map<String, OctaveObject> map = 
-	    OctaveIO.readWithName(bufferedReader);
-        if (map.size() != 1) {
+	String line;
+	do {
+	    try {
+		bufferedReader.mark(MAX_SEP_LINE_LEN);
+	    } catch (final IOException e) {
+		throw new OctaveIOException(e);
+	    }
+	    line = readerReadLine(bufferedReader);
+	    if (line == null || line.isEmpty()) {
+		continue;
+	    }
+	    try {
+		bufferedReader.reset();
+	    } catch (final IOException e) {
+		throw new OctaveIOException(e);
+	    }
+	    final Map<String, OctaveObject> map = 
+		OctaveIO.readWithName(bufferedReader);
+	    assert map.size() == 1;
+	    final String name = map.keySet().iterator().next();
+	    if (!this.names.contains(name) || this.data.containsKey(name)) {
+		throw new OctaveParseException
+		    ("Expected variables named " + this.names + 
+		     " but got '" + name + "' in addition to " + 
+		     this.data.keySet() + ". ");
+	    }
+	    this.data.putAll(map);
+	} while (line != null && this.data.size() < this.names.size());
+	if (this.data.isEmpty()) {
             throw new OctaveParseException
-		("Expected map of size 1 but got " + map + "'");
-        }
-        if (!map.containsKey(this.name)) {
-            throw new OctaveParseException
-		("Expected variable named '" + this.name + 
-		 "' but got '" + map + "'");
-        }
-        this.data = map.get(this.name);
+		("Expected variables named " + this.names + 
+		 " but got none. ");
+	}
+    }
+
+    /**
+     * Returns whether the variables have been saved in binary format 
+     * instead of being read. 
+     *
+     * @return 
+     *    whether {@link #BINARY} has been read. 
+     */
+    public boolean isBinary() {
+        return this.binary;
+    }
+
+    /**
+     * Returns the dimensions of the matrix 
+     * the raw data of which have been written to a file 
+     * instead of being read. 
+     *
+     * @return 
+     *    the dimensions following {@link #MAPPED} 
+     *    or <code>null</code> if this has not been read. 
+     */
+    public int[] getMappedDims() {
+        return this.mappedDims;
     }
 
     /**
-     * @return the data
+     * Returns the value of the single variable read. 
+     * This is for reading a single variable only. 
+     *
+     * @return 
+     *    the data or <code>null</code> if the variable does not exist. 
      */
     public OctaveObject getData() {
+        assert this.names.size() == 1;
+        return this.data.get(this.names.iterator().next());
+    }
+
+    /**
+     * Returns the values of the variables read. 
+     *
+     * @return 
+     *    a map from the names of the existing variables to their values. 
+     */
+    public Map<String, OctaveObject> getDataMap() {
         return this.data;
     }
 
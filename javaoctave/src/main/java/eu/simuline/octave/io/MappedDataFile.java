@@ -0,0 +1,136 @@
+/*
+ * Copyright 2026 Simuline Organization (l2r)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.simuline.octave.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.Collection;
+
+import eu.simuline.octave.exception.OctaveIOException;
+import eu.simuline.octave.type.OctaveDouble;
+
+/**
+ * Reads and writes the raw data of {@link OctaveDouble}s, 
+ * i.e. the doubles in column major order in native byte order 
+ * without any header, from and to memory mapped files. 
+ * Octave reads and writes them by <code>fread</code> and <code>fwrite</code> 
+ * with precision <code>double</code> and architecture {@link #ARCH}. 
+ * If the file is in a directory in shared memory, 
+ * e.g. <code>/dev/shm</code>, 
+ * data are transferred at memory bandwidth. 
+ * <p> 
+ * Since a mapping is restricted to 2 GB, 
+ * files are mapped in chunks of {@link #CHUNK_LEN} doubles. 
+ */
+final class MappedDataFile {
+
+    /**
+     * The architecture of the data 
+     * as given to <code>fread</code> and <code>fwrite</code> in octave. 
+     */
+    static final String ARCH = 
+	ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN 
+	? "ieee-le" 
+	: "ieee-be";
+
+    /**
+     * The number of doubles mapped at once. 
+     */
+    private static final int CHUNK_LEN = 1 << 27;
+
+    private MappedDataFile() {
+    }
+
+    /**
+     * Writes the data of <code>values</code> to <code>file</code> 
+     * one after another. 
+     *
+     * @param file
+     *    the file to be written, overwriting its content. 
+     * @param values
+     *    the values to be written. 
+     * @throws OctaveIOException
+     *    if writing fails. 
+     */
+    static void write(final File file, final Collection<OctaveDouble> values) {
+	long size = 0;
+	for (OctaveDouble value : values) {
+	    size += (long) Double.BYTES * value.dataSize();
+	}
+	try (RandomAccessFile raf = new RandomAccessFile(file, "rw");
+	     FileChannel channel = raf.getChannel()) {
+	    raf.setLength(size);
+	    long pos = 0;
+	    for (OctaveDouble value : values) {
+		final double[] data = value.getData();
+		final int len = value.dataSize();
+		// the mapping is shared, so octave sees the data without force() 
+		for (int off = 0; off < len; off += CHUNK_LEN) {
+		    final int num = Math.min(CHUNK_LEN, len - off);
+		    channel.map(FileChannel.MapMode.READ_WRITE, 
+				pos, (long) Double.BYTES * num)
+			.order(ByteOrder.nativeOrder())
+			.asDoubleBuffer().put(data, off, num);
+		    pos += (long) Double.BYTES * num;
+		}
+	    }
+	} catch (final IOException e) {
+	    throw new OctaveIOException(e);
+	}
+    }
+
+    /**
+     * Reads the data of an {@link OctaveDouble} from <code>file</code>. 
+     *
+     * @param file
+     *    the file written by octave. 
+     * @param dims
+     *    the dimensions of the value. 
+     * @return
+     *    the value read. 
+     * @throws OctaveIOException
+     *    if reading fails or the file is too short. 
+     */
+    static OctaveDouble read(final File file, final int[] dims) {
+	int len = 1;
+	for (int dim : dims) {
+	    len = Math.multiplyExact(len, dim);
+	}
+	final double[] data = new double[len];
+	try (RandomAccessFile raf = new RandomAccessFile(file, "r");
+	     FileChannel channel = raf.getChannel()) {
+	    if (channel.size() < (long) Double.BYTES * len) {
+		throw new OctaveIOException
+		    ("Expected " + len + " doubles but found " + 
+		     channel.size() + " bytes. ");
+	    }
+	    for (int off = 0; off < len; off += CHUNK_LEN) {
+		final int num = Math.min(CHUNK_LEN, len - off);
+		channel.map(FileChannel.MapMode.READ_ONLY, 
+			    (long) Double.BYTES * off, (long) Double.BYTES * num)
+		    .order(ByteOrder.nativeOrder())
+		    .asDoubleBuffer().get(data, off, num);
+	    }
+	} catch (final IOException e) {
+	    throw new OctaveIOException(e);
+	}
+	return new OctaveDouble(data, dims);
+    }
+
+}
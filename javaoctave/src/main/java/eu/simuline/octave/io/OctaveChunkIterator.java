@@ -0,0 +1,214 @@
+/*
+ * Copyright 2026 Simuline Organization (l2r)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.simuline.octave.io;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import eu.simuline.octave.exception.OctaveIOException;
+
+/**
+ * Iterates over the data of a variable in octave 
+ * in chunks of a fixed number of entries in column major order 
+ * as returned by {@link OctaveIO#getChunks(String, int)}. 
+ * Each invocation of {@link #next()} transfers one chunk 
+ * through a temporary file into a buffer which is reused, 
+ * so at most one chunk is held in memory at a time. 
+ * The temporary file is deleted 
+ * if the iteration is complete or if this iterator is closed. 
+ */
+public final class OctaveChunkIterator 
+    implements Iterator<DoubleBuffer>, Closeable {
+
+    private final OctaveIO octaveIO;
+
+    /**
+     * The name of the variable iterated over. 
+     */
+    private final String name;
+
+    /**
+     * The dimensions of the variable iterated over. 
+     */
+    private final int[] dims;
+
+    /**
+     * The number of entries of the variable iterated over. 
+     */
+    private final long numel;
+
+    /**
+     * The number of entries of a chunk except for the last one. 
+     */
+    private final int chunkLen;
+
+    /**
+     * The file octave writes the chunks to. 
+     */
+    private final File file;
+
+    /**
+     * The number of entries transferred so far. 
+     */
+    private long pos;
+
+    /**
+     * The buffer the chunks are read into, allocated at the first chunk. 
+     */
+    private ByteBuffer buf;
+
+    /**
+     * Whether {@link #file} is deleted. 
+     */
+    private boolean closed;
+
+    /**
+     * @param octaveIO
+     *    the io to transfer the chunks. 
+     * @param name
+     *    the name of the variable iterated over. 
+     * @param dims
+     *    the dimensions of the variable. 
+     * @param chunkLen
+     *    the number of entries of a chunk except for the last one. 
+     */
+    OctaveChunkIterator(final OctaveIO octaveIO, 
+			final String name, 
+			final int[] dims, 
+			final int chunkLen) {
+	this.octaveIO = octaveIO;
+	this.name = name;
+	this.dims = dims;
+	long len = 1;
+	for (int dim : dims) {
+	    len *= dim;
+	}
+	this.numel = len;
+	this.chunkLen = chunkLen;
+	this.file = OctaveIO.createTransferFile();
+	this.pos = 0;
+	this.closed = false;
+	if (this.numel == 0) {
+	    close();
+	}
+    }
+
+    /**
+     * Returns the dimensions of the variable iterated over. 
+     *
+     * @return
+     *    the dimensions, a copy. 
+     */
+    public int[] getSize() {
+	return this.dims.clone();
+    }
+
+    /**
+     * Returns the number of entries of the variable iterated over. 
+     *
+     * @return
+     *    the product of the dimensions. 
+     */
+    public long getNumel() {
+	return this.numel;
+    }
+
+    /**
+     * Returns the number of entries preceding the chunk 
+     * returned by the next invocation of {@link #next()}. 
+     *
+     * @return
+     *    the number of entries transferred so far. 
+     */
+    public long getPosition() {
+	return this.pos;
+    }
+
+    @Override
+    public boolean hasNext() {
+	return this.pos < this.numel && !this.closed;
+    }
+
+    /**
+     * Returns the next chunk. 
+     * Its entries are from position <code>0</code> 
+     * to the limit which is the chunk length 
+     * except for the last chunk which may be shorter. 
+     * The buffer is valid up to the next invocation of this method only: 
+     * It is overwritten by the next chunk. 
+     *
+     * @return
+     *    the next chunk. 
+     * @throws NoSuchElementException
+     *    if there is no further chunk. 
+     * @throws OctaveIOException
+     *    if transfer fails. 
+     */
+    @Override
+    public DoubleBuffer next() {
+	if (!hasNext()) {
+	    throw new NoSuchElementException();
+	}
+	final int len = (int) Math.min(this.chunkLen, this.numel - this.pos);
+	this.octaveIO.writeChunk(this.name, this.pos, len, this.file);
+	if (this.buf == null) {
+	    this.buf = ByteBuffer
+		.allocateDirect(Double.BYTES * (int) Math.min(this.chunkLen, 
+							      this.numel))
+		.order(ByteOrder.nativeOrder());
+	}
+	this.buf.clear().limit(Double.BYTES * len);
+	try (RandomAccessFile raf = new RandomAccessFile(this.file, "r");
+	     FileChannel channel = raf.getChannel()) {
+	    while (this.buf.hasRemaining()) {
+		if (channel.read(this.buf) < 0) {
+		    throw new OctaveIOException
+			("Expected " + len + " doubles but found " + 
+			 this.buf.position() + " bytes. ");
+		}
+	    }
+	} catch (final IOException e) {
+	    throw new OctaveIOException(e);
+	}
+	this.buf.flip();
+	this.pos += len;
+	if (this.pos == this.numel) {
+	    close();
+	}
+	return this.buf.asDoubleBuffer();
+    }
+
+    /**
+     * Deletes the temporary file. 
+     * Afterwards, {@link #hasNext()} returns <code>false</code>. 
+     */
+    @Override
+    public void close() {
+	if (!this.closed) {
+	    this.closed = true;
+	    OctaveIO.deleteTransferFile(this.file);
+	}
+    }
+
+}
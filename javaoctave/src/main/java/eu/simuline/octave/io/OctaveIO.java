@@ -16,22 +16,40 @@
 package eu.simuline.octave.io;
 
 import java.io.BufferedReader;
+import java.io.File;
 import java.io.IOException;
+import java.io.RandomAccessFile;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import eu.simuline.octave.exception.OctaveClassCastException;
 import eu.simuline.octave.exception.OctaveIOException;
 import eu.simuline.octave.exception.OctaveParseException;
 import eu.simuline.octave.exec.OctaveExec;
-import eu.simuline.octave.exec.ReaderWriteFunctor;
+import eu.simuline.octave.exec.ReadFunctor;
+import eu.simuline.octave.exec.StringWriteFunctor;
 import eu.simuline.octave.exec.WriteFunctor;
 import eu.simuline.octave.exec.WriterReadFunctor;
 import eu.simuline.octave.io.spi.OctaveDataReader;
 import eu.simuline.octave.io.spi.OctaveDataWriter;
+import eu.simuline.octave.type.OctaveDouble;
 import eu.simuline.octave.type.OctaveObject;
 
 // ER: Has only static methods or methods based on {@link #octaveExec} 
@@ -43,11 +61,22 @@ import eu.simuline.octave.type.OctaveObject;
  * set a map of variable names to their values 
  * via {@link #set(Map)} (no setting of a single value), 
  * <li>
- * get the value for a variable name via {@link #get(String)}, 
+ * get the value for a variable name via {@link #get(String)} 
+ * which yields <code>null</code> if the variable does not exist, 
  * <li>
- * check whether a variable with a given name exists 
- * via {@link #existsVar(String)}. 
+ * get the values for a collection of variable names at once 
+ * via {@link #getAll(Collection)}. 
  * </ul>
+ * By default, values are transferred in the text format of octave 
+ * through the pipe to the octave process. 
+ * If {@link #setBinaryTransfer(boolean)} is set, 
+ * {@link #set(Map)} and {@link #get(String)} 
+ * transfer the values for which there are binary readers and writers 
+ * in the <code>-binary</code> format of octave instead, 
+ * keeping text as a fallback. 
+ * If {@link #setMappedTransferThreshold(long)} is set, 
+ * large real matrices of doubles are transferred as raw data 
+ * through a memory mapped file instead. 
  * The rest are static utility methods. 
  * Part is for reading objects from a reader: 
  * <ul>
@@ -77,9 +106,68 @@ public final class OctaveIO {
     private static final String GLOBAL = "global ";
     private static final String TYPE   = "# type: ";
     private static final String NAME   = "# name: ";
+
+    /**
+     * The name of the auxiliary variable in octave 
+     * holding the names of the variables to be read by {@link #getAll(Collection)}. 
+     */
+    private static final String GET_ALL_NAMES = "javaoctave_getall_names";
+ 
+    /**
+     * The condition in octave whether the variable <code>%1$s</code> 
+     * is saved in binary format by {@link #get(String)}: 
+     * These are the classes with binary readers. 
+     */
+    private static final String BINARY_COND = "~issparse(%1$s) && " + 
+	"(isa(%1$s,'double') || isa(%1$s,'single') || " + 
+	"islogical(%1$s) || isa(%1$s,'int32'))";
  
     private final OctaveExec octaveExec;
 
+    /**
+     * Whether {@link #set(Map)} and {@link #get(String)} 
+     * transfer values in the <code>-binary</code> format of octave 
+     * where possible. 
+     * By default, this is <code>false</code>. 
+     */
+    private boolean binaryTransfer = false;
+
+    /**
+     * The minimal number of bytes of data of a real matrix of doubles 
+     * transferred through a memory mapped file 
+     * by {@link #set(Map)} and {@link #get(String)} 
+     * or <code>0</code> if this is disabled. 
+     * By default, this is <code>0</code>. 
+     */
+    private long mappedThreshold = 0;
+
+    /**
+     * The file reused by {@link #get(String)} to transfer values 
+     * created by {@link #getTransferFile()} on first use 
+     * and deleted by {@link #close()}. 
+     * This is <code>null</code> before first use and after closing. 
+     */
+    private File getFile = null;
+
+    /**
+     * The directory of the files to transfer values: 
+     * <code>/dev/shm</code> if this is a writable directory, 
+     * so that the files reside in shared memory, 
+     * else <code>null</code> which means the default temporary directory. 
+     */
+    private static final File TRANSFER_DIR;
+
+    static {
+	final File shm = new File("/dev/shm");
+	TRANSFER_DIR = shm.isDirectory() && shm.canWrite() ? shm : null;
+    }
+
+    /**
+     * The name of the auxiliary variable in octave 
+     * holding the file id of a file transferring raw data. 
+     */
+    private static final String FID = "javaoctave_fid";
+
     /**
      * @param octaveExec
      */
@@ -87,16 +175,233 @@ public final class OctaveIO {
         this.octaveExec = octaveExec;
     }
 
+    /**
+     * Sets whether {@link #set(Map)} and {@link #get(String)} 
+     * transfer values in the <code>-binary</code> format of octave. 
+     * The data are written to a temporary file 
+     * which octave loads and saves by name, 
+     * so only the commands go through the pipe: 
+     * The pipe to the octave process is a character stream 
+     * which cannot pass binary data. 
+     * This saves formatting and parsing the values as text 
+     * and is lossless. 
+     * Values without binary writer are set as text, 
+     * and values without binary reader are got as text. 
+     * By default, values are transferred as text. 
+     *
+     * @param binaryTransfer
+     *    whether to transfer values in binary format where possible. 
+     */
+    public void setBinaryTransfer(final boolean binaryTransfer) {
+	this.binaryTransfer = binaryTransfer;
+    }
+
+    /**
+     * Returns whether values are transferred in binary format. 
+     *
+     * @return
+     *    whether values are transferred in binary format where possible. 
+     * @see #setBinaryTransfer(boolean)
+     */
+    public boolean isBinaryTransfer() {
+	return this.binaryTransfer;
+    }
+
+    /**
+     * Sets the minimal number of bytes of data of an {@link OctaveDouble}, 
+     * i.e. a real matrix of doubles, 
+     * which {@link #set(Map)} and {@link #get(String)} transfer 
+     * as raw data through a memory mapped file 
+     * which octave reads by <code>fread</code> 
+     * and writes by <code>fwrite</code>. 
+     * Only the commands go through the pipe. 
+     * If <code>/dev/shm</code> exists, the file resides in shared memory, 
+     * else in the default temporary directory. 
+     * Smaller values and values of other types are transferred as before. 
+     * By default, this is <code>0</code>. 
+     *
+     * @param mappedThreshold
+     *    the minimal number of bytes of a matrix 
+     *    to be transferred through a memory mapped file 
+     *    or <code>0</code> which means that this is disabled. 
+     * @throws IllegalArgumentException
+     *    if <code>mappedThreshold</code> is negative. 
+     */
+    public void setMappedTransferThreshold(final long mappedThreshold) {
+	if (mappedThreshold < 0) {
+	    throw new IllegalArgumentException
+		("Expected non-negative threshold but found " + 
+		 mappedThreshold + ". ");
+	}
+	this.mappedThreshold = mappedThreshold;
+    }
+
+    /**
+     * Returns the minimal number of bytes of data of a matrix 
+     * transferred through a memory mapped file. 
+     *
+     * @return
+     *    the threshold or <code>0</code> if this is disabled. 
+     * @see #setMappedTransferThreshold(long)
+     */
+    public long getMappedTransferThreshold() {
+	return this.mappedThreshold;
+    }
+
+    /**
+     * Returns whether <code>value</code> is transferred 
+     * through a memory mapped file. 
+     *
+     * @param value
+     *    a value to be set. 
+     * @return
+     *    whether <code>value</code> is an {@link OctaveDouble} 
+     *    with at least {@link #mappedThreshold} bytes of data. 
+     */
+    private boolean isMapped(final OctaveObject value) {
+	return this.mappedThreshold > 0 
+	    && value instanceof OctaveDouble 
+	    && (long) Double.BYTES * ((OctaveDouble) value).dataSize() 
+	    >= this.mappedThreshold;
+    }
+
+    /**
+     * Creates a temporary file to transfer values 
+     * in {@link #TRANSFER_DIR}. 
+     * On POSIX file systems, the file is readable and writable 
+     * by the owner only, because it holds user data. 
+     *
+     * @return
+     *    a new empty temporary file. 
+     * @throws OctaveIOException
+     *    if the file could not be created. 
+     */
+    static File createTransferFile() {
+	try {
+	    return TRANSFER_DIR == null 
+		? Files.createTempFile("javaoctave", ".bin").toFile() 
+		: Files.createTempFile(TRANSFER_DIR.toPath(), 
+				       "javaoctave", ".bin").toFile();
+	} catch (final IOException e) {
+	    throw new OctaveIOException(e);
+	}
+    }
+
+    /**
+     * Returns the file {@link #getFile} reused by {@link #get(String)} 
+     * creating it on first use. 
+     *
+     * @return
+     *    the file to transfer values got. 
+     * @throws OctaveIOException
+     *    if the file could not be created. 
+     */
+    private File getTransferFile() {
+	if (this.getFile == null) {
+	    this.getFile = createTransferFile();
+	}
+	return this.getFile;
+    }
+
+    /**
+     * Deletes the file reused by {@link #get(String)} if any. 
+     * This shall be invoked when the octave process is no longer used. 
+     */
+    public void close() {
+	if (this.getFile != null) {
+	    deleteTransferFile(this.getFile);
+	    this.getFile = null;
+	}
+    }
+
+    /**
+     * Deletes a file created by {@link #createTransferFile()}. 
+     * If this is not possible at once, e.g. because it is still mapped, 
+     * it is deleted on exit. 
+     *
+     * @param file
+     *    the file to be deleted. 
+     */
+    static void deleteTransferFile(final File file) {
+	if (!file.delete()) {
+	    file.deleteOnExit();
+	}
+    }
+
+    /**
+     * Returns the path of <code>file</code> 
+     * as a single quoted octave string. 
+     *
+     * @param file
+     *    a file 
+     * @return
+     *    the absolute path of <code>file</code> quoted for octave. 
+     */
+    private static String quote(final File file) {
+	return "'" + file.getAbsolutePath().replace("'", "''") + "'";
+    }
+
     /**
      * Sets the map <code>values</code> 
      * mapping variable names to according values. 
+     * Values transferred through a memory mapped file 
+     * or in binary format, 
+     * see {@link #setMappedTransferThreshold(long)} 
+     * and {@link #setBinaryTransfer(boolean)}, 
+     * and values transferred as text 
+     * are set pipelined in a single round trip. 
      *
      * @param values
      */
     public void set(final Map<String, OctaveObject> values) {
+	final Map<String, OctaveDouble> mappedValues = 
+	    new LinkedHashMap<String, OctaveDouble>();
+	final Map<String, OctaveObject> binValues = 
+	    new LinkedHashMap<String, OctaveObject>();
+	final Map<String, OctaveObject> textValues = 
+	    new LinkedHashMap<String, OctaveObject>();
+	for (Map.Entry<String, OctaveObject> entry : values.entrySet()) {
+	    final OctaveObject value = entry.getValue();
+	    if (isMapped(value)) {
+		mappedValues.put(entry.getKey(), (OctaveDouble) value);
+	    } else if (this.binaryTransfer && BinaryDataFile.isWritable(value)) {
+		binValues.put(entry.getKey(), value);
+	    } else {
+		textValues.put(entry.getKey(), value);
+	    }
+	}
+
         final StringWriter outputWriter = new StringWriter();
-	this.octaveExec.evalRW(new DataWriteFunctor(values),
-			       new WriterReadFunctor(outputWriter));
+	final List<WriteFunctor> inputs = new ArrayList<WriteFunctor>(3);
+	final List<File> files = new ArrayList<File>(2);
+	try {
+	    if (!mappedValues.isEmpty()) {
+		final File file = createTransferFile();
+		files.add(file);
+		MappedDataFile.write(file, mappedValues.values());
+		inputs.add(new StringWriteFunctor(loadMapped(file, mappedValues)));
+	    }
+	    if (!binValues.isEmpty()) {
+		final File file = createTransferFile();
+		files.add(file);
+		BinaryDataFile.write(file, binValues);
+		inputs.add(new StringWriteFunctor
+			   ("load('-binary', " + quote(file) + ");"));
+	    }
+	    if (!textValues.isEmpty() || inputs.isEmpty()) {
+		inputs.add(new DataWriteFunctor(textValues));
+	    }
+	    final List<ReadFunctor> outputs = 
+		new ArrayList<ReadFunctor>(inputs.size());
+	    for (int idx = 0; idx < inputs.size(); idx++) {
+		outputs.add(new WriterReadFunctor(outputWriter));
+	    }
+	    this.octaveExec.evalRW(inputs, outputs);
+	} finally {
+	    for (File file : files) {
+		deleteTransferFile(file);
+	    }
+	}
 	
         final String output = outputWriter.toString();
         if (output.length() != 0) {
@@ -105,10 +410,60 @@ public final class OctaveIO {
         }
     }
 
+    /**
+     * Returns the octave command reading <code>values</code> 
+     * written to <code>file</code> by {@link MappedDataFile}. 
+     *
+     * @param file
+     *    the file with the raw data of <code>values</code>. 
+     * @param values
+     *    a map from variable names to values. 
+     * @return
+     *    the command reading the values from <code>file</code> 
+     *    and reshaping them. 
+     */
+    private static String loadMapped(final File file, 
+				     final Map<String, OctaveDouble> values) {
+	final StringBuilder cmd = new StringBuilder();
+	cmd.append(FID).append(" = fopen(").append(quote(file)).append(", 'r');\n");
+	for (Map.Entry<String, OctaveDouble> entry : values.entrySet()) {
+	    final OctaveDouble value = entry.getValue();
+	    cmd.append(entry.getKey()).append(" = reshape(fread(").append(FID)
+		.append(", ").append(value.dataSize())
+		.append(", 'double=>double', 0, '").append(MappedDataFile.ARCH)
+		.append("'), [");
+	    for (int idx = 1; idx <= value.getSizeLength(); idx++) {
+		cmd.append(' ').append(value.getSize(idx));
+	    }
+	    cmd.append("]);\n");
+	}
+	cmd.append("fclose(").append(FID).append("); clear ").append(FID).append(';');
+	return cmd.toString();
+    }
+
+    /**
+     * Returns a write functor setting the map <code>values</code> 
+     * mapping variable names to according values. 
+     * This is for pipelining several commands 
+     * via {@link OctaveExec#evalRW(java.util.List, java.util.List)}: 
+     * As for {@link #set(Map)}, 
+     * octave is expected to produce no output when executing it. 
+     *
+     * @param values
+     * @return 
+     *    a write functor setting <code>values</code> in octave. 
+     */
+    public static WriteFunctor setFunctor(final Map<String, OctaveObject> values) {
+	return new DataWriteFunctor(values);
+    }
+
     /**
      * Gets the value of the variable <code>name</code> 
-     * or null if this variable does not exist 
-     * according to {@link #existsVar(String)}. 
+     * or null if this variable does not exist. 
+     * Existence check and fetching the value 
+     * take place in a single command: 
+     * If the variable does not exist, 
+     * octave prints {@link DataReadFunctor#MISSING} instead of the value. 
      *
      * @param name
      *    the name of a variable 
@@ -119,47 +474,420 @@ public final class OctaveIO {
      *    if the value can not be cast to T
      */
     public OctaveObject get(final String name) {
-        if (!existsVar(name)) {
-            return null;
-        }
-        final WriteFunctor writeFunctor = 
-	    new ReaderWriteFunctor(new StringReader("save -text - " + name));
+	return this.mappedThreshold > 0 || this.binaryTransfer
+	    ? getViaFile(name) 
+	    : getText(name);
+    }
+
+    /**
+     * Gets the value of the variable <code>name</code> as {@link #get(String)} 
+     * in text format. 
+     *
+     * @param name
+     *    the name of a variable 
+     * @return 
+     *    the value of the variable <code>name</code> from octave 
+     *    or <code>null</code> if the variable does not exist. 
+     */
+    private OctaveObject getText(final String name) {
+        final WriteFunctor writeFunctor = new StringWriteFunctor
+	    ("if exist('" + name + "','var') " + 
+	     "save('-text','-','" + name + "'); " + 
+	     "else printf('%s\\n', '" + DataReadFunctor.MISSING + "'); end");
         final DataReadFunctor readFunctor = new DataReadFunctor(name);
         this.octaveExec.evalRW(writeFunctor, readFunctor);
         return readFunctor.getData();
     }
 
     /**
-     * Returns whether the variable <code>name</code> exists. 
+     * Gets the value of the variable <code>name</code> as {@link #get(String)} 
+     * but through the temporary file {@link #getFile} if the value allows: 
+     * <ul>
+     * <li>
+     * If {@link #mappedThreshold} is set 
+     * and the value is a real matrix of doubles with as many bytes, 
+     * octave writes its raw data to the file 
+     * and prints {@link DataReadFunctor#MAPPED} 
+     * followed by the dimensions instead of the value. 
+     * <li>
+     * Else, if {@link #binaryTransfer} is set 
+     * and the class of the value allows, 
+     * octave saves it to the file in binary format 
+     * and prints {@link DataReadFunctor#BINARY} instead of the value. 
+     * If the type turns out to have no binary reader, 
+     * e.g. for ranges, the value is got as text. 
+     * </ul>
+     *
+     * @param name
+     *    the name of a variable 
+     * @return 
+     *    the value of the variable <code>name</code> from octave 
+     *    or <code>null</code> if the variable does not exist. 
+     */
+    private OctaveObject getViaFile(final String name) {
+	final File file = getTransferFile();
+	final StringBuilder cmd = new StringBuilder();
+	cmd.append("if exist('").append(name).append("','var')\n");
+	String ifCmd = "if ";
+	if (this.mappedThreshold > 0) {
+	    cmd.append(ifCmd).append(String.format
+		("isa(%1$s,'double') && isreal(%1$s) && ~issparse(%1$s) " + 
+		 "&& 8*numel(%1$s) >= %2$d\n" + 
+		 "%3$s = fopen(%4$s, 'w'); " + 
+		 "fwrite(%3$s, %1$s, 'double', 0, '%5$s'); " + 
+		 "fclose(%3$s); clear %3$s; " + 
+		 "printf('%%s', '%6$s'); printf(' %%d', size(%1$s)); " + 
+		 "printf('\\n');\n", 
+		 name, this.mappedThreshold, FID, quote(file), 
+		 MappedDataFile.ARCH, DataReadFunctor.MAPPED));
+	    ifCmd = "elseif ";
+	}
+	if (this.binaryTransfer) {
+	    cmd.append(ifCmd).append(String.format(BINARY_COND, name))
+		.append('\n')
+		.append("save('-binary', ").append(quote(file))
+		.append(", '").append(name).append("'); ")
+		.append("printf('%s\\n', '").append(DataReadFunctor.BINARY)
+		.append("');\n");
+	}
+	cmd.append("else save('-text','-','").append(name).append("'); end\n")
+	    .append("else printf('%s\\n', '").append(DataReadFunctor.MISSING)
+	    .append("'); end");
+	final DataReadFunctor readFunctor = new DataReadFunctor(name);
+	this.octaveExec.evalRW(new StringWriteFunctor(cmd.toString()), 
+			   readFunctor);
+	if (readFunctor.getMappedDims() != null) {
+	    return MappedDataFile.read(file, readFunctor.getMappedDims());
+	}
+	if (!readFunctor.isBinary()) {
+	    return readFunctor.getData();
+	}
+	final Map<String, OctaveObject> map = BinaryDataFile.read(file);
+	if (map == null) {
+	    return getText(name);
+	}
+	return map.get(name);
+    }
+
+    /**
+     * Returns an iterator over the data of the variable <code>name</code> 
+     * in chunks of <code>chunkLen</code> entries in column major order, 
+     * so that a variable larger than the heap can be processed. 
+     * Each chunk <code>name(k:k+chunkLen-1)</code> 
+     * is written by octave to a temporary file 
+     * as described for {@link #setMappedTransferThreshold(long)} 
+     * and read from there into a buffer reused for all chunks. 
+     * If <code>chunkLen</code> is a multiple of the number of rows, 
+     * the chunks are blocks of whole columns. 
+     * The variable must be a real numeric or logical matrix 
+     * which is converted to double and must not change during iteration. 
+     *
+     * @param name
+     *    the name of a variable 
+     * @param chunkLen
+     *    the maximal number of entries of a chunk. 
+     *    Only the last chunk may be shorter. 
+     * @return 
+     *    an iterator over the chunks of the variable <code>name</code> 
+     *    or <code>null</code> if the variable does not exist. 
+     * @throws IllegalArgumentException
+     *    if <code>chunkLen</code> is not positive or exceeds 2 GB 
+     *    or if the variable is neither real numeric nor logical. 
+     */
+    public OctaveChunkIterator getChunks(final String name, 
+					 final int chunkLen) {
+	if (chunkLen <= 0 || chunkLen > Integer.MAX_VALUE / Double.BYTES) {
+	    throw new IllegalArgumentException
+		("Expected positive chunk length below 2^28 but found " + 
+		 chunkLen + ". ");
+	}
+	final StringWriter outputWriter = new StringWriter();
+	this.octaveExec.evalRW(new StringWriteFunctor(String.format
+	    ("if ~exist('%1$s','var') printf('%%s\\n', '%2$s');\n" + 
+	     "elseif (isnumeric(%1$s) || islogical(%1$s)) && isreal(%1$s) " + 
+	     "printf(' %%d', size(%1$s)); printf('\\n');\n" + 
+	     "else printf('%%s\\n', class(%1$s)); end", 
+	     name, DataReadFunctor.MISSING)), 
+			       new WriterReadFunctor(outputWriter));
+	final String output = outputWriter.toString().trim();
+	if (DataReadFunctor.MISSING.equals(output)) {
+	    return null;
+	}
+	if (!Character.isDigit(output.charAt(0))) {
+	    throw new IllegalArgumentException
+		("Variable '" + name + "' of class " + output + 
+		 " is neither real numeric nor logical. ");
+	}
+	final String[] split = output.split(" +");
+	final int[] dims = new int[split.length];
+	for (int idx = 0; idx < dims.length; idx++) {
+	    dims[idx] = Integer.parseInt(split[idx]);
+	}
+	return new OctaveChunkIterator(this, name, dims, chunkLen);
+    }
+
+    /**
+     * Writes the entries <code>name(from+1:from+len)</code> 
+     * of a variable converted to double to <code>file</code> 
+     * as raw data in native byte order. 
+     * This is used by {@link OctaveChunkIterator}. 
+     *
+     * @param name
+     *    the name of a variable 
+     * @param from
+     *    the number of entries preceding the chunk. 
+     * @param len
+     *    the number of entries of the chunk. 
+     * @param file
+     *    the file to be written by octave. 
+     */
+    void writeChunk(final String name, final long from, final int len, 
+		    final File file) {
+	evalSilent(String.format
+	    ("%1$s = fopen(%2$s, 'w'); " + 
+	     "fwrite(%1$s, %3$s(%4$d:%5$d), 'double', 0, '%6$s'); " + 
+	     "fclose(%1$s); clear %1$s;", 
+	     FID, quote(file), name, from + 1, from + len, 
+	     MappedDataFile.ARCH));
+    }
+
+    /**
+     * Sets the variable <code>name</code> with dimensions <code>dims</code> 
+     * from <code>chunks</code> of doubles in column major order, 
+     * so that the data need not be held in memory as a whole. 
+     * The variable is preallocated with zeros 
+     * and each chunk is written to a temporary file 
+     * and assigned by octave as a block <code>name(k:k+len-1)</code>. 
+     * The chunks may have arbitrary lengths up to 2 GB 
+     * but their total must be the number of entries. 
+     *
+     * @param name
+     *    the name of a variable 
+     * @param dims
+     *    the dimensions of the variable. 
+     * @param chunks
+     *    the chunks, each of which is read from its position to its limit. 
+     * @throws IllegalArgumentException
+     *    if the total length of the chunks 
+     *    differs from the number of entries 
+     *    or if a chunk exceeds 2 GB. 
+     *    Then the variable is partially set. 
+     * @throws OctaveIOException
+     *    if transfer fails. 
+     */
+    public void setChunks(final String name, final int[] dims, 
+			  final Iterator<? extends DoubleBuffer> chunks) {
+	final long numel = preallocate(name, dims);
+	final File file = createTransferFile();
+	try (RandomAccessFile raf = new RandomAccessFile(file, "rw");
+	     FileChannel channel = raf.getChannel()) {
+	    ByteBuffer buf = null;
+	    long pos = 0;
+	    while (chunks.hasNext()) {
+		final DoubleBuffer chunk = chunks.next();
+		final int len = chunk.remaining();
+		if (len == 0) {
+		    continue;
+		}
+		if (pos + len > numel || len > Integer.MAX_VALUE / Double.BYTES) {
+		    throw new IllegalArgumentException
+			("Chunk of " + len + " doubles at " + pos + 
+			 " exceeds " + numel + " doubles or 2 GB. ");
+		}
+		if (buf == null || buf.capacity() < Double.BYTES * len) {
+		    buf = ByteBuffer.allocateDirect(Double.BYTES * len)
+			.order(ByteOrder.nativeOrder());
+		}
+		buf.clear();
+		buf.asDoubleBuffer().put(chunk);
+		buf.limit(Double.BYTES * len);
+		// octave reads len doubles only, so the file is not truncated 
+		long off = 0;
+		while (buf.hasRemaining()) {
+		    off += channel.write(buf, off);
+		}
+		readChunk(name, pos, len, file, MappedDataFile.ARCH);
+		pos += len;
+	    }
+	    if (pos != numel) {
+		throw new IllegalArgumentException
+		    ("Expected " + numel + " doubles but found " + pos + ". ");
+	    }
+	} catch (final IOException e) {
+	    throw new OctaveIOException(e);
+	} finally {
+	    deleteTransferFile(file);
+	}
+    }
+
+    /**
+     * Sets the variable <code>name</code> with dimensions <code>dims</code> 
+     * from the doubles in column major order read from <code>src</code> 
+     * as described for {@link #setChunks(String, int[], Iterator)}. 
+     * The bytes are transferred from <code>src</code> 
+     * into the temporary file directly 
+     * in chunks of <code>chunkLen</code> doubles. 
+     *
+     * @param name
+     *    the name of a variable 
+     * @param dims
+     *    the dimensions of the variable. 
+     * @param src
+     *    a blocking channel providing the doubles. 
+     *    Reading stops after the number of entries. 
+     * @param order
+     *    the byte order of the doubles read from <code>src</code>. 
+     * @param chunkLen
+     *    the number of doubles transferred at once. 
+     * @throws IllegalArgumentException
+     *    if <code>chunkLen</code> is not positive 
+     *    or if <code>src</code> provides fewer doubles than entries. 
+     *    Then the variable is partially set. 
+     * @throws OctaveIOException
+     *    if transfer fails. 
+     */
+    public void setChunks(final String name, final int[] dims, 
+			  final ReadableByteChannel src, 
+			  final ByteOrder order, 
+			  final int chunkLen) {
+	if (chunkLen <= 0) {
+	    throw new IllegalArgumentException
+		("Expected positive chunk length but found " + chunkLen + ". ");
+	}
+	final String arch = order == ByteOrder.LITTLE_ENDIAN 
+	    ? "ieee-le" 
+	    : "ieee-be";
+	final long numel = preallocate(name, dims);
+	final File file = createTransferFile();
+	try (RandomAccessFile raf = new RandomAccessFile(file, "rw");
+	     FileChannel channel = raf.getChannel()) {
+	    long pos = 0;
+	    while (pos < numel) {
+		final int len = (int) Math.min(chunkLen, numel - pos);
+		final long size = (long) Double.BYTES * len;
+		long off = 0;
+		while (off < size) {
+		    final long num = channel.transferFrom(src, off, size - off);
+		    if (num == 0) {
+			throw new IllegalArgumentException
+			    ("Expected " + numel + " doubles but channel ended " + 
+			     "after " + (pos * Double.BYTES + off) + " bytes. ");
+		    }
+		    off += num;
+		}
+		readChunk(name, pos, len, file, arch);
+		pos += len;
+	    }
+	} catch (final IOException e) {
+	    throw new OctaveIOException(e);
+	} finally {
+	    deleteTransferFile(file);
+	}
+    }
+
+    /**
+     * Sets the variable <code>name</code> to zeros 
+     * with dimensions <code>dims</code>. 
+     *
+     * @param name
+     *    the name of a variable 
+     * @param dims
+     *    the dimensions of the variable. 
+     * @return
+     *    the number of entries of the variable. 
+     */
+    private long preallocate(final String name, final int[] dims) {
+	final StringBuilder cmd = new StringBuilder();
+	cmd.append(name).append(" = zeros([");
+	long numel = 1;
+	for (int dim : dims) {
+	    cmd.append(' ').append(dim);
+	    numel *= dim;
+	}
+	cmd.append("]);");
+	evalSilent(cmd.toString());
+	return numel;
+    }
+
+    /**
+     * Lets octave assign the <code>len</code> doubles in <code>file</code> 
+     * to the entries <code>name(from+1:from+len)</code> of a variable. 
      *
      * @param name
      *    the name of a variable 
+     * @param from
+     *    the number of entries preceding the chunk. 
+     * @param len
+     *    the number of entries of the chunk. 
+     * @param file
+     *    the file with the raw data of the chunk. 
+     * @param arch
+     *    the architecture of the data as given to <code>fread</code>. 
+     */
+    private void readChunk(final String name, final long from, final int len, 
+			   final File file, final String arch) {
+	evalSilent(String.format
+	    ("%1$s = fopen(%2$s, 'r'); " + 
+	     "%3$s(%4$d:%5$d) = fread(%1$s, %6$d, 'double=>double', 0, '%7$s'); " + 
+	     "fclose(%1$s); clear %1$s;", 
+	     FID, quote(file), name, from + 1, from + len, len, arch));
+    }
+
+    /**
+     * Evaluates <code>cmd</code> which shall not print anything. 
+     *
+     * @param cmd
+     *    a command for octave. 
+     * @throws IllegalStateException
+     *    if <code>cmd</code> prints output. 
+     */
+    private void evalSilent(final String cmd) {
+	final StringWriter outputWriter = new StringWriter();
+	this.octaveExec.evalRW(new StringWriteFunctor(cmd), 
+			       new WriterReadFunctor(outputWriter));
+        final String output = outputWriter.toString();
+        if (output.length() != 0) {
+            throw new IllegalStateException
+		("Unexpected output: '" + output + "'");
+        }
+    }
+
+    /**
+     * Gets the values of the variables <code>names</code> 
+     * in a single command. 
+     * The names are filtered in octave to the existing variables 
+     * except the auxiliary variable {@link #GET_ALL_NAMES} 
+     * which are then saved all at once. 
+     * If none of the variables exists, 
+     * octave prints {@link DataReadFunctor#MISSING} instead. 
+     *
+     * @param names
+     *    the names of variables 
      * @return 
-     *    whether the variable <code>name</code> exists. 
-     */
-    private boolean existsVar(final String name) {
-	StringReader checkCmd = new StringReader
-	    ("printf('%d', exist('" + name + "','var'));");
-        final StringWriter existResult = new StringWriter();
-        this.octaveExec.evalRW(new ReaderWriteFunctor(checkCmd),
-			       new WriterReadFunctor(existResult));
-        final String s = existResult.toString();
-	// switch (s) {
-	// case "1":
-	//     return true;
-	// case "0": 
-	//     return false;
-	// default:
-	//     throw new OctaveParseException("Unexpected output '" + s + "'");
-	// }
-
-        if ("1".equals(s)) {
-            return true;
-        } else if ("0".equals(s)) {
-            return false;
-        } else {
-            throw new OctaveParseException("Unexpected output '" + s + "'");
+     *    a map from the names of the existing variables to their values. 
+     *    Variables which do not exist are not contained. 
+     */
+    public Map<String, OctaveObject> getAll(final Collection<String> names) {
+	final Set<String> nameSet = new LinkedHashSet<String>(names);
+	if (nameSet.isEmpty()) {
+	    return new HashMap<String, OctaveObject>();
+	}
+	final StringBuilder cmd = new StringBuilder();
+	cmd.append(GET_ALL_NAMES).append(" = {");
+	for (String name : nameSet) {
+	    cmd.append('\'').append(name).append("',");
 	}
+	cmd.setCharAt(cmd.length() - 1, '}');
+	cmd.append(String.format(";\n%1$s = %1$s(ismember(%1$s, " + 
+				 "setdiff(who(), {'%1$s'})));\n" + 
+				 "if isempty(%1$s) printf('%%s\\n', '%2$s'); " + 
+				 "else save('-text', '-', %1$s{:}); end\n" + 
+				 "clear %1$s", 
+				 GET_ALL_NAMES, DataReadFunctor.MISSING));
+        final DataReadFunctor readFunctor = new DataReadFunctor(nameSet);
+        this.octaveExec.evalRW(new StringWriteFunctor(cmd.toString()), 
+			       readFunctor);
+        return readFunctor.getDataMap();
     }
 
     /**
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2026 Simuline Organization (l2r)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.simuline.octave.io.impl;
+
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+
+import eu.simuline.octave.exception.OctaveParseException;
+import eu.simuline.octave.io.spi.OctaveBinaryReader;
+
+/**
+ * Common binary reader class providing the building blocks 
+ * of the <code>-binary</code> format of octave: 
+ * the dimensions of a matrix and arrays of doubles and of floats 
+ * which octave may save with a narrower type. 
+ */
+abstract class AbstractBinaryReader extends OctaveBinaryReader {
+
+    // the save types of octave preceding an array of doubles 
+    static final byte LS_U_CHAR  = 0;
+    static final byte LS_U_SHORT = 1;
+    static final byte LS_U_INT   = 2;
+    static final byte LS_CHAR    = 3;
+    static final byte LS_SHORT   = 4;
+    static final byte LS_INT     = 5;
+    static final byte LS_FLOAT   = 6;
+    static final byte LS_DOUBLE  = 7;
+    static final byte LS_U_LONG  = 8;
+    static final byte LS_LONG    = 9;
+
+    /**
+     * The value of <code>2^64</code> 
+     * to convert unsigned longs into doubles. 
+     */
+    private static final double TWO_POW_64 = 18446744073709551616.0;
+
+    private static final int MASK_U_CHAR  = 0xFF;
+    private static final int MASK_U_SHORT = 0xFFFF;
+    private static final long MASK_U_INT  = 0xFFFFFFFFL;
+
+    // prevents instantiation (as does keyword abstract); for pmd only 
+    protected AbstractBinaryReader() {
+    }
+
+    /**
+     * Reads the dimensions of a matrix. 
+     * These are given by the negative number of dimensions 
+     * followed by the lengths in all dimensions. 
+     * In the old format, the first number is non-negative 
+     * and gives the number of rows followed by the number of columns. 
+     *
+     * @param buf
+     *    the buffer to read from. 
+     * @return
+     *    the lengths in all dimensions. 
+     */
+    protected static int[] readDims(final ByteBuffer buf) {
+	final int first = buf.getInt();
+	if (first >= 0) {
+	    return new int[] {first, buf.getInt()};
+	}
+	final int[] dims = new int[-first];
+	for (int idx = 0; idx < dims.length; idx++) {
+	    dims[idx] = buf.getInt();
+	}
+	return dims;
+    }
+
+    /**
+     * Returns the number of elements of a matrix with the given dimensions. 
+     *
+     * @param dims
+     *    the lengths in all dimensions. 
+     * @return
+     *    the product of <code>dims</code>. 
+     */
+    protected static int numel(final int[] dims) {
+	int res = 1;
+	for (int dim : dims) {
+	    res = Math.multiplyExact(res, dim);
+	}
+	return res;
+    }
+
+    /**
+     * Reads <code>len</code> doubles into <code>dst</code>. 
+     * They are preceded by a byte signifying their save type: 
+     * Octave saves doubles with narrower types 
+     * if this is lossless, e.g. for large integer valued matrices. 
+     *
+     * @param buf
+     *    the buffer to read from. 
+     * @param dst
+     *    the array to read into, starting at index <code>0</code>. 
+     * @param len
+     *    the number of doubles to be read. 
+     * @throws OctaveParseException
+     *    if the save type is unknown. 
+     */
+    @SuppressWarnings("checkstyle:magicnumber")
+    protected static void readDoubles(final ByteBuffer buf, 
+				      final double[] dst, 
+				      final int len) {
+	final byte type = buf.get();
+	switch (type) {
+	case LS_DOUBLE:
+	    final DoubleBuffer view = buf.asDoubleBuffer();
+	    view.get(dst, 0, len);
+	    buf.position(buf.position() + len * Double.BYTES);
+	    break;
+	case LS_FLOAT:
+	    for (int idx = 0; idx < len; idx++) {
+		dst[idx] = buf.getFloat();
+	    }
+	    break;
+	case LS_U_CHAR:
+	    for (int idx = 0; idx < len; idx++) {
+		dst[idx] = buf.get() & MASK_U_CHAR;
+	    }
+	    break;
+	case LS_U_SHORT:
+	    for (int idx = 0; idx < len; idx++) {
+		dst[idx] = buf.getShort() & MASK_U_SHORT;
+	    }
+	    break;
+	case LS_U_INT:
+	    for (int idx = 0; idx < len; idx++) {
+		dst[idx] = buf.getInt() & MASK_U_INT;
+	    }
+	    break;
+	case LS_U_LONG:
+	    for (int idx = 0; idx < len; idx++) {
+		final long val = buf.getLong();
+		dst[idx] = val >= 0 ? val : val + TWO_POW_64;
+	    }
+	    break;
+	case LS_CHAR:
+	    for (int idx = 0; idx < len; idx++) {
+		dst[idx] = buf.get();
+	    }
+	    break;
+	case LS_SHORT:
+	    for (int idx = 0; idx < len; idx++) {
+		dst[idx] = buf.getShort();
+	    }
+	    break;
+	case LS_INT:
+	    for (int idx = 0; idx < len; idx++) {
+		dst[idx] = buf.getInt();
+	    }
+	    break;
+	case LS_LONG:
+	    for (int idx = 0; idx < len; idx++) {
+		dst[idx] = buf.getLong();
+	    }
+	    break;
+	default:
+	    throw new OctaveParseException
+		("Unknown save type " + type + " of doubles. ");
+	}
+    }
+
+    /**
+     * Reads <code>len</code> floats into <code>dst</code>. 
+     * They are preceded by a byte signifying their save type 
+     * which is {@link #LS_FLOAT} 
+     * unless octave saves them with a narrower type without loss 
+     * as described for {@link #readDoubles(ByteBuffer, double[], int)}. 
+     *
+     * @param buf
+     *    the buffer to read from. 
+     * @param dst
+     *    the array to read into, starting at index <code>0</code>. 
+     * @param len
+     *    the number of floats to be read. 
+     * @throws OctaveParseException
+     *    if the save type is unknown. 
+     */
+    protected static void readFloats(final ByteBuffer buf, 
+				     final float[] dst, 
+				     final int len) {
+	if (buf.get(buf.position()) == LS_FLOAT) {
+	    buf.get();
+	    final FloatBuffer view = buf.asFloatBuffer();
+	    view.get(dst, 0, len);
+	    buf.position(buf.position() + len * Float.BYTES);
+	    return;
+	}
+	final double[] data = new double[len];
+	readDoubles(buf, data, len);
+	for (int idx = 0; idx < len; idx++) {
+	    dst[idx] = (float) data[idx];
+	}
+    }
+
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2026 Simuline Organization (l2r)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.simuline.octave.io.impl;
+
+import java.nio.ByteBuffer;
+
+import eu.simuline.octave.io.spi.OctaveBinaryWriter;
+import eu.simuline.octave.type.OctaveObject;
+import eu.simuline.octave.type.matrix.AbstractGenericMatrix;
+
+/**
+ * Common binary writer class providing the dimensions of a matrix 
+ * in the <code>-binary</code> format of octave. 
+ *
+ * @param <T>
+ *    the type to be written out. 
+ */
+abstract class AbstractBinaryWriter<T extends OctaveObject> 
+    extends OctaveBinaryWriter<T> {
+
+    // prevents instantiation (as does keyword abstract); for pmd only 
+    protected AbstractBinaryWriter() {
+    }
+
+    /**
+     * Returns the number of bytes 
+     * {@link #writeDims(ByteBuffer, AbstractGenericMatrix)} writes. 
+     *
+     * @param matrix
+     *    the matrix the dimensions of which are written. 
+     * @return
+     *    the number of bytes of the dimensions of <code>matrix</code>. 
+     */
+    protected static long dimsSize(final AbstractGenericMatrix<?, ?> matrix) {
+	return Integer.BYTES * (1L + matrix.getSizeLength());
+    }
+
+    /**
+     * Writes the dimensions of <code>matrix</code>, 
+     * i.e. the negative number of dimensions 
+     * followed by the lengths in all dimensions. 
+     *
+     * @param buf
+     *    the buffer to write to. 
+     * @param matrix
+     *    the matrix the dimensions of which are written. 
+     */
+    protected static void writeDims(final ByteBuffer buf, 
+				    final AbstractGenericMatrix<?, ?> matrix) {
+	buf.putInt(-matrix.getSizeLength());
+	for (int idx = 1; idx <= matrix.getSizeLength(); idx++) {
+	    buf.putInt(matrix.getSize(idx));
+	}
+    }
+
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2026 Simuline Organization (l2r)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.simuline.octave.io.impl;
+
+import java.nio.ByteBuffer;
+
+import eu.simuline.octave.type.OctaveBoolean;
+
+/**
+ * The binary reader for the octave type "bool matrix" 
+ * reading an {@link OctaveBoolean} from a {@link ByteBuffer}. 
+ * Each entry is saved as a byte. 
+ */
+public final class BinaryBooleanReader extends AbstractBinaryReader {
+
+    @Override
+    public String octaveType() {
+	return "bool matrix";
+    }
+
+    @Override
+    public OctaveBoolean read(final ByteBuffer buf) {
+	final int[] dims = readDims(buf);
+	final boolean[] data = new boolean[numel(dims)];
+	for (int idx = 0; idx < data.length; idx++) {
+	    data[idx] = buf.get() != 0;
+	}
+	return new OctaveBoolean(data, dims);
+    }
+
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2026 Simuline Organization (l2r)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.simuline.octave.io.impl;
+
+import java.nio.ByteBuffer;
+
+import eu.simuline.octave.type.OctaveBoolean;
+
+/**
+ * The binary reader for the octave type "bool" 
+ * reading an {@link OctaveBoolean} from a {@link ByteBuffer}. 
+ */
+public final class BinaryBooleanSingleReader extends AbstractBinaryReader {
+
+    @Override
+    public String octaveType() {
+	return "bool";
+    }
+
+    @Override
+    public OctaveBoolean read(final ByteBuffer buf) {
+	return new OctaveBoolean(new boolean[] {buf.get() != 0}, 1, 1);
+    }
+
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2026 Simuline Organization (l2r)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.simuline.octave.io.impl;
+
+import java.nio.ByteBuffer;
+
+import eu.simuline.octave.type.OctaveBoolean;
+
+/**
+ * The binary writer for the octave type "bool matrix" 
+ * writing an {@link OctaveBoolean} to a {@link ByteBuffer}. 
+ * Each entry is written as a byte. 
+ */
+public final class BinaryBooleanWriter 
+    extends AbstractBinaryWriter<OctaveBoolean> {
+
+    @Override
+    public Class<OctaveBoolean> javaType() {
+	return OctaveBoolean.class;
+    }
+
+    @Override
+    public String octaveType() {
+	return "bool matrix";
+    }
+
+    @Override
+    public long byteSize(final OctaveBoolean value) {
+	return dimsSize(value) + value.dataSize();
+    }
+
+    @Override
+    public void write(final ByteBuffer buf, final OctaveBoolean value) {
+	writeDims(buf, value);
+	final boolean[] data = value.getData();
+	final int len = value.dataSize();
+	for (int idx = 0; idx < len; idx++) {
+	    buf.put((byte) (data[idx] ? 1 : 0));
+	}
+    }
+
+}
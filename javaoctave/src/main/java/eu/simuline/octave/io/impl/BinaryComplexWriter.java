@@ -0,0 +1,64 @@
+/*
+ * Copyright 2026 Simuline Organization (l2r)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.simuline.octave.io.impl;
+
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+
+import eu.simuline.octave.type.OctaveComplex;
+import eu.simuline.octave.type.OctaveDouble;
+
+/**
+ * The binary writer for the octave type "complex matrix" 
+ * writing an {@link OctaveComplex} to a {@link ByteBuffer}. 
+ * Real and imaginary parts are written interleaved. 
+ */
+public final class BinaryComplexWriter 
+    extends AbstractBinaryWriter<OctaveComplex> {
+
+    @Override
+    public Class<OctaveComplex> javaType() {
+	return OctaveComplex.class;
+    }
+
+    @Override
+    public String octaveType() {
+	return "complex matrix";
+    }
+
+    @Override
+    public long byteSize(final OctaveComplex value) {
+	final OctaveDouble real = value.getRealPart();
+	return dimsSize(real) + 1 + 2L * Double.BYTES * real.dataSize();
+    }
+
+    @Override
+    public void write(final ByteBuffer buf, final OctaveComplex value) {
+	final OctaveDouble real = value.getRealPart();
+	writeDims(buf, real);
+	buf.put(AbstractBinaryReader.LS_DOUBLE);
+	final double[] re = real.getData();
+	final double[] im = value.getImagPart().getData();
+	final int len = real.dataSize();
+	final DoubleBuffer view = buf.asDoubleBuffer();
+	for (int idx = 0; idx < len; idx++) {
+	    view.put(re[idx]);
+	    view.put(im[idx]);
+	}
+	buf.position(buf.position() + 2 * len * Double.BYTES);
+    }
+
+}
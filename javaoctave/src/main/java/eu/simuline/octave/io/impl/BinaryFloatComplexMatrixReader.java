@@ -0,0 +1,52 @@
+/*
+ * Copyright 2026 Simuline Organization (l2r)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.simuline.octave.io.impl;
+
+import java.nio.ByteBuffer;
+
+import eu.simuline.octave.type.OctaveComplex;
+import eu.simuline.octave.type.OctaveDouble;
+
+/**
+ * The binary reader for the octave type "float complex matrix" 
+ * reading an {@link OctaveComplex} from a {@link ByteBuffer}. 
+ * Real and imaginary parts are saved interleaved 
+ * and are widened to doubles without loss. 
+ */
+public final class BinaryFloatComplexMatrixReader extends AbstractBinaryReader {
+
+    @Override
+    public String octaveType() {
+	return "float complex matrix";
+    }
+
+    @Override
+    public OctaveComplex read(final ByteBuffer buf) {
+	final int[] dims = readDims(buf);
+	final int len = numel(dims);
+	final float[] data = new float[Math.multiplyExact(2, len)];
+	readFloats(buf, data, data.length);
+	final double[] real = new double[len];
+	final double[] imag = new double[len];
+	for (int idx = 0; idx < len; idx++) {
+	    real[idx] = data[2 * idx];
+	    imag[idx] = data[2 * idx + 1];
+	}
+	return new OctaveComplex(new OctaveDouble(real, dims), 
+				 new OctaveDouble(imag, dims.clone()));
+    }
+
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2026 Simuline Organization (l2r)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.simuline.octave.io.impl;
+
+import java.nio.ByteBuffer;
+
+import eu.simuline.octave.type.OctaveComplex;
+import eu.simuline.octave.type.OctaveDouble;
+
+/**
+ * The binary reader for the octave type "float complex scalar" 
+ * reading an {@link OctaveComplex} from a {@link ByteBuffer}. 
+ * The parts are widened to doubles without loss. 
+ */
+public final class BinaryFloatComplexScalarReader extends AbstractBinaryReader {
+
+    @Override
+    public String octaveType() {
+	return "float complex scalar";
+    }
+
+    @Override
+    public OctaveComplex read(final ByteBuffer buf) {
+	final float[] data = new float[2];
+	readFloats(buf, data, 2);
+	return new OctaveComplex(new OctaveDouble(new double[] {data[0]}, 1, 1), 
+				 new OctaveDouble(new double[] {data[1]}, 1, 1));
+    }
+
+}
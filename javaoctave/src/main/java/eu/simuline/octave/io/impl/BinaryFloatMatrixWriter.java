@@ -0,0 +1,54 @@
+/*
+ * Copyright 2026 Simuline Organization (l2r)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.simuline.octave.io.impl;
+
+import java.nio.ByteBuffer;
+
+import eu.simuline.octave.type.OctaveSingle;
+
+/**
+ * The binary writer for the octave type "float matrix" 
+ * writing an {@link OctaveSingle} to a {@link ByteBuffer}. 
+ * This takes four bytes per entry. 
+ */
+public final class BinaryFloatMatrixWriter 
+    extends AbstractBinaryWriter<OctaveSingle> {
+
+    @Override
+    public Class<OctaveSingle> javaType() {
+	return OctaveSingle.class;
+    }
+
+    @Override
+    public String octaveType() {
+	return "float matrix";
+    }
+
+    @Override
+    public long byteSize(final OctaveSingle value) {
+	return dimsSize(value) + 1 + (long) Float.BYTES * value.dataSize();
+    }
+
+    @Override
+    public void write(final ByteBuffer buf, final OctaveSingle value) {
+	writeDims(buf, value);
+	buf.put(AbstractBinaryReader.LS_FLOAT);
+	final int len = value.dataSize();
+	buf.asFloatBuffer().put(value.getData(), 0, len);
+	buf.position(buf.position() + len * Float.BYTES);
+    }
+
+}
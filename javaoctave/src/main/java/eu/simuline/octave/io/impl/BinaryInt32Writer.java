@@ -0,0 +1,51 @@
+/*
+ * Copyright 2026 Simuline Organization (l2r)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.simuline.octave.io.impl;
+
+import java.nio.ByteBuffer;
+
+import eu.simuline.octave.type.OctaveInt;
+
+/**
+ * The binary writer for the octave type "int32 matrix" 
+ * writing an {@link OctaveInt} to a {@link ByteBuffer}. 
+ */
+public final class BinaryInt32Writer extends AbstractBinaryWriter<OctaveInt> {
+
+    @Override
+    public Class<OctaveInt> javaType() {
+	return OctaveInt.class;
+    }
+
+    @Override
+    public String octaveType() {
+	return "int32 matrix";
+    }
+
+    @Override
+    public long byteSize(final OctaveInt value) {
+	return dimsSize(value) + (long) Integer.BYTES * value.dataSize();
+    }
+
+    @Override
+    public void write(final ByteBuffer buf, final OctaveInt value) {
+	writeDims(buf, value);
+	final int len = value.dataSize();
+	buf.asIntBuffer().put(value.getData(), 0, len);
+	buf.position(buf.position() + len * Integer.BYTES);
+    }
+
+}
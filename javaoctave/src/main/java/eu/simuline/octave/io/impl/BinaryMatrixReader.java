@@ -0,0 +1,42 @@
+/*
+ * Copyright 2026 Simuline Organization (l2r)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.simuline.octave.io.impl;
+
+import java.nio.ByteBuffer;
+
+import eu.simuline.octave.type.OctaveDouble;
+
+/**
+ * The binary reader for the octave type "matrix" (of double) 
+ * reading an {@link OctaveDouble} from a {@link ByteBuffer}. 
+ */
+public final class BinaryMatrixReader extends AbstractBinaryReader {
+
+    @Override
+    public String octaveType() {
+	return "matrix";
+    }
+
+    @Override
+    public OctaveDouble read(final ByteBuffer buf) {
+	final int[] dims = readDims(buf);
+	final int len = numel(dims);
+	final double[] data = new double[len];
+	readDoubles(buf, data, len);
+	return new OctaveDouble(data, dims);
+    }
+
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2026 Simuline Organization (l2r)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.simuline.octave.io.impl;
+
+import java.nio.ByteBuffer;
+
+import eu.simuline.octave.type.OctaveDouble;
+
+/**
+ * The binary writer for the octave type "matrix" (of double) 
+ * writing an {@link OctaveDouble} to a {@link ByteBuffer}. 
+ */
+public final class BinaryMatrixWriter extends AbstractBinaryWriter<OctaveDouble> {
+
+    @Override
+    public Class<OctaveDouble> javaType() {
+	return OctaveDouble.class;
+    }
+
+    @Override
+    public String octaveType() {
+	return "matrix";
+    }
+
+    @Override
+    public long byteSize(final OctaveDouble value) {
+	return dimsSize(value) + 1 + (long) Double.BYTES * value.dataSize();
+    }
+
+    @Override
+    public void write(final ByteBuffer buf, final OctaveDouble value) {
+	writeDims(buf, value);
+	buf.put(AbstractBinaryReader.LS_DOUBLE);
+	final int len = value.dataSize();
+	buf.asDoubleBuffer().put(value.getData(), 0, len);
+	buf.position(buf.position() + len * Double.BYTES);
+    }
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2026 Simuline Organization (l2r)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.simuline.octave.io.impl;
+
+import java.io.BufferedReader;
+
+import eu.simuline.octave.exception.OctaveParseException;
+import eu.simuline.octave.io.OctaveIO;
+import eu.simuline.octave.io.spi.OctaveDataReader;
+import eu.simuline.octave.type.OctaveComplex;
+import eu.simuline.octave.util.StringUtil;
+
+/**
+ * Reader for the octave type "float complex matrix" 
+ * reading an {@link OctaveComplex} from a {@link BufferedReader}. 
+ * The components are parsed as floats 
+ * and widened to doubles without loss. 
+ * The format is that of "complex matrix", 
+ * see {@link ComplexMatrixReader}. 
+ */
+public final class FloatComplexMatrixReader extends OctaveDataReader {
+
+    private static final String COLUMNS = "# columns: ";
+    private static final String ROWS    = "# rows: ";
+
+    @Override
+    public String octaveType() {
+	return "float complex matrix";
+    }
+
+    @Override
+    public OctaveComplex read(final BufferedReader reader) {
+	final int rows = parseInt(reader, ROWS);
+	final int columns = parseInt(reader, COLUMNS);
+	final OctaveComplex complex = new OctaveComplex(rows, columns);
+	for (int r = 1; r <= rows; ++r) {
+	    final String line = OctaveIO.readerReadLine(reader);
+	    final String[] split = line.split(" ");
+	    if (split.length != columns + 1) {
+		throw new OctaveParseException
+		    ("Error in float complex matrix-format: '" + line + "'");
+	    }
+	    for (int c = 1; c < split.length; c++) {
+		final int commaIndex = split[c].indexOf(',');
+		final float real = StringUtil
+		    .parseFloat(split[c].substring(1, commaIndex));
+		final float imag = StringUtil
+		    .parseFloat(split[c].substring(commaIndex + 1,
+						   split[c].length() - 1));
+		complex.setReal(real, r, c);
+		complex.setImag(imag, r, c);
+	    }
+	}
+	return complex;
+    }
+
+    /**
+     * Reads a line starting with <code>prefix</code> followed by an int. 
+     *
+     * @param reader
+     * @param prefix
+     *    {@link #ROWS} or {@link #COLUMNS} 
+     * @return
+     *    the int following <code>prefix</code> 
+     */
+    private static int parseInt(final BufferedReader reader, 
+				final String prefix) {
+	final String line = OctaveIO.readerReadLine(reader);
+	if (!line.startsWith(prefix)) {
+	    throw new OctaveParseException
+		("Expected <" + prefix + "> got <" + line + ">");
+	}
+	return Integer.parseInt(line.substring(prefix.length()));
+    }
+
+}
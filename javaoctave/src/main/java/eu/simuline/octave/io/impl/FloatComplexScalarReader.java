@@ -0,0 +1,59 @@
+/*
+ * Copyright 2026 Simuline Organization (l2r)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.simuline.octave.io.impl;
+
+import java.io.BufferedReader;
+
+import eu.simuline.octave.io.OctaveIO;
+import eu.simuline.octave.io.spi.OctaveDataReader;
+import eu.simuline.octave.type.OctaveComplex;
+import eu.simuline.octave.util.StringUtil;
+
+/**
+ * The reader for the octave type "float complex scalar" 
+ * reading an {@link OctaveComplex} from a {@link BufferedReader}. 
+ * The components are parsed as floats 
+ * and widened to doubles without loss. 
+ *
+ * Format is: 
+ *
+ * <pre>
+ * # type: float complex scalar 
+ * (1.2,3.4) 
+ * </pre> 
+ */
+public final class FloatComplexScalarReader extends OctaveDataReader {
+
+    @Override
+    public String octaveType() {
+	return "float complex scalar";
+    }
+
+    @Override
+    public OctaveComplex read(final BufferedReader reader) {
+	final String line = OctaveIO.readerReadLine(reader);
+	final int commaIndex = line.indexOf(',');
+	final float real = StringUtil
+	    .parseFloat(line.substring(1, commaIndex));
+	final float imag = StringUtil
+	    .parseFloat(line.substring(commaIndex + 1, line.length() - 1));
+	final OctaveComplex complex = new OctaveComplex(1, 1);
+	complex.setReal(real, 1, 1);
+	complex.setImag(imag, 1, 1);
+	return complex;
+    }
+
+}
@@ -387,25 +387,25 @@
  *   <tr>
  *   <th>43</th>
  *   <th>"float scalar"</th>
- *   <th>---</th>
- *   <th>---</th>
- *   <th>---</th>
+ *   <th>see 45</th>
+ *   <th>{@link eu.simuline.octave.io.impl.FloatScalarReader}</th>
+ *   <th>see 45</th>
  *   </tr>
 
  *   <tr>
  *   <th>44</th>
  *   <th>"float complex scalar"</th>
- *   <th>---</th>
- *   <th>---</th>
+ *   <th>see 7</th>
+ *   <th>{@link eu.simuline.octave.io.impl.FloatComplexScalarReader}</th>
  *   <th>---</th>
  *   </tr>
 
  *   <tr>
  *   <th>45</th>
  *   <th>"float matrix"</th>
- *   <th>---</th>
- *   <th>---</th>
- *   <th>---</th>
+ *   <th>{@link eu.simuline.octave.type.OctaveSingle}</th>
+ *   <th>{@link eu.simuline.octave.io.impl.FloatMatrixReader}</th>
+ *   <th>{@link eu.simuline.octave.io.impl.FloatMatrixWriter}</th>
  *   </tr>
 
  *   <tr>
@@ -419,8 +419,8 @@
  *   <tr>
  *   <th>47</th>
  *   <th>"float complex matrix"</th>
- *   <th>---</th>
- *   <th>---</th>
+ *   <th>see 7</th>
+ *   <th>{@link eu.simuline.octave.io.impl.FloatComplexMatrixReader}</th>
  *   <th>---</th>
  *   </tr>
 
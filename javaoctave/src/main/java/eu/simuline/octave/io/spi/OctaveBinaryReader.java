@@ -0,0 +1,102 @@
+/*
+ * Copyright 2026 Simuline Organization (l2r)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.simuline.octave.io.spi;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+import eu.simuline.octave.type.OctaveObject;
+
+/**
+ * Service Provider Interface for the IO handler 
+ * that can read {@link OctaveObject}s 
+ * saved by octave in its <code>-binary</code> format. 
+ * This is the binary counterpart of {@link OctaveDataReader}: 
+ * The octave type which can be read is given by {@link #octaveType()} 
+ * whereas {@link #read(ByteBuffer)} performs reading. 
+ * <p> 
+ * The according implementations 
+ * are in package {@link eu.simuline.octave.io.impl} 
+ * and extend this class. 
+ * These classes are registered in the jar-file under 
+ * <code>META-INF/services/eu.simuline.octave.io.spi.OctaveBinaryReader</code> 
+ * and looked up via {@link ServiceLoader}. 
+ */
+public abstract class OctaveBinaryReader {
+
+    /**
+     * Maps the {@link #octaveType()} 
+     * of an {@link OctaveBinaryReader} to the {@link OctaveBinaryReader} 
+     * itself which is able to read the octave type from a buffer. 
+     */
+    private static Map<String, OctaveBinaryReader> rEADERS = null;
+
+    /**
+     * @param type
+     * @return The OctaveBinaryReader or null if it does not exist
+     */
+    public static OctaveBinaryReader getOctaveBinaryReader(final String type) {
+	initReaderIfNecessary();
+	return rEADERS.get(type);
+    }
+
+    private static synchronized void initReaderIfNecessary() {
+	if (rEADERS != null) {
+	    return;
+	}
+	rEADERS = new HashMap<String, OctaveBinaryReader>();
+	final Iterator<OctaveBinaryReader> sp = 
+	    ServiceLoader.load(OctaveBinaryReader.class).iterator();
+	OctaveBinaryReader obr, obrOrg;
+	while (sp.hasNext()) {
+	    obr = sp.next();
+	    assert obr != null;
+	    obrOrg = rEADERS.put(obr.octaveType(), obr);
+	    if (obrOrg != null) {
+		 throw new IllegalStateException
+		     ("Octave type " + obr.octaveType() + 
+		      " has binary readers of type " + obr.getClass() + 
+		      " and " + obrOrg.getClass() + ". ");
+	    }
+	}
+    }
+
+    /**
+     * Could be "scalar" or "matrix" or something else. 
+     *
+     * @return
+     *    the string representation of the octave type 
+     *    read by this {@link OctaveBinaryReader} 
+     */
+    public abstract String octaveType();
+
+    /**
+     * Reads an {@link OctaveObject} from <code>buf</code>. 
+     *
+     * @param buf
+     *    the buffer to read from, 
+     *    positioned at the data following the type of the variable 
+     *    and with the byte order of the saved data. 
+     *    After reading, it is positioned behind the object. 
+     * @return
+     *   the object read from <code>buf</code>. 
+     */
+    public abstract OctaveObject read(ByteBuffer buf);
+
+}
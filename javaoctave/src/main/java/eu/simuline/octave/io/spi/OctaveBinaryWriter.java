@@ -0,0 +1,132 @@
+/*
+ * Copyright 2026 Simuline Organization (l2r)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.simuline.octave.io.spi;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+import eu.simuline.octave.type.OctaveObject;
+
+/**
+ * Service Provider Interface for the IO handler 
+ * that can write {@link OctaveObject}s 
+ * in the <code>-binary</code> format of octave. 
+ * This is the binary counterpart of {@link OctaveDataWriter}: 
+ * The java type which can be written is given by {@link #javaType()}, 
+ * the octave type it is written as by {@link #octaveType()}, 
+ * whereas {@link #write(ByteBuffer, OctaveObject)} performs writing 
+ * of {@link #byteSize(OctaveObject)} bytes. 
+ * <p> 
+ * The according implementations 
+ * are in package {@link eu.simuline.octave.io.impl} 
+ * and extend this class. 
+ * These classes are registered in the jar-file under 
+ * <code>META-INF/services/eu.simuline.octave.io.spi.OctaveBinaryWriter</code> 
+ * and looked up via {@link ServiceLoader}. 
+ *
+ * @param <T>
+ *    the type of {@link OctaveObject} written. 
+ */
+public abstract class OctaveBinaryWriter<T extends OctaveObject> {
+
+    /**
+     * Maps the {@link #javaType()} 
+     * of an {@link OctaveBinaryWriter} to the {@link OctaveBinaryWriter} 
+     * itself which is able to write the java type to a buffer. 
+     */
+    private static 
+	Map<Class<? extends OctaveObject>, OctaveBinaryWriter<?>> wRITERS;
+
+    /**
+     * @param <T>
+     * @param type
+     * @return The OctaveBinaryWriter or null if it does not exist
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends OctaveObject> 
+	OctaveBinaryWriter<T> getOctaveBinaryWriter(final T type) {
+	initWriterIfNecessary();
+	return (OctaveBinaryWriter<T>) wRITERS.get(type.getClass());
+    }
+
+    private static synchronized void initWriterIfNecessary() {
+	if (wRITERS != null) {
+	    return;
+	}
+	wRITERS = new HashMap
+	    <Class<? extends OctaveObject>, OctaveBinaryWriter<?>>();
+	@SuppressWarnings("rawtypes")
+	final Iterator<OctaveBinaryWriter> sp = 
+	    ServiceLoader.load(OctaveBinaryWriter.class).iterator();
+	OctaveBinaryWriter<?> obw, obwOrg;
+	while (sp.hasNext()) {
+	    obw = sp.next();
+	    assert obw != null;
+	    obwOrg = wRITERS.put(obw.javaType(), obw);
+	    if (obwOrg != null) {
+		throw new IllegalStateException
+		    ("Java type " + obw.javaType() + 
+		     " has binary writers of type " + obw.getClass() + 
+		     " and " + obwOrg.getClass() + ". ");
+	    }
+	}
+    }
+
+    /**
+     * Could be OctaveDouble or OctaveBoolean. 
+     *
+     * @return the {@link Class} of the {@link OctaveObject} 
+     *    that this IO handler saves 
+     */
+    public abstract Class<T> javaType();
+
+    /**
+     * Could be "matrix" or "bool matrix". 
+     *
+     * @return
+     *    the string representation of the octave type 
+     *    written by this {@link OctaveBinaryWriter}. 
+     */
+    public abstract String octaveType();
+
+    /**
+     * Returns the number of bytes 
+     * {@link #write(ByteBuffer, OctaveObject)} writes for <code>value</code>. 
+     *
+     * @param value
+     *    the value to be written 
+     * @return
+     *    the number of bytes needed to write <code>value</code>. 
+     */
+    public abstract long byteSize(T value);
+
+    /**
+     * Writes <code>value</code> to <code>buf</code>, 
+     * i.e. the data following the type of the variable. 
+     *
+     * @param buf
+     *    the buffer to write to 
+     *    with the byte order announced in the header of the data saved 
+     *    and at least {@link #byteSize(OctaveObject)} bytes remaining. 
+     * @param value
+     *    the value to write 
+     */
+    public abstract void write(ByteBuffer buf, T value);
+
+}
@@ -28,5 +28,9 @@
  * The two abstract classes provided are 
  * {@link eu.simuline.octave.io.spi.OctaveDataReader} and 
  * {@link eu.simuline.octave.io.spi.OctaveDataWriter}. 
+ * Their binary counterparts 
+ * {@link eu.simuline.octave.io.spi.OctaveBinaryReader} and 
+ * {@link eu.simuline.octave.io.spi.OctaveBinaryWriter} 
+ * read and write the <code>-binary</code> format of octave. 
  */
 package eu.simuline.octave.io.spi;
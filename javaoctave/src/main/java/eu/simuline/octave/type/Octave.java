@@ -35,4 +35,14 @@ public final class Octave {
         return od;
     }
 
+    /**
+     * @param f
+     * @return New OctaveSingle with a single value
+     */
+    public static OctaveSingle single(final float f) {
+        final OctaveSingle os = new OctaveSingle(1, 1);
+        os.set(f, 1, 1);
+        return os;
+    }
+
 }
@@ -51,6 +51,49 @@ public final class OctaveComplex implements OctaveObject {
 	this.imag = r.zero();
     }
 
+    /**
+     * Constructor that reuses the given parts. 
+     *
+     * @param real
+     *    the real part 
+     * @param imag
+     *    the imaginary part with the same size as <code>real</code> 
+     * @throws IllegalArgumentException
+     *    if the parts differ in size. 
+     */
+    public OctaveComplex(final OctaveDouble real, final OctaveDouble imag) {
+	if (real.getSizeLength() != imag.getSizeLength()) {
+	    throw new IllegalArgumentException
+		("Real and imaginary part differ in size. ");
+	}
+	for (int idx = 1; idx <= real.getSizeLength(); idx++) {
+	    if (real.getSize(idx) != imag.getSize(idx)) {
+		throw new IllegalArgumentException
+		    ("Real and imaginary part differ in size. ");
+	    }
+	}
+        this.real = real;
+        this.imag = imag;
+    }
+
+    /**
+     * Returns the real part without copying. 
+     *
+     * @return the real part 
+     */
+    public OctaveDouble getRealPart() {
+        return this.real;
+    }
+
+    /**
+     * Returns the imaginary part without copying. 
+     *
+     * @return the imaginary part 
+     */
+    public OctaveDouble getImagPart() {
+        return this.imag;
+    }
+
     /**
      * @param i
      *            dimension number in 1 based numbering, 1=row, 2=column
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2026 Simuline Organization (l2r)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.simuline.octave.type;
+
+import eu.simuline.octave.type.matrix.FloatMatrix;
+
+/**
+ * Represents a matrix of floats, 
+ * i.e. of values of class <code>single</code> in octave. 
+ * Compared with {@link OctaveDouble}, 
+ * this takes half the memory and half the bytes to transfer. 
+ */
+public final class OctaveSingle extends FloatMatrix implements OctaveObject {
+
+    /**
+     * Create new matrix. 
+     * 
+     * @param size
+     */
+    // used by Octave, Reader and Writer
+    public OctaveSingle(final int... size) {
+	super(size);
+    }
+
+    /**
+     * Constructor that reuses the input data. 
+     * 
+     * @param data
+     * @param size
+     */
+    // used by the end user and the binary readers 
+    public OctaveSingle(final float[] data, final int... size) {
+	super(data, size);
+    }
+
+    /**
+     * Copy constructor. 
+     * 
+     * @param o
+     */
+    // used by shallowCopy
+    public OctaveSingle(final OctaveSingle o) {
+	super(o);
+    }
+
+    @Override
+    public OctaveSingle shallowCopy() {
+	return new OctaveSingle(this);
+    }
+
+}
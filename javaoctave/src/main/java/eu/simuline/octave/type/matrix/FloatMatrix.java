@@ -0,0 +1,125 @@
+/*
+ * Copyright 2026 Simuline Organization (l2r)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.simuline.octave.type.matrix;
+
+import eu.simuline.octave.util.StringUtil;
+import it.unimi.dsi.fastutil.floats.FloatArrayList;
+
+/**
+ * General matrix with float values. 
+ */
+// used as superclass of class OctaveSingle only 
+public abstract class FloatMatrix 
+    extends AbstractGenericMatrix<float[], FloatArrayList> {
+
+    /**
+     * @param size
+     */
+    public FloatMatrix(final int... size) {
+	super(size);
+    }
+
+    /**
+     * Constructor that reuses the input data. 
+     * 
+     * @param dataA
+     * @param size
+     */
+    public FloatMatrix(final float[] dataA, final int... size) {
+	super(dataA, size);
+    }
+
+    /**
+     * Copy constructor. 
+     * 
+     * @param o
+     */
+    public FloatMatrix(final FloatMatrix o) {
+	super(o);
+    }
+
+    protected final FloatArrayList newL(final int size) {
+	FloatArrayList list = new FloatArrayList(size);
+	list.size(size);
+	return list;
+    }
+
+    protected final int initL(float[] data, final int size) {
+	this.dataL = new FloatArrayList(data);
+	this.dataL.size(size);
+	return data.length;
+    }
+
+    protected float[] getDataA() {
+	return this.dataL.elements();
+    }
+
+    /**
+     * Returns the data, vectorized, without copying. 
+     * The array may be longer than {@link #dataSize()}; 
+     * the entries beyond are immaterial. 
+     * Changes of the array write through to this matrix. 
+     * This is for transferring the data in bulk. 
+     *
+     * @return the array backing this matrix 
+     */
+    public final float[] getData() {
+	return getDataA();
+    }
+
+    /**
+     * Set the value resizing by need. 
+     * 
+     * @param value
+     * @param pos
+     * @see #setPlain(float, int)
+     */
+    public final void set(final float value, final int... pos) {
+	resizeUp(pos);
+	setPlain(value, pos2ind(pos));
+    }
+
+    /**
+     * Set the value assuming resize is not necessary. 
+     * 
+     * @param value
+     * @param pos
+     * @see #set(float, int[])
+     */
+    public final void setPlain(final float value, final int pos) {
+	this.dataL.set(pos, value);
+    }
+
+    // api-docs inherited from AbstractGenericMatrix 
+    public final void setPlain(final String value, final int pos) {
+	this.dataL.set(pos, StringUtil.parseFloat(value));
+    }
+
+    /**
+     * Get the value. 
+     * 
+     * @param pos
+     * @return value at pos
+     */
+    public final float get(final int... pos) {
+	return this.dataL.getFloat(pos2ind(pos));
+    }
+
+    public final String getPlainString(int pos) {
+	return Float.toString(this.dataL.getFloat(pos));
+    }
+
+}
@@ -66,6 +66,19 @@ public abstract class IntMatrix
 	return this.dataL.elements();
     }
 
+    /**
+     * Returns the data, vectorized, without copying. 
+     * The array may be longer than {@link #dataSize()}; 
+     * the entries beyond are immaterial. 
+     * Changes of the array write through to this matrix. 
+     * This is for transferring the data in bulk. 
+     *
+     * @return the array backing this matrix 
+     */
+    public final int[] getData() {
+	return getDataA();
+    }
+
     /**
      * Set the value resizing by need. 
      * 
@@ -6,6 +6,8 @@
  * represents matrices with boolean entries, 
  * {@link eu.simuline.octave.type.matrix.DoubleMatrix} 
  * represents matrices with double entries, 
+ * {@link eu.simuline.octave.type.matrix.FloatMatrix} 
+ * represents matrices with float entries, 
  * {@link eu.simuline.octave.type.matrix.IntMatrix} 
  * represents matrices with int entries. 
  * Besides these primitive types, 
@@ -20,6 +20,9 @@
  * {@link eu.simuline.octave.type.OctaveInt} extending 
  * {@link eu.simuline.octave.type.matrix.IntMatrix}, 
  * <li>
+ * {@link eu.simuline.octave.type.OctaveSingle} extending 
+ * {@link eu.simuline.octave.type.matrix.FloatMatrix}, 
+ * <li>
  * Without base class, i.e. based on object: 
  * {@link eu.simuline.octave.type.OctaveSparseBoolean}, 
  * {@link eu.simuline.octave.type.OctaveString}, 
@@ -30,7 +33,8 @@
  * </ul>
  * Special is {@link eu.simuline.octave.type.Octave} 
  * the use of which is not clear to me... 
- * Provides a single static method 
- * {@link eu.simuline.octave.type.Octave#scalar(double)}. 
+ * Provides static methods 
+ * {@link eu.simuline.octave.type.Octave#scalar(double)} 
+ * and {@link eu.simuline.octave.type.Octave#single(float)}. 
  */
 package eu.simuline.octave.type;
@@ -0,0 +1,320 @@
+/*
+ * Copyright 2026 Simuline Organization (l2r)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.simuline.octave.util;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Writer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * A writer for logging which hands over each chunk written 
+ * to a bounded queue drained by a thread of its own 
+ * writing the chunks to an underlying writer. 
+ * So, unlike a {@link TeeWriter} writing to a log synchronously, 
+ * a slow log does not slow down the writer of the data logged, 
+ * e.g. the data sent to octave. 
+ * What happens if the queue is full is determined by a {@link Policy}. 
+ * Chunks not logged are counted by {@link #getNumDropped()} 
+ * and are marked in the log by a comment line 
+ * starting with {@link #DROP_MARKER}. 
+ * <p> 
+ * This writer may be written by several threads. 
+ * The underlying writer is flushed whenever the queue ran empty 
+ * and is closed by {@link #close()}. 
+ */
+public final class AsyncLogWriter extends Writer {
+
+    private static final Log LOG = LogFactory.getLog(AsyncLogWriter.class);
+
+    /**
+     * The start of the line written to the log 
+     * in place of chunks dropped. 
+     * This is a comment in octave. 
+     */
+    public static final String DROP_MARKER = "% javaoctave: dropped ";
+
+    /**
+     * What to do with a chunk written if the queue is full. 
+     */
+    public enum Policy {
+	/**
+	 * Wait until there is space in the queue. 
+	 * So nothing is dropped, but a slow log slows down the writer. 
+	 */
+	BLOCK,
+	/**
+	 * Drop the chunk. 
+	 */
+	DROP,
+	/**
+	 * Log only one of {@link AsyncLogWriter#sampleRate} chunks 
+	 * and drop the others; 
+	 * if the queue is full also drop the chunk to be logged. 
+	 */
+	SAMPLE;
+    } // enum Policy 
+
+    /**
+     * The chunk marking the end of the data in {@link #queue}. 
+     */
+    private static final char[] EOF = new char[0];
+
+    /**
+     * The number of failures writing to {@link #out} in a row 
+     * after which logging is stopped. 
+     */
+    static final int MAX_FAILURES = 3;
+
+    /**
+     * The writer the chunks are written to by {@link #drainThread}. 
+     */
+    private final Writer out;
+
+    /**
+     * The chunks written but not yet logged. 
+     */
+    private final BlockingQueue<char[]> queue;
+
+    /**
+     * The policy applied if {@link #queue} is full. 
+     */
+    private final Policy policy;
+
+    /**
+     * For {@link Policy#SAMPLE} one of that many chunks is logged. 
+     * For the other policies this is <code>1</code>. 
+     */
+    private final int sampleRate;
+
+    /**
+     * The number of chunks written so far. 
+     */
+    private final AtomicLong numChunks = new AtomicLong();
+
+    /**
+     * The number of characters dropped so far. 
+     */
+    private final AtomicLong numDropped = new AtomicLong();
+
+    /**
+     * The thread writing the chunks in {@link #queue} to {@link #out}. 
+     */
+    private final Thread drainThread;
+
+    /**
+     * Whether this writer is closed. 
+     * This is set and checked under {@link #lock}, 
+     * so that no chunk is queued after {@link #EOF}. 
+     */
+    private boolean closed = false;
+
+    /**
+     * Creates a writer logging to <code>out</code> asynchronously. 
+     * This is as {@link #AsyncLogWriter(Writer, int, Policy, int)} 
+     * logging each chunk as long as the queue is not full. 
+     *
+     * @param out
+     *    the writer to log to. 
+     * @param capacity
+     *    the maximal number of chunks in the queue. 
+     * @param policy
+     *    the policy if the queue is full 
+     *    which may not be {@link Policy#SAMPLE}. 
+     */
+    public AsyncLogWriter(final Writer out, 
+			  final int capacity, 
+			  final Policy policy) {
+	this(out, capacity, policy, 1);
+    }
+
+    /**
+     * Creates a writer logging to <code>out</code> asynchronously 
+     * and starts the thread draining the queue, which is a daemon. 
+     *
+     * @param out
+     *    the writer to log to. 
+     * @param capacity
+     *    the maximal number of chunks in the queue which shall be positive. 
+     * @param policy
+     *    the policy if the queue is full. 
+     * @param sampleRate
+     *    for {@link Policy#SAMPLE} one of that many chunks is logged. 
+     *    This shall be positive and is <code>1</code> for the other policies. 
+     * @throws IllegalArgumentException
+     *    if <code>capacity</code> or <code>sampleRate</code> is not positive 
+     *    or if <code>sampleRate</code> is not <code>1</code> 
+     *    although <code>policy</code> is not {@link Policy#SAMPLE}. 
+     */
+    public AsyncLogWriter(final Writer out, 
+			  final int capacity, 
+			  final Policy policy, 
+			  final int sampleRate) {
+	if (capacity <= 0 || sampleRate <= 0 
+	    || (sampleRate != 1 && policy != Policy.SAMPLE)) {
+	    throw new IllegalArgumentException
+		("Invalid capacity " + capacity + 
+		 " or sample rate " + sampleRate + ". ");
+	}
+	this.out = out;
+	this.queue = new ArrayBlockingQueue<char[]>(capacity);
+	this.policy = policy;
+	this.sampleRate = sampleRate;
+	this.drainThread = new NamedThreadFactory
+	    (AsyncLogWriter.class.getSimpleName(), true)
+	    .newThread(new Runnable() {
+		    @Override
+		    public void run() {
+			drain();
+		    }
+		});
+	this.drainThread.start();
+    }
+
+    @Override
+    public void write(final char[] cbuf, final int off, final int len) 
+	throws IOException {
+	synchronized (this.lock) {
+	    if (this.closed) {
+		throw new IOException("Writer is closed. ");
+	    }
+	    if (len == 0) {
+		return;
+	    }
+	    if (this.numChunks.getAndIncrement() % this.sampleRate != 0) {
+		this.numDropped.addAndGet(len);
+		return;
+	    }
+	    final char[] chunk = new char[len];
+	    System.arraycopy(cbuf, off, chunk, 0, len);
+	    if (this.policy == Policy.BLOCK) {
+		try {
+		    this.queue.put(chunk);
+		} catch (final InterruptedException e) {
+		    Thread.currentThread().interrupt();
+		    throw new InterruptedIOException();
+		}
+	    } else if (!this.queue.offer(chunk)) {
+		this.numDropped.addAndGet(len);
+	    }
+	}
+    }
+
+    /**
+     * Does nothing, because the underlying writer is flushed 
+     * whenever the queue ran empty. 
+     */
+    @Override
+    public void flush() {
+	// the drain thread flushes 
+    }
+
+    /**
+     * Closes this writer: 
+     * waits until all chunks in the queue are logged 
+     * and closes the underlying writer. 
+     *
+     * @throws IOException
+     *    if interrupted while waiting or closing the underlying writer fails. 
+     */
+    @Override
+    public void close() throws IOException {
+	synchronized (this.lock) {
+	    if (this.closed) {
+		return;
+	    }
+	    // chunks written before are queued already 
+	    this.closed = true;
+	}
+	try {
+	    this.queue.put(EOF);
+	    this.drainThread.join();
+	} catch (final InterruptedException e) {
+	    Thread.currentThread().interrupt();
+	    throw new InterruptedIOException();
+	}
+	this.out.close();
+    }
+
+    /**
+     * Returns the number of characters not logged 
+     * because the queue was full or because of sampling. 
+     *
+     * @return
+     *    the number of characters dropped. 
+     */
+    public long getNumDropped() {
+	return this.numDropped.get();
+    }
+
+    /**
+     * The loop of {@link #drainThread}: 
+     * Writes the chunks from {@link #queue} to {@link #out} 
+     * until taking {@link #EOF}. 
+     * Before a chunk following a drop, a {@link #DROP_MARKER} line is written. 
+     * If writing a chunk fails, the error is logged 
+     * and the chunk is counted as dropped. 
+     * Only after {@link #MAX_FAILURES} failures in a row 
+     * logging is stopped and further chunks are discarded. 
+     */
+    private void drain() {
+	long numDroppedLogged = 0;
+	int numFailures = 0;
+	while (true) {
+	    final char[] chunk;
+	    try {
+		chunk = this.queue.take();
+	    } catch (final InterruptedException e) {
+		LOG.debug("Drain thread interrupted. ", e);
+		return;
+	    }
+	    if (chunk == EOF) {
+		return;
+	    }
+	    if (numFailures >= MAX_FAILURES) {
+		continue;
+	    }
+	    try {
+		final long dropped = this.numDropped.get();
+		if (dropped != numDroppedLogged) {
+		    this.out.write("\n" + DROP_MARKER 
+				   + (dropped - numDroppedLogged) 
+				   + " characters\n");
+		    numDroppedLogged = dropped;
+		}
+		this.out.write(chunk);
+		if (this.queue.isEmpty()) {
+		    this.out.flush();
+		}
+		numFailures = 0;
+	    } catch (final IOException e) {
+		this.numDropped.addAndGet(chunk.length);
+		numFailures++;
+		if (numFailures >= MAX_FAILURES) {
+		    LOG.error("Error when writing to log; logging stopped. ", e);
+		} else {
+		    LOG.error("Error when writing to log. ", e);
+		}
+	    }
+	}
+    }
+
+}
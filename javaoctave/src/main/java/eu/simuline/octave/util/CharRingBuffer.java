@@ -0,0 +1,182 @@
+/*
+ * Copyright 2026 Simuline Organization (l2r)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.simuline.octave.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded lock-free queue of characters 
+ * for a single producer thread and a single consumer thread. 
+ * If the buffer is full, the producer does not wait 
+ * but the characters which do not fit are dropped and counted. 
+ * <p> 
+ * The positions {@link #head} and {@link #tail} are counted from the start 
+ * and are mapped into {@link #buf} via {@link #mask}. 
+ * Each of them is written by one thread only 
+ * and published after the characters are copied. 
+ */
+public final class CharRingBuffer {
+
+    /**
+     * The store of the characters. 
+     * Its length is a power of two. 
+     */
+    private final char[] buf;
+
+    /**
+     * The length of {@link #buf} minus one. 
+     */
+    private final int mask;
+
+    /**
+     * The position of the next character to be read. 
+     * This is written by the consumer only. 
+     */
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * The position of the next character to be written. 
+     * This is written by the producer only. 
+     */
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * The number of characters dropped because the buffer was full. 
+     */
+    private final AtomicLong numDropped = new AtomicLong();
+
+    /**
+     * Creates a buffer holding at least <code>capacity</code> characters. 
+     * The capacity is rounded up to a power of two. 
+     *
+     * @param capacity
+     *    the minimal capacity which shall be positive. 
+     * @throws IllegalArgumentException
+     *    if <code>capacity</code> is not positive or too large. 
+     */
+    public CharRingBuffer(final int capacity) {
+	if (capacity <= 0 || capacity > (1 << 30)) {
+	    throw new IllegalArgumentException
+		("Invalid capacity " + capacity + ". ");
+	}
+	final int size = Integer.highestOneBit(capacity) == capacity
+	    ? capacity : Integer.highestOneBit(capacity) << 1;
+	this.buf = new char[size];
+	this.mask = size - 1;
+    }
+
+    /**
+     * Returns the capacity. 
+     *
+     * @return
+     *    the maximal number of characters in this buffer. 
+     */
+    public int capacity() {
+	return this.buf.length;
+    }
+
+    /**
+     * Adds as many characters of <code>src</code> 
+     * as fit into this buffer and drops the rest. 
+     * This may be invoked by the producer thread only. 
+     *
+     * @param src
+     *    the array to take the characters from. 
+     * @param off
+     *    the index of the first character in <code>src</code>. 
+     * @param len
+     *    the number of characters to add. 
+     * @return
+     *    the number of characters added, 
+     *    which is less than <code>len</code> if characters were dropped. 
+     */
+    public int offer(final char[] src, final int off, final int len) {
+	final long pos = this.tail.get();
+	final int free = this.buf.length - (int) (pos - this.head.get());
+	final int num = Math.min(len, free);
+	copy(src, off, this.buf, (int) pos & this.mask, num, true);
+	this.tail.lazySet(pos + num);
+	if (num < len) {
+	    this.numDropped.addAndGet(len - num);
+	}
+	return num;
+    }
+
+    /**
+     * Removes at most <code>len</code> characters from this buffer 
+     * and copies them to <code>dst</code>. 
+     * This may be invoked by the consumer thread only. 
+     *
+     * @param dst
+     *    the array to copy the characters to. 
+     * @param off
+     *    the index in <code>dst</code> of the first character copied. 
+     * @param len
+     *    the maximal number of characters to copy. 
+     * @return
+     *    the number of characters copied, 
+     *    which is <code>0</code> if this buffer is empty. 
+     */
+    public int poll(final char[] dst, final int off, final int len) {
+	final long pos = this.head.get();
+	final int num = (int) Math.min(len, this.tail.get() - pos);
+	copy(this.buf, (int) pos & this.mask, dst, off, num, false);
+	this.head.lazySet(pos + num);
+	return num;
+    }
+
+    /**
+     * Copies <code>num</code> characters 
+     * wrapping around at the end of {@link #buf}, 
+     * which is the target if <code>toBuf</code> is set 
+     * and the source otherwise. 
+     */
+    private void copy(final char[] src, final int srcOff, 
+		      final char[] dst, final int dstOff, 
+		      final int num, final boolean toBuf) {
+	final int bufOff = toBuf ? dstOff : srcOff;
+	final int first = Math.min(num, this.buf.length - bufOff);
+	System.arraycopy(src, srcOff, dst, dstOff, first);
+	if (first < num) {
+	    if (toBuf) {
+		System.arraycopy(src, srcOff + first, dst, 0, num - first);
+	    } else {
+		System.arraycopy(src, 0, dst, dstOff + first, num - first);
+	    }
+	}
+    }
+
+    /**
+     * Returns whether this buffer is empty. 
+     *
+     * @return
+     *    whether there is no character to be polled. 
+     */
+    public boolean isEmpty() {
+	return this.head.get() == this.tail.get();
+    }
+
+    /**
+     * Returns the number of characters dropped so far. 
+     *
+     * @return
+     *    the number of characters which did not fit into this buffer. 
+     */
+    public long getNumDropped() {
+	return this.numDropped.get();
+    }
+
+}
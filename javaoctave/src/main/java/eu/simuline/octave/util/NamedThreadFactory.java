@@ -64,6 +64,12 @@ public final class NamedThreadFactory implements ThreadFactory {
      */
     private final AtomicInteger threadNumber = new AtomicInteger(1);
 
+    /**
+     * Whether the threads created by {@link #newThread(Runnable)} 
+     * are daemon threads. 
+     */
+    private final boolean daemon;
+
     /**
      * Will create a factory that create Threads with the names: 
      * <code>[parent]-javaoctave-[prefix]-[pool#]-[thread#]</code>. 
@@ -75,27 +81,47 @@ public final class NamedThreadFactory implements ThreadFactory {
      * created by this factory. 
      * 
      * @param prefix
+     *    the prefix of the thread names, e.g. the simple name of a class. 
+     * @param daemon
+     *    whether the threads created are daemon threads. 
      */
     @SuppressWarnings("PMD.AvoidThreadGroup")
     // Thread.getThreadGroup() causes warning 
     // only because threadgroup has methods which are not threadsafe. 
     // but we do not invoke method on group, 
     // use just to create new thread with that group. 
-    private NamedThreadFactory(final String prefix) {
+    public NamedThreadFactory(final String prefix, final boolean daemon) {
         final SecurityManager securityManager = System.getSecurityManager();
         this.group = (securityManager == null) 
 	    ? Thread.currentThread().getThreadGroup()
 	    : securityManager       .getThreadGroup();
         this.namePrefix = Thread.currentThread().getName() + "-javaoctave-" 
 	    + prefix + "-" + POOL_NUMBER.getAndIncrement() + "-";
+	this.daemon = daemon;
     }
 
+    /**
+     * Will create a factory as {@link #NamedThreadFactory(String, boolean)} 
+     * creating threads which are no daemons. 
+     *
+     * @param prefix
+     *    the prefix of the thread names, e.g. the simple name of a class. 
+     */
+    public NamedThreadFactory(final String prefix) {
+	this(prefix, false);
+    }
+
+    /**
+     * Will create a factory with prefix 
+     * given by the simple name of {@link OctaveExec}. 
+     */
     public NamedThreadFactory() {
 	this(OctaveExec.class.getSimpleName());
     }
 
     /**
-     * Returns a new thread with standard priority which is no daemon 
+     * Returns a new thread with standard priority 
+     * which is a daemon if and only if {@link #daemon} is set 
      * from <code>runnable</code> 
      * with name consisting of {@link #namePrefix} and a running number 
      * {@link #threadNumber}. 
@@ -107,10 +133,10 @@ public final class NamedThreadFactory implements ThreadFactory {
     public Thread newThread(final Runnable runnable) {
 	String name = this.namePrefix + this.threadNumber.getAndIncrement();
         final Thread thread = new Thread(this.group, runnable, name);
-        if (thread.isDaemon()) {
-            thread.setDaemon(false);
+        if (thread.isDaemon() != this.daemon) {
+            thread.setDaemon(this.daemon);
         }
-	// Here, thread is no daemon 
+	// Here, thread is a daemon if and only if this.daemon is set 
         if (thread.getPriority() != Thread.NORM_PRIORITY) {
             thread.setPriority(Thread.NORM_PRIORITY);
         }
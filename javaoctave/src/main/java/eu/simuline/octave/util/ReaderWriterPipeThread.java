@@ -18,6 +18,9 @@ package eu.simuline.octave.util;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.Writer;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 
 import eu.simuline.octave.exception.OctaveIOException;
 import eu.simuline.octave.exception.OctaveInterruptedException;
@@ -26,82 +29,367 @@ import org.apache.commons.logging.LogFactory;
 import org.apache.commons.logging.Log;
 
 /**
- * A Thread that moves data from a Reader to a Writer. 
+ * A runnable that moves data from a Reader to a Writer 
+ * running in its own thread {@link #thread}. 
+ * This thread is created by a thread factory 
+ * and so it may also be a virtual thread. 
+ * <p> 
+ * The reading thread does not write to the writer itself 
+ * but puts the characters read into a bounded {@link CharRingBuffer} 
+ * which is drained to the writer by a second thread {@link #drainThread}. 
+ * Thus a slow writer does not stall the reader and so the octave process. 
+ * If the writer cannot keep up, characters are dropped and counted 
+ * by {@link #getNumDropped()}. 
+ * The writer is flushed only if the buffer ran empty. 
+ * Besides, the last characters read are kept in {@link #tail} 
+ * and are available via {@link #getTail()}, 
+ * or via {@link #getTail(long)} restricted to those read 
+ * since a position obtained from {@link #getTailPosition()}. 
  * 
  * @author Kim Hansen
  */
-public final class ReaderWriterPipeThread extends Thread {
+public final class ReaderWriterPipeThread implements Runnable {
 
     private static final Log LOG = LogFactory
 	.getLog(ReaderWriterPipeThread.class);
 
+    /**
+     * The default capacity of {@link #ring} in characters. 
+     */
+    public static final int DEFAULT_CAPACITY = 64 * 1024;
+
+    /**
+     * The default capacity of {@link #tail} in characters. 
+     */
+    public static final int DEFAULT_TAIL_CAPACITY = 4 * 1024;
+
+    /**
+     * The maximal time the drain thread sleeps 
+     * before looking for characters without being woken up. 
+     */
+    private static final long PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    /**
+     * The size of the buffers the reader reads into 
+     * and the drain thread polls into. 
+     */
     @SuppressWarnings("checkstyle:magicnumber")
-    private static final char[] BUF = new char[4 * 1024];
+    private static final int CHUNK_SIZE = 4 * 1024;
  
     private final Reader reader;
 
-    private Writer writer;
+    private volatile Writer writer;
+
+    /**
+     * The buffer read into by {@link #thread} only. 
+     */
+    private final char[] readBuf = new char[CHUNK_SIZE];
+
+    /**
+     * The characters read but not yet written. 
+     * Filled by {@link #thread} and drained by {@link #drainThread}. 
+     */
+    private final CharRingBuffer ring;
+
+    /**
+     * The last characters read, which are overwritten cyclically. 
+     * Accessed under the lock of this array. 
+     */
+    private final char[] tail;
+
+    /**
+     * The number of characters written into {@link #tail} so far. 
+     * Accessed under the lock of {@link #tail}. 
+     */
+    private long tailPos = 0;
+
+    /**
+     * Whether {@link #thread} finished reading. 
+     */
+    private volatile boolean readDone = false;
+
+    /**
+     * The thread running this runnable. 
+     * This is set once by 
+     * {@link #instantiate(Reader, Writer, ThreadFactory, int, int)}. 
+     */
+    private Thread thread;
+
+    /**
+     * The thread writing the characters in {@link #ring} to {@link #writer}. 
+     * This is set once by 
+     * {@link #instantiate(Reader, Writer, ThreadFactory, int, int)}. 
+     */
+    private Thread drainThread;
 
     /**
      * Will create a thread that reads from reader and writes to write 
      * until reader reaches EOF. 
-     * Then the thread will close. 
-     * Remember to join() this thread before closeing reader or writer.
+     * This is as {@link #instantiate(Reader, Writer, ThreadFactory)} 
+     * for a factory creating ordinary threads. 
      * 
      * @param reader
      * @param writer
-     * @return Returns the new thread
+     * @return Returns the new pipe
      */
     public static ReaderWriterPipeThread instantiate(final Reader reader, 
 						     final Writer writer) {
-        final ReaderWriterPipeThread readerWriterPipeThread = 
-	    new ReaderWriterPipeThread(reader, writer);
-        readerWriterPipeThread.setName(Thread.currentThread().getName() 
-				       + "-javaoctave-"
-				       + ReaderWriterPipeThread.class
-				       .getSimpleName());
-	readerWriterPipeThread
-	    .setUncaughtExceptionHandler(new Thread.UncaughtExceptionHandler() {
+	return instantiate(reader, writer, new ThreadFactory() {
+		@Override
+		public Thread newThread(final Runnable runnable) {
+		    return new Thread(runnable);
+		}
+	    });
+    }
+
+    /**
+     * Will create a thread from <code>threadFactory</code> 
+     * that reads from reader and writes to write 
+     * until reader reaches EOF. 
+     * This is as {@link #instantiate(Reader, Writer, ThreadFactory, int, int)} 
+     * with capacities {@link #DEFAULT_CAPACITY} 
+     * and {@link #DEFAULT_TAIL_CAPACITY}. 
+     * 
+     * @param reader
+     * @param writer
+     * @param threadFactory
+     *    the factory creating the threads running the pipe. 
+     * @return Returns the new pipe
+     */
+    public static ReaderWriterPipeThread instantiate
+	(final Reader reader, 
+	 final Writer writer, 
+	 final ThreadFactory threadFactory) {
+	return instantiate(reader, writer, threadFactory, 
+			   DEFAULT_CAPACITY, DEFAULT_TAIL_CAPACITY);
+    }
+
+    /**
+     * Will create a thread from <code>threadFactory</code> 
+     * that reads from reader and writes to write 
+     * until reader reaches EOF. 
+     * Then the thread will close. 
+     * Writing is done by a second thread from <code>threadFactory</code>. 
+     * Remember to {@link #close()} this before closeing reader or writer. 
+     * 
+     * @param reader
+     * @param writer
+     * @param threadFactory
+     *    the factory creating the threads running the pipe. 
+     * @param capacity
+     *    the number of characters read but not yet written 
+     *    beyond which characters are dropped. 
+     * @param tailCapacity
+     *    the number of characters read last which are kept 
+     *    to be returned by {@link #getTail()}. 
+     *    This may be <code>0</code>. 
+     * @return Returns the new pipe
+     */
+    public static ReaderWriterPipeThread instantiate
+	(final Reader reader, 
+	 final Writer writer, 
+	 final ThreadFactory threadFactory,
+	 final int capacity,
+	 final int tailCapacity) {
+	final ReaderWriterPipeThread readerWriterPipeThread = 
+	    new ReaderWriterPipeThread(reader, writer, capacity, tailCapacity);
+	final String name = Thread.currentThread().getName() 
+		       + "-javaoctave-"
+	    + ReaderWriterPipeThread.class.getSimpleName();
+	final Thread.UncaughtExceptionHandler handler = 
+	    new Thread.UncaughtExceptionHandler() {
 		    public void uncaughtException(Thread th, Throwable ex) {
 			System.out.println("Uncaught : " + ex + 
 					   " of thread " + th.getName());
 		    }
+	    };
+	final Thread thread = threadFactory.newThread(readerWriterPipeThread);
+	thread.setName(name);
+	thread.setUncaughtExceptionHandler(handler);
+	final Thread drainThread = threadFactory.newThread(new Runnable() {
+		@Override
+		public void run() {
+		    readerWriterPipeThread.drain();
+		}
 		});
-        readerWriterPipeThread.start();
-        return readerWriterPipeThread;
+	drainThread.setName(name + "-drain");
+	drainThread.setUncaughtExceptionHandler(handler);
+	readerWriterPipeThread.thread = thread;
+	readerWriterPipeThread.drainThread = drainThread;
+	drainThread.start();
+	thread.start();
+	return readerWriterPipeThread;
     }
 
-    private ReaderWriterPipeThread(final Reader reader, final Writer writer) {
-        this.reader = reader;
-        this.writer = writer;
+    private ReaderWriterPipeThread(final Reader reader, 
+				   final Writer writer,
+				   final int capacity,
+				   final int tailCapacity) {
+	this.reader = reader;
+	this.writer = writer;
+	this.ring = new CharRingBuffer(capacity);
+	this.tail = new char[tailCapacity];
     }
 
     @Override
     public void run() {
-        while (!interrupted()) {
-            int len;
-            try {
-                len = reader.read(BUF);
-            } catch (final IOException e) {
-                LOG.error("Error when reading from reader", e);
-                throw new OctaveIOException(e);
-            }
-            if (len == -1) {
-                break;
-            }
-            try {
-                synchronized (this) {
-                    if (writer != null) {
-                        writer.write(BUF, 0, len);
-                        writer.flush();
-                    }
-                }
-            } catch (final IOException e) {
-                LOG.error("Error when writing to writer", e);
-                throw new OctaveIOException(e);
-            }
-        }
-        LOG.debug("ReaderWriterPipeThread finished without error");
+	try {
+	    while (!Thread.interrupted()) {
+		int len;
+		try {
+		    len = this.reader.read(this.readBuf);
+		} catch (final IOException e) {
+		    LOG.error("Error when reading from reader", e);
+		    throw new OctaveIOException(e);
+		}
+		if (len == -1) {
+		    break;
+		}
+		this.ring.offer(this.readBuf, 0, len);
+		LockSupport.unpark(this.drainThread);
+		appendTail(len);
+	    }
+	} finally {
+	    this.readDone = true;
+	    LockSupport.unpark(this.drainThread);
+	}
+	LOG.debug("ReaderWriterPipeThread finished without error");
+    }
+
+    /**
+     * Appends the first <code>len</code> characters of {@link #readBuf} 
+     * to {@link #tail}. 
+     */
+    private void appendTail(final int len) {
+	final int cap = this.tail.length;
+	if (cap == 0) {
+	    return;
+	}
+	// only the last cap characters matter 
+	final int num = Math.min(len, cap);
+	final int srcOff = len - num;
+	synchronized (this.tail) {
+	    final int pos = (int) ((this.tailPos + len - num) % cap);
+	    final int first = Math.min(num, cap - pos);
+	    System.arraycopy(this.readBuf, srcOff, this.tail, pos, first);
+	    System.arraycopy(this.readBuf, srcOff + first, 
+			     this.tail, 0, num - first);
+	    this.tailPos += len;
+	}
+    }
+
+    /**
+     * The loop of {@link #drainThread}: 
+     * Writes the characters from {@link #ring} to {@link #writer} 
+     * until reading is done and the ring is empty. 
+     * The writer is flushed whenever the ring ran empty. 
+     */
+    private void drain() {
+	final char[] buf = new char[CHUNK_SIZE];
+	boolean dirty = false;
+	long numDropped = 0;
+	while (true) {
+	    final int len = this.ring.poll(buf, 0, buf.length);
+	    final Writer out = this.writer;
+	    try {
+		if (len > 0) {
+		    if (out != null) {
+			out.write(buf, 0, len);
+			dirty = true;
+		    }
+		    continue;
+		}
+		if (dirty && out != null) {
+		    out.flush();
+		}
+		dirty = false;
+	    } catch (final IOException e) {
+		LOG.error("Error when writing to writer", e);
+		throw new OctaveIOException(e);
+	    }
+	    if (this.ring.getNumDropped() != numDropped) {
+		LOG.warn("Dropped " + (this.ring.getNumDropped() - numDropped) 
+			 + " characters the writer could not keep up with. ");
+		numDropped = this.ring.getNumDropped();
+	    }
+	    if (this.readDone && this.ring.isEmpty()) {
+		return;
+	    }
+	    LockSupport.parkNanos(this, PARK_NANOS);
+	}
+    }
+
+    /**
+     * Returns the last characters read 
+     * up to the tail capacity given when creating this pipe. 
+     * Note that characters read by the octave process 
+     * but not yet by this pipe are not included. 
+     *
+     * @return
+     *    the last characters read. 
+     */
+    public String getTail() {
+	return getTail(0);
+    }
+
+    /**
+     * Returns the number of characters read last which are kept 
+     * to be returned by {@link #getTail()}. 
+     *
+     * @return
+     *    the tail capacity which may be <code>0</code>. 
+     */
+    public int getTailCapacity() {
+	return this.tail.length;
+    }
+
+    /**
+     * Returns the number of characters read so far. 
+     * This is a position to be passed to {@link #getTail(long)}. 
+     *
+     * @return
+     *    the number of characters read so far. 
+     */
+    public long getTailPosition() {
+	synchronized (this.tail) {
+	    return this.tailPos;
+	}
+    }
+
+    /**
+     * Returns the characters read since position <code>from</code> 
+     * but at most the last ones up to the tail capacity. 
+     *
+     * @param from
+     *    a position returned by {@link #getTailPosition()} before. 
+     * @return
+     *    the last characters read since <code>from</code>. 
+     */
+    public String getTail(final long from) {
+	synchronized (this.tail) {
+	    final int cap = this.tail.length;
+	    final int num = (int) Math.max(0, Math.min(cap, this.tailPos - from));
+	    final StringBuilder res = new StringBuilder(num);
+	    if (num == 0) {
+		return res.toString();
+	    }
+	    final int start = (int) ((this.tailPos - num) % cap);
+	    final int first = Math.min(num, cap - start);
+	    res.append(this.tail, start, first);
+	    res.append(this.tail, 0, num - first);
+	    return res.toString();
+	}
+    }
+
+    /**
+     * Returns the number of characters dropped 
+     * because the writer could not keep up. 
+     *
+     * @return
+     *    the number of characters read but not written. 
+     */
+    public long getNumDropped() {
+	return this.ring.getNumDropped();
     }
 
     /**
@@ -109,21 +397,21 @@ public final class ReaderWriterPipeThread extends Thread {
      *    the writer to set
      */
     public void setWriter(final Writer writer) {
-        synchronized (this) {
-            this.writer = writer;
-        }
+	this.writer = writer;
     }
 
     /**
-     * Close the thread.
+     * Close the thread 
+     * and wait until the characters read are written. 
      */
     public void close() {
-        interrupt();
-        try {
-            join();
-        } catch (final InterruptedException e) {
-            throw new OctaveInterruptedException(e);
-        }
+	this.thread.interrupt();
+	try {
+	    this.thread.join();
+	    this.drainThread.join();
+	} catch (final InterruptedException e) {
+	    throw new OctaveInterruptedException(e);
+	}
     }
 
 }
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2026 Simuline Organization (l2r)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.simuline.octave.util;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+import eu.simuline.octave.OctaveUtils;
+
+/**
+ * A writer to a file in UTF-8 which is rotated if it exceeds a given size: 
+ * The file <code>name</code> is renamed to <code>name.1</code>, 
+ * the file <code>name.1</code> to <code>name.2</code> and so on 
+ * up to a maximal number of files; the oldest one is deleted. 
+ * Then a new file <code>name</code> is started. 
+ * Rotation takes place after a chunk written exceeds the maximal size, 
+ * so that chunks are not split. 
+ * <p> 
+ * This is intended as the underlying writer of an {@link AsyncLogWriter}, 
+ * so that rotation does not slow down the writer of the data logged. 
+ * The methods are synchronized. 
+ */
+public final class RotatingFileWriter extends Writer {
+
+    /**
+     * The file currently written to. 
+     */
+    private final File file;
+
+    /**
+     * The size in bytes beyond which the file is rotated. 
+     */
+    private final long maxBytes;
+
+    /**
+     * The number of rotated files kept besides {@link #file}. 
+     */
+    private final int numBackups;
+
+    /**
+     * The size of {@link #file} in bytes 
+     * including the bytes still buffered in {@link #writer}. 
+     */
+    private long size;
+
+    /**
+     * Writes to {@link #file}. 
+     */
+    private Writer writer;
+
+    /**
+     * Creates a writer to <code>file</code> 
+     * which appends to the file if it exists already. 
+     *
+     * @param file
+     *    the file to write to. 
+     * @param maxBytes
+     *    the size in bytes beyond which the file is rotated. 
+     *    This shall be positive. 
+     * @param numBackups
+     *    the number of rotated files kept, 
+     *    i.e. the maximal <code>n</code> of a file <code>name.n</code>. 
+     *    If this is <code>0</code>, the file is just truncated. 
+     * @throws IOException
+     *    if the file cannot be opened. 
+     * @throws IllegalArgumentException
+     *    if <code>maxBytes</code> is not positive 
+     *    or if <code>numBackups</code> is negative. 
+     */
+    public RotatingFileWriter(final File file, 
+			      final long maxBytes, 
+			      final int numBackups) throws IOException {
+	if (maxBytes <= 0 || numBackups < 0) {
+	    throw new IllegalArgumentException
+		("Invalid maximal size " + maxBytes + 
+		 " or number of backups " + numBackups + ". ");
+	}
+	this.file = file;
+	this.maxBytes = maxBytes;
+	this.numBackups = numBackups;
+	open(true);
+    }
+
+    /**
+     * Opens {@link #file} for writing 
+     * appending if <code>append</code> is set. 
+     */
+    private void open(final boolean append) throws IOException {
+	this.writer = new OutputStreamWriter
+	    (new FileOutputStream(this.file, append), OctaveUtils.getUTF8());
+	this.size = append ? this.file.length() : 0;
+    }
+
+    /**
+     * Returns the number of bytes of the given characters in UTF-8. 
+     * This is computed instead of flushing the writer to count the bytes, 
+     * so that chunks are written to the file in batches. 
+     */
+    @SuppressWarnings("checkstyle:magicnumber")
+    private static long utf8Length(final char[] cbuf, 
+				   final int off, 
+				   final int len) {
+	long res = 0;
+	for (int idx = off; idx < off + len; idx++) {
+	    final char chr = cbuf[idx];
+	    if (chr < 0x80) {
+		res += 1;
+	    } else if (chr < 0x800) {
+		res += 2;
+	    } else if (Character.isSurrogate(chr)) {
+		// a pair takes four bytes 
+		res += 2;
+	    } else {
+		res += 3;
+	    }
+	}
+	return res;
+    }
+
+    /**
+     * Returns the rotated file with number <code>num</code>. 
+     */
+    private File backup(final int num) {
+	return new File(this.file.getPath() + "." + num);
+    }
+
+    /**
+     * Closes {@link #file}, renames the backups and the file 
+     * and opens a new file. 
+     * If renaming fails, {@link #file} is opened again for appending, 
+     * so that this writer remains usable, 
+     * and rotation is tried again after the next {@link #maxBytes}. 
+     * The chunk written before is in the file nevertheless. 
+     */
+    private void rotate() throws IOException {
+	this.writer.close();
+	try {
+	    renameBackups();
+	} catch (final IOException e) {
+	    open(true);
+	    // retry after the next maxBytes only 
+	    this.size = 0;
+	    throw e;
+	}
+	open(false);
+    }
+
+    /**
+     * Deletes the oldest backup and renames the others and {@link #file}. 
+     */
+    private void renameBackups() throws IOException {
+	if (this.numBackups > 0) {
+	    final File oldest = backup(this.numBackups);
+	    if (oldest.exists() && !oldest.delete()) {
+		throw new IOException("Could not delete " + oldest + ". ");
+	    }
+	    for (int num = this.numBackups - 1; num >= 1; num--) {
+		final File src = backup(num);
+		if (src.exists() && !src.renameTo(backup(num + 1))) {
+		    throw new IOException("Could not rename " + src + ". ");
+		}
+	    }
+	    if (!this.file.renameTo(backup(1))) {
+		throw new IOException("Could not rename " + this.file + ". ");
+	    }
+	}
+    }
+
+    @Override
+    public synchronized void write(final char[] cbuf, 
+				   final int off, 
+				   final int len) throws IOException {
+	this.writer.write(cbuf, off, len);
+	this.size += utf8Length(cbuf, off, len);
+	if (this.size >= this.maxBytes) {
+	    rotate();
+	}
+    }
+
+    @Override
+    public synchronized void flush() throws IOException {
+	this.writer.flush();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+	this.writer.close();
+    }
+
+}
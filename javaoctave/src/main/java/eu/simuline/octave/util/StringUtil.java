@@ -152,4 +152,23 @@ public final class StringUtil {
         }
         return Double.parseDouble(string);
     }
+
+    /**
+     * This is almost the same as Float.parseFloat(), 
+     * but it handles a few more versions of infinity, 
+     * also preceded by blanks as in vectorized matrices. 
+     *
+     * @param string
+     * @return The parsed Float
+     */
+    public static float parseFloat(final String string) {
+        final String trimmed = string.trim();
+        if ("Inf".equals(trimmed)) {
+            return Float.POSITIVE_INFINITY;
+        }
+        if ("-Inf".equals(trimmed)) {
+            return Float.NEGATIVE_INFINITY;
+        }
+        return Float.parseFloat(trimmed);
+    }
 }
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2026 Simuline Organization (l2r)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.simuline.octave.util;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A ThreadFactory creating virtual threads 
+ * named as the threads created by {@link NamedThreadFactory}. 
+ * Virtual threads are available from java 21 on only. 
+ * Since this library is compiled for java 8, 
+ * the factory is obtained via reflection 
+ * and {@link #isSupported()} tells whether this is possible. 
+ */
+public final class VirtualThreadFactory implements ThreadFactory {
+
+    /**
+     * This is initialized with 1 
+     * and read and incremented only if a factory object is created. 
+     */
+    private static final AtomicInteger POOL_NUMBER = new AtomicInteger(1);
+
+    /**
+     * The method <code>Thread.ofVirtual()</code> 
+     * or <code>null</code> if this is not available. 
+     * Note that for java 19 and 20 the method exists 
+     * but may throw an exception if preview features are not enabled; 
+     * then also this is <code>null</code>. 
+     */
+    private static final Method OF_VIRTUAL;
+
+    static {
+	Method ofVirtual;
+	try {
+	    ofVirtual = Thread.class.getMethod("ofVirtual");
+	    ofVirtual.invoke(null);
+	} catch (final NoSuchMethodException 
+		 | IllegalAccessException 
+		 | InvocationTargetException e) {
+	    ofVirtual = null;
+	}
+	OF_VIRTUAL = ofVirtual;
+    }
+
+    /**
+     * The name prefix as described for {@link NamedThreadFactory}. 
+     */
+    private final String namePrefix;
+
+    /**
+     * The number of the thread created next by this factory starting with one 
+     * and being incremented by method {@link #newThread(Runnable)}. 
+     */
+    private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+    /**
+     * The factory of virtual threads 
+     * obtained from <code>Thread.ofVirtual().factory()</code>. 
+     */
+    private final ThreadFactory delegate;
+
+    /**
+     * Will create a factory that create virtual threads with the names: 
+     * <code>[parent]-javaoctave-[prefix]-[pool#]-[thread#]</code> 
+     * as described for {@link NamedThreadFactory#NamedThreadFactory(String)}. 
+     *
+     * @param prefix
+     *    the prefix of the thread names, e.g. the simple name of a class. 
+     * @throws UnsupportedOperationException
+     *    if virtual threads are not supported, 
+     *    i.e. if {@link #isSupported()} returns false. 
+     */
+    public VirtualThreadFactory(final String prefix) {
+	if (!isSupported()) {
+	    throw new UnsupportedOperationException
+		("Virtual threads require java 21 or higher. ");
+	}
+	this.namePrefix = Thread.currentThread().getName() + "-javaoctave-" 
+	    + prefix + "-" + POOL_NUMBER.getAndIncrement() + "-";
+	try {
+	    final Object builder = OF_VIRTUAL.invoke(null);
+	    final Method factory = OF_VIRTUAL.getReturnType()
+		.getMethod("factory");
+	    this.delegate = (ThreadFactory) factory.invoke(builder);
+	} catch (final NoSuchMethodException 
+		 | IllegalAccessException 
+		 | InvocationTargetException e) {
+	    throw new UnsupportedOperationException
+		("Could not create factory for virtual threads. ", e);
+	}
+    }
+
+    /**
+     * Returns whether virtual threads are supported by the current jvm. 
+     *
+     * @return
+     *    whether <code>Thread.ofVirtual()</code> is available. 
+     */
+    public static boolean isSupported() {
+	return OF_VIRTUAL != null;
+    }
+
+    /**
+     * Returns a new virtual thread from <code>runnable</code> 
+     * with name consisting of {@link #namePrefix} and a running number 
+     * {@link #threadNumber}. 
+     * Note that virtual threads are always daemons 
+     * and have normal priority. 
+     *
+     * @param runnable
+     *    the runnable to create a thread from. 
+     */
+    @Override
+    public Thread newThread(final Runnable runnable) {
+	final Thread thread = this.delegate.newThread(runnable);
+	thread.setName(this.namePrefix + this.threadNumber.getAndIncrement());
+	return thread;
+    }
+
+}
@@ -6,15 +6,21 @@
  * {@link eu.simuline.octave.util.TeeWriter} 
  * {@link eu.simuline.octave.util.NoCloseWriter} 
  * are special writers, 
+ * {@link eu.simuline.octave.util.AsyncLogWriter} logs asynchronously 
+ * e.g. to a {@link eu.simuline.octave.util.RotatingFileWriter}, 
  * {@link eu.simuline.octave.util.IOUtils} is some utility class. 
  * In conjunctions with reader/writer, 
  * there is a thread copying reader to writer, 
  * {@link eu.simuline.octave.util.ReaderWriterPipeThread} 
+ * buffering in a {@link eu.simuline.octave.util.CharRingBuffer} 
  * <li>
  * some deal with strings 
  * {@link eu.simuline.octave.util.StringUtil}
  * <li>
- * Finally there is a thread factory to create a named thread from a runnable. 
+ * Finally there is a thread factory to create a named thread from a runnable 
+ * {@link eu.simuline.octave.util.NamedThreadFactory} 
+ * and its counterpart creating virtual threads 
+ * {@link eu.simuline.octave.util.VirtualThreadFactory}. 
  * </ul>
  */
 package eu.simuline.octave.util;
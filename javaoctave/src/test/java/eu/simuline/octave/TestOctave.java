@@ -24,18 +24,29 @@ import java.io.StringReader;
 import java.io.StringWriter;
 import java.io.Writer;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import org.junit.Ignore;
 import org.junit.Test;
 
+import eu.simuline.octave.exception.OctaveEvalException;
 import eu.simuline.octave.exception.OctaveException;
 import eu.simuline.octave.exception.OctaveIOException;
+import eu.simuline.octave.exception.OctaveTimeoutException;
 import eu.simuline.octave.type.Octave;
 import eu.simuline.octave.type.OctaveDouble;
 import eu.simuline.octave.type.OctaveObject;
+import eu.simuline.octave.type.OctaveString;
 
 /**
  * Tests eu.simuline.octave.Octave.*
@@ -253,4 +264,207 @@ public class TestOctave {
         octave.close();
     }
 
+    /**
+     * Test of the asynchronous methods 
+     * putAsync, evalAsync and getAsync performed in FIFO order. 
+     */
+    @Test public void testAsync() throws Exception {
+        final OctaveEngine octave = new OctaveEngineFactory().getScriptEngine();
+        octave.putAsync("x", Octave.scalar(42));
+        octave.evalAsync("x = x + 10;");
+        final CompletableFuture<OctaveDouble> future = 
+	    octave.getAsync(OctaveDouble.class, "x");
+        assertEquals(52.0, future.get().get(1, 1), 0.0);
+
+        try {
+            octave.evalAsync("error('testAsync');").get();
+            fail("Exception expected. ");
+        } catch (final ExecutionException e) {
+            assertTrue(e.getCause() instanceof OctaveEvalException);
+        }
+        octave.close();
+        try {
+            octave.evalAsync("x = 1;").get();
+            fail("Exception expected. ");
+        } catch (final ExecutionException e) {
+            assertTrue(e.getCause() instanceof OctaveIOException);
+        }
+    }
+
+    /**
+     * Test that the pipelined frames of eval stay in sync with the output 
+     * also after errors. 
+     */
+    @Test public void testEvalPipelined() {
+        final OctaveEngine octave = new OctaveEngineFactory().getScriptEngine();
+        final StringWriter result = new StringWriter();
+        octave.setWriter(result);
+        for (int i = 0; i < 3; i++) {
+            try {
+                octave.eval("printf('before'); error('testEvalPipelined');");
+                fail("Exception expected. ");
+            } catch (final OctaveEvalException e) {
+                assertTrue(e.getMessage().contains("testEvalPipelined"));
+            }
+            assertEquals("before", result.toString());
+            result.getBuffer().setLength(0);
+            octave.eval("printf('after');");
+            assertEquals("after", result.toString());
+            result.getBuffer().setLength(0);
+        }
+        octave.close();
+    }
+
+    /**
+     * Test that the message of an error is passed on unchanged 
+     * also if it contains newlines and percent signs 
+     * and that eval leaves no auxiliary variables 
+     * neither after success nor after failure. 
+     */
+    @Test public void testEvalStatus() {
+        final OctaveEngine octave = new OctaveEngineFactory().getScriptEngine();
+        final String msg = "first line\nsecond 100% done %s\n%d";
+        try {
+            octave.eval("error('%s', sprintf('first line\\nsecond " + 
+			"100%% done %%s\\n%%d'));");
+            fail("Exception expected. ");
+        } catch (final OctaveEvalException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains(msg));
+        }
+        assertNoAuxVars(octave);
+        octave.eval("x = 1;");
+        assertNoAuxVars(octave);
+        octave.close();
+    }
+
+    /**
+     * Asserts that there are no auxiliary variables of eval 
+     * using unsafeEval which does not create such variables itself. 
+     */
+    private static void assertNoAuxVars(final OctaveEngine octave) {
+        octave.unsafeEval("javaoctave_test_n = " + 
+			  "numel(who('javaoctave_*_eval', 'javaoctave_*_lasterr'));");
+        assertEquals(Octave.scalar(0), octave.get("javaoctave_test_n"));
+        octave.unsafeEval("clear javaoctave_test_n");
+    }
+
+    /**
+     * Test that getAll returns the existing variables only. 
+     */
+    @Test public void testGetAll() {
+        final OctaveEngine octave = new OctaveEngineFactory().getScriptEngine();
+        assertTrue(octave.getAll(Arrays.asList("x", "y")).isEmpty());
+        octave.put("x", Octave.scalar(1));
+        octave.put("z", Octave.scalar(3));
+        octave.eval("s = 'text';");
+        final Map<String, OctaveObject> vars = 
+	    octave.getAll(Arrays.asList("x", "y", "z", "s"));
+        assertEquals(3, vars.size());
+        assertEquals(Octave.scalar(1), vars.get("x"));
+        assertEquals(Octave.scalar(3), vars.get("z"));
+        assertEquals(new OctaveString("text"), vars.get("s"));
+        assertTrue(octave.getAll(Arrays.asList("javaoctave_getall_names"))
+		   .isEmpty());
+        octave.close();
+    }
+
+    /**
+     * Test that scripts too large to be written on the calling thread 
+     * are evaluated as small ones. 
+     */
+    @Test public void testEvalLargeScript() {
+        final OctaveEngine octave = new OctaveEngineFactory().getScriptEngine();
+        final StringBuilder script = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            script.append("x = " + i + ";\n");
+        }
+        octave.eval(script.toString());
+        assertEquals(Octave.scalar(1999), octave.get("x"));
+        octave.eval("x = 1;");
+        assertEquals(Octave.scalar(1), octave.get("x"));
+        octave.close();
+    }
+
+    /**
+     * Test that a script running too long is interrupted 
+     * and that the engine can be used further if not destroyed. 
+     */
+    @Test public void testTimeout() {
+        final OctaveEngine octave = new OctaveEngineFactory().getScriptEngine();
+        try {
+            octave.eval("while true; end", 500, TimeUnit.MILLISECONDS);
+            fail("Exception expected. ");
+        } catch (final OctaveTimeoutException e) {
+            if (e.isDestroyed()) {
+                return;
+            }
+        }
+        octave.setTimeout(10, TimeUnit.SECONDS);
+        octave.eval("x = 42;");
+        assertEquals(Octave.scalar(42), octave.get("x"));
+        octave.close();
+    }
+
+    /**
+     * Test of ping and of the statistics. 
+     */
+    @Test public void testPingStats() {
+        final OctaveEngine octave = new OctaveEngineFactory().getScriptEngine();
+        assertTrue(octave.ping(10, TimeUnit.SECONDS));
+        assertEquals(0, octave.getStats().getNumEvals());
+        assertEquals(-1, octave.getStats()
+		     .getLastEvalLatency(TimeUnit.NANOSECONDS));
+        octave.eval("x = 1;");
+        octave.unsafeEval("y = 2;");
+        final OctaveEngineStats stats = octave.getStats();
+        assertTrue(stats.isAlive());
+        assertEquals(2, stats.getNumEvals());
+        assertTrue(stats.getLastEvalLatency(TimeUnit.NANOSECONDS) > 0);
+        assertTrue(stats.getUptime(TimeUnit.NANOSECONDS) 
+		   >= stats.getLastEvalLatency(TimeUnit.NANOSECONDS));
+        octave.close();
+        assertFalse(octave.ping(1, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Test that a job clears its inputs, outputs and temporaries 
+     * but keeps other variables 
+     * and that it counts as a single evaluation. 
+     */
+    @Test public void testRunJob() {
+        final OctaveEngine octave = new OctaveEngineFactory().getScriptEngine();
+        octave.put("a", Octave.scalar(7));
+        final OctaveJob job = new OctaveJob
+	    (Collections.<String, OctaveObject>singletonMap("x", 
+							    Octave.scalar(2)),
+	     "t = x + a; y = t * t;",
+	     Collections.singleton("y"));
+        final Map<String, OctaveObject> res = octave.run(job);
+        assertEquals(Octave.scalar(81), res.get("y"));
+        assertEquals(1, octave.getStats().getNumEvals());
+        final Map<String, OctaveObject> vars = octave.getAll
+	    (Arrays.asList("a", "t", "x", "y", 
+			   OctaveJob.VARS_BEFORE, OctaveJob.VARS_CLEAR));
+        assertEquals(1, vars.size());
+        assertEquals(Octave.scalar(7), vars.get("a"));
+        octave.close();
+    }
+
+    /**
+     * Test that a positive timeout below a millisecond 
+     * is not taken as no timeout and that a negative one is rejected. 
+     */
+    @Test public void testTimeoutMillis() {
+        assertEquals(0, OctaveEngine.toTimeoutMillis(0, TimeUnit.SECONDS));
+        assertEquals(1, OctaveEngine.toTimeoutMillis(500, 
+						     TimeUnit.MICROSECONDS));
+        assertEquals(2000, OctaveEngine.toTimeoutMillis(2, TimeUnit.SECONDS));
+        try {
+            OctaveEngine.toTimeoutMillis(-1, TimeUnit.MILLISECONDS);
+            fail("Negative timeout shall be rejected. ");
+        } catch (final IllegalArgumentException e) {
+            // expected 
+        }
+    }
+
 }
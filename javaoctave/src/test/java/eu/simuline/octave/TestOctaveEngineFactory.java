@@ -0,0 +1,107 @@
+/*
+ * Copyright 2026 Simuline Organization (l2r)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.simuline.octave;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import eu.simuline.octave.exception.OctaveEvalException;
+import eu.simuline.octave.exception.OctaveRetryableException;
+import eu.simuline.octave.type.Octave;
+import eu.simuline.octave.type.OctaveDouble;
+
+/**
+ * Tests {@link OctaveEngineFactory}. 
+ */
+public class TestOctaveEngineFactory {
+
+    /**
+     * Test that engines, standby or not, are warmed up. 
+     */
+    @Test public void testStandbyWarmUp() throws InterruptedException {
+	final OctaveEngineFactory factory = new OctaveEngineFactory();
+	factory.setWarmUpScript("javaoctave_warm = 42;");
+	factory.setNumStandby(1);
+	// started without standby engine 
+	final OctaveEngine engine1 = factory.getScriptEngine();
+	assertEquals(42.0, engine1.get(OctaveDouble.class, "javaoctave_warm")
+		     .get(1, 1), 0.0);
+	// give the standby engine time to start up 
+	Thread.sleep(3000);
+	final OctaveEngine engine2 = factory.getScriptEngine();
+	assertEquals(42.0, engine2.get(OctaveDouble.class, "javaoctave_warm")
+		     .get(1, 1), 0.0);
+	factory.setNumStandby(0);
+	engine1.close();
+	engine2.close();
+    }
+
+    /**
+     * Test that a failing warm up script is reported. 
+     */
+    @Test public void testWarmUpFails() {
+	final OctaveEngineFactory factory = new OctaveEngineFactory();
+	factory.setWarmUpScript("error('warm up fails');");
+	try {
+	    factory.getScriptEngine();
+	    fail("Expected warm up to fail. ");
+	} catch (OctaveEvalException e) {
+	    // expected 
+	}
+    }
+
+    /**
+     * Test that engines work with virtual threads, 
+     * falling back to ordinary threads if these are not supported. 
+     */
+    @Test public void testVirtualThreads() {
+	final OctaveEngineFactory factory = new OctaveEngineFactory();
+	factory.setUseVirtualThreads(true);
+	final OctaveEngine engine = factory.getScriptEngine();
+	engine.eval("x = 6 * 7;");
+	assertEquals(42.0, engine.get(OctaveDouble.class, "x")
+		     .get(1, 1), 0.0);
+	engine.close();
+    }
+
+    /**
+     * Test that a supervised engine respawns a broken octave process 
+     * replaying the warm up script and the pinned variables. 
+     */
+    @Test public void testSupervised() {
+	final OctaveEngineFactory factory = new OctaveEngineFactory();
+	factory.setWarmUpScript("javaoctave_warm = 42;");
+	factory.setSupervised(true);
+	final OctaveEngine engine = factory.getScriptEngine();
+	engine.putPinned("pinned", Octave.scalar(1));
+	engine.put("unpinned", Octave.scalar(2));
+	try {
+	    engine.eval("exit(1);");
+	    fail("Expected process to break. ");
+	} catch (OctaveRetryableException e) {
+	    // expected 
+	}
+	assertEquals(42.0, engine.get(OctaveDouble.class, "javaoctave_warm")
+		     .get(1, 1), 0.0);
+	assertEquals(Octave.scalar(1), engine.get("pinned"));
+	assertNull(engine.get("unpinned"));
+	engine.close();
+    }
+
+}
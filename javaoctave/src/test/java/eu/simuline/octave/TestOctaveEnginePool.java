@@ -0,0 +1,133 @@
+/*
+ * Copyright 2026 Simuline Organization (l2r)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.simuline.octave;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import eu.simuline.octave.type.Octave;
+
+/**
+ * Tests {@link OctaveEnginePool}. 
+ */
+public class TestOctaveEnginePool {
+
+    /**
+     * Test that an engine given back is reused with its workspace cleared. 
+     */
+    @Test public void testCheckoutCheckin() {
+	final OctaveEnginePool pool =
+	    new OctaveEnginePool(new OctaveEngineFactory());
+	final OctaveEngine engine = pool.checkout();
+	assertEquals(1, pool.getNumActive());
+	engine.put("x", Octave.scalar(42));
+	pool.checkin(engine);
+	assertEquals(0, pool.getNumActive());
+	assertEquals(1, pool.getNumIdle());
+
+	final OctaveEngine engine2 = pool.checkout();
+	assertSame(engine, engine2);
+	assertNull(engine2.get("x"));
+	pool.checkin(engine2);
+	pool.close();
+	assertEquals(0, pool.getNumIdle());
+    }
+
+    /**
+     * Test that no more than the maximal number of engines are created. 
+     */
+    @Test public void testMaxTotal() {
+	final OctaveEnginePool pool =
+	    new OctaveEnginePool(new OctaveEngineFactory());
+	pool.setMaxTotal(2);
+	final OctaveEngine engine1 = pool.checkout();
+	final OctaveEngine engine2 = pool.checkout();
+	assertNotSame(engine1, engine2);
+	assertNull(pool.checkout(100, TimeUnit.MILLISECONDS));
+
+	pool.invalidate(engine1);
+	final OctaveEngine engine3 = pool.checkout(100, TimeUnit.MILLISECONDS);
+	assertNotSame(engine1, engine3);
+	try {
+	    pool.checkin(engine1);
+	    fail("Engine invalidated cannot be given back. ");
+	} catch (IllegalArgumentException e) {
+	    // expected
+	}
+	pool.checkin(engine2);
+	pool.checkin(engine3);
+	pool.close();
+    }
+
+    /**
+     * Test that idle engines are evicted but the minimal number is kept. 
+     */
+    @Test public void testEviction() throws InterruptedException {
+	final OctaveEnginePool pool =
+	    new OctaveEnginePool(new OctaveEngineFactory());
+	pool.setMaxTotal(2);
+	pool.setMinIdle(1);
+	pool.setMaxIdleTime(0, TimeUnit.MILLISECONDS);
+	final OctaveEngine engine1 = pool.checkout();
+	final OctaveEngine engine2 = pool.checkout();
+	pool.checkin(engine1);
+	pool.checkin(engine2);
+	assertEquals(2, pool.getNumIdle());
+	Thread.sleep(3000);
+	assertEquals(1, pool.getNumIdle());
+	pool.close();
+	try {
+	    pool.checkout();
+	    fail("Closed pool cannot provide engines. ");
+	} catch (IllegalStateException e) {
+	    // expected
+	}
+    }
+
+    /**
+     * Test that engines started to keep the minimal number idle 
+     * do not prevent older idle engines from being evicted. 
+     */
+    @Test public void testEvictionAfterRefill() throws InterruptedException {
+	final OctaveEnginePool pool =
+	    new OctaveEnginePool(new OctaveEngineFactory());
+	pool.setMaxTotal(3);
+	final OctaveEngine engine1 = pool.checkout();
+	final OctaveEngine engine2 = pool.checkout();
+	pool.checkin(engine1);
+	Thread.sleep(2000);
+	// refill starts a third engine, newer than engine1 
+	pool.setMinIdle(2);
+	while (pool.getNumIdle() < 2) {
+	    Thread.sleep(50);
+	}
+	pool.checkin(engine2);
+	assertEquals(3, pool.getNumIdle());
+	// only engine1 is idle for that long 
+	pool.setMaxIdleTime(1500, TimeUnit.MILLISECONDS);
+	Thread.sleep(1200);
+	assertEquals(2, pool.getNumIdle());
+	pool.close();
+    }
+
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2026 Simuline Organization (l2r)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.simuline.octave;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import eu.simuline.octave.type.OctaveDouble;
+import eu.simuline.octave.type.OctaveObject;
+
+/**
+ * Tests {@link OctaveScheduler}. 
+ */
+public class TestOctaveScheduler {
+
+    private static OctaveJob job(final double val) {
+	return new OctaveJob(Collections.<String, OctaveObject>emptyMap(),
+			     "pause(0.2); y = " + val + ";",
+			     Collections.singleton("y"));
+    }
+
+    private static double result(final CompletableFuture<Map<String, OctaveObject>> future) {
+	return ((OctaveDouble) future.join().get("y")).get(1, 1);
+    }
+
+    /**
+     * Test that a job with high priority overtakes jobs with low priority 
+     * and that a full queue rejects further jobs. 
+     */
+    @Test public void testPriority() throws InterruptedException {
+	final OctaveEnginePool pool =
+	    new OctaveEnginePool(new OctaveEngineFactory());
+	pool.setMaxTotal(1);
+	final OctaveScheduler scheduler = new OctaveScheduler(pool, 1);
+	scheduler.setCapacity(3);
+
+	final CompletableFuture<Map<String, OctaveObject>> first =
+	    scheduler.submit("batch", OctaveScheduler.Priority.LOW, job(1));
+	while (scheduler.getNumQueued() > 0) {
+	    Thread.sleep(10);
+	}
+	final CompletableFuture<Map<String, OctaveObject>> low1 =
+	    scheduler.submit("batch", OctaveScheduler.Priority.LOW, job(2));
+	final CompletableFuture<Map<String, OctaveObject>> low2 =
+	    scheduler.submit("batch", OctaveScheduler.Priority.LOW, job(3));
+	final CompletableFuture<Map<String, OctaveObject>> high =
+	    scheduler.submit("ui", OctaveScheduler.Priority.HIGH, job(4));
+	try {
+	    scheduler.submit("ui", job(5));
+	    fail("Queue is full. ");
+	} catch (RejectedExecutionException e) {
+	    // expected
+	}
+
+	assertEquals(4, result(high), 0.0);
+	assertFalse(low1.isDone());
+	assertFalse(low2.isDone());
+	assertEquals(1, result(first), 0.0);
+	assertEquals(2, result(low1), 0.0);
+	assertEquals(3, result(low2), 0.0);
+
+	scheduler.close();
+	scheduler.awaitTermination();
+	pool.close();
+    }
+
+}
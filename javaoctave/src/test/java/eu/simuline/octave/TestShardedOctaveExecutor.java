@@ -0,0 +1,96 @@
+/*
+ * Copyright 2026 Simuline Organization (l2r)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.simuline.octave;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import eu.simuline.octave.type.Octave;
+import eu.simuline.octave.type.OctaveCell;
+import eu.simuline.octave.type.OctaveDouble;
+import eu.simuline.octave.type.OctaveObject;
+
+/**
+ * Tests {@link ShardedOctaveExecutor}. 
+ */
+public class TestShardedOctaveExecutor {
+
+    /**
+     * Test that jobs spread over several engines 
+     * yield their outputs in the order of submission. 
+     */
+    @Test public void testStream() {
+	final ShardedOctaveExecutor executor =
+	    new ShardedOctaveExecutor(new OctaveEngineFactory(), 2);
+	assertEquals(2, executor.getNumEngines());
+	final List<OctaveJob> jobs = new ArrayList<OctaveJob>();
+	for (int idx = 0; idx < 10; idx++) {
+	    jobs.add(new OctaveJob(Collections.<String, OctaveObject>
+				   singletonMap("x", Octave.scalar(idx)),
+				   "y = x * x;",
+				   Collections.singleton("y")));
+	}
+	final Iterator<Map<String, OctaveObject>> iter =
+	    executor.stream(jobs).iterator();
+	for (int idx = 0; idx < 10; idx++) {
+	    final OctaveDouble y = (OctaveDouble) iter.next().get("y");
+	    assertEquals(idx * idx, y.get(1, 1), 0.0);
+	}
+	assertEquals(0, executor.getNumPending());
+	executor.close();
+    }
+
+    /**
+     * Test that a function is applied to each entry of a cell 
+     * and that the result has the original order and size. 
+     */
+    @Test public void testParallelMap() {
+	final ShardedOctaveExecutor executor =
+	    new ShardedOctaveExecutor(new OctaveEngineFactory(), 3);
+	final OctaveCell in = new OctaveCell(2, 5);
+	for (int row = 1; row <= 2; row++) {
+	    for (int col = 1; col <= 5; col++) {
+		in.set(Octave.scalar(10 * row + col), row, col);
+	    }
+	}
+	final OctaveCell out = executor.parallelMap("sqrt", in);
+	assertEquals(2, out.getSize(1));
+	assertEquals(5, out.getSize(2));
+	for (int row = 1; row <= 2; row++) {
+	    for (int col = 1; col <= 5; col++) {
+		assertEquals(Math.sqrt(10 * row + col),
+			     out.get(OctaveDouble.class, row, col).get(1, 1),
+			     1e-12);
+	    }
+	}
+	try {
+	    executor.parallelMap("disp(1); sqrt", in);
+	    fail("Function name expected. ");
+	} catch (IllegalArgumentException e) {
+	    // expected
+	}
+	executor.close();
+    }
+
+}
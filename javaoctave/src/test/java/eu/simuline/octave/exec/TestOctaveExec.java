@@ -0,0 +1,120 @@
+/*
+ * Copyright 2026 Simuline Organization (l2r)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.simuline.octave.exec;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeNoException;
+import static org.junit.Assume.assumeTrue;
+
+import org.junit.Test;
+
+import eu.simuline.octave.exception.OctaveIOException;
+
+/**
+ * Tests {@link OctaveExec} without octave: 
+ * The process is <code>sed</code> printing just the spacers. 
+ */
+public class TestOctaveExec {
+
+    /**
+     * Replaces the commands printing a spacer by the spacer 
+     * preceded by a newline and drops all other lines 
+     * as octave does for silent commands. 
+     */
+    private static final String[] CMD_ARRAY = {
+	"sed", "-u", "-n", 
+	"s/^printf(\"\\\\n%s\\\\n\", \"\\(.*\\)\");$/\\n\\1/p"
+    };
+
+    private static final int NUM_EVALS = 2000;
+
+    /**
+     * The number of bytes an evaluation may allocate on average. 
+     * This is mainly the future submitted to the executor. 
+     */
+    private static final long MAX_BYTES_PER_EVAL = 512;
+
+    /**
+     * Counts the characters of frames read. 
+     */
+    private static final class CountingReadFunctor implements ReadFunctor {
+	private final char[] buf = new char[16];
+	private int numChars = 0;
+
+	@Override
+	public void doReads(final Reader reader) throws IOException {
+	    int len;
+	    while ((len = reader.read(this.buf)) != -1) {
+		this.numChars += len;
+	    }
+	}
+    }
+
+    private static long getAllocatedBytes() {
+	final com.sun.management.ThreadMXBean bean = 
+	    (com.sun.management.ThreadMXBean) 
+	    ManagementFactory.getThreadMXBean();
+	long res = 0;
+	for (long bytes : bean.getThreadAllocatedBytes(bean.getAllThreadIds())) {
+	    res += Math.max(0, bytes);
+	}
+	return res;
+    }
+
+    /**
+     * Test that in steady state 
+     * an evaluation of a small script allocates close to nothing, 
+     * because spacers, writer and reader are reused. 
+     */
+    @Test public void testAllocation() {
+	assumeTrue(ManagementFactory.getThreadMXBean() 
+		   instanceof com.sun.management.ThreadMXBean);
+	final OctaveExec exec;
+	try {
+	    exec = new OctaveExec(2, null, null, CMD_ARRAY, null, null);
+	} catch (final OctaveIOException e) {
+	    assumeNoException(e);
+	    return;
+	}
+	final List<WriteFunctor> inputs = Collections.<WriteFunctor>
+	    singletonList(new StringWriteFunctor("x = 1;"));
+	final CountingReadFunctor output = new CountingReadFunctor();
+	final List<ReadFunctor> outputs = 
+	    Collections.<ReadFunctor>singletonList(output);
+
+	// warm up 
+	for (int idx = 0; idx < NUM_EVALS; idx++) {
+	    exec.evalRW(inputs, outputs);
+	}
+	final long before = getAllocatedBytes();
+	for (int idx = 0; idx < NUM_EVALS; idx++) {
+	    exec.evalRW(inputs, outputs);
+	}
+	final long bytesPerEval = (getAllocatedBytes() - before) / NUM_EVALS;
+	exec.close();
+	assertEquals(0, output.numChars);
+	assertTrue("Allocated " + bytesPerEval + " bytes per evaluation. ", 
+		   bytesPerEval <= MAX_BYTES_PER_EVAL);
+    }
+
+}
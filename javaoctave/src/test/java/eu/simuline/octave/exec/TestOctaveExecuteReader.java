@@ -0,0 +1,162 @@
+/*
+ * Copyright 2026 Simuline Organization (l2r)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.simuline.octave.exec;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link OctaveExecuteReader} on an {@link OctaveProcessReader}. 
+ */
+public class TestOctaveExecuteReader {
+
+    private static final String SPACER = "-=+X+=- spacer 1 -=+X+=-";
+    private static final String ABORT  = "-=+X+=- spacer 2 -=+X+=-";
+
+    private static final String OUTPUT = 
+	"x = 1\n\n" + SPACER + "\n" + 
+	"-=+X+=- no spacer\r\n" + SPACER + "\r\n" + 
+	"\n" + ABORT + "\n";
+
+    /**
+     * A reader returning a single character at a time 
+     * to check that spacers crossing the boundary of reads are found. 
+     */
+    private static Reader slow(final String str) {
+	final StringReader reader = new StringReader(str);
+	return new Reader() {
+	    @Override
+	    public int read(final char[] cbuf, final int off, final int len) 
+		throws IOException {
+		return reader.read(cbuf, off, Math.min(1, len));
+	    }
+
+	    @Override
+	    public void close() {
+		reader.close();
+	    }
+	};
+    }
+
+    private static String readFrame(final OctaveExecuteReader reader) 
+	throws IOException {
+	final StringBuilder res = new StringBuilder();
+	final char[] buf = new char[3];
+	int len;
+	while ((len = reader.read(buf)) != -1) {
+	    res.append(buf, 0, len);
+	}
+	reader.close();
+	return res.toString();
+    }
+
+    private static void check(final Reader in) throws IOException {
+	check(new OctaveProcessReader(in));
+    }
+
+    private static void check(final OctaveProcessReader processReader) 
+	throws IOException {
+	assertEquals("x = 1\n", readFrame(new OctaveExecuteReader
+				       (processReader, SPACER, false, ABORT)));
+	assertEquals("-=+X+=- no spacer\r", 
+		     readFrame(new OctaveExecuteReader
+			       (processReader, SPACER, false, ABORT)));
+	final OctaveExecuteReader aborted = 
+	    new OctaveExecuteReader(processReader, SPACER, true, ABORT);
+	assertEquals("", readFrame(aborted));
+	assertTrue(aborted.isAborted());
+	assertEquals(-1, processReader.read());
+    }
+
+    /**
+     * Test that the output is split at the spacers 
+     * and the newline before the spacer is not passed on. 
+     */
+    @Test public void testSpacers() throws IOException {
+	check(new StringReader(OUTPUT));
+	check(slow(OUTPUT));
+    }
+
+    /**
+     * Test that bytes are converted correctly 
+     * also if multi-byte characters cross the boundary of reads. 
+     */
+    @Test public void testBytes() throws IOException {
+	final Charset utf8 = Charset.forName("UTF-8");
+	final String text = "s = \u00e4\u20ac\ud83d\ude00 1.5";
+	final byte[] bytes = (text + "\n" + SPACER + "\n" + OUTPUT)
+	    .getBytes(utf8);
+	final InputStream slow = new ByteArrayInputStream(bytes) {
+		@Override
+		public synchronized int read(final byte[] buf, 
+					     final int off, 
+					     final int len) {
+		    return super.read(buf, off, Math.min(1, len));
+		}
+	    };
+	for (InputStream in : new InputStream[] {
+		new ByteArrayInputStream(bytes), slow}) {
+	    final OctaveProcessReader processReader = 
+		new OctaveProcessReader(in, utf8);
+	    assertEquals(text, readFrame(new OctaveExecuteReader
+					 (processReader, SPACER, false)));
+	    check(processReader);
+	}
+    }
+
+    /**
+     * Test that an invalid byte followed by an ASCII byte is replaced 
+     * without waiting for further bytes 
+     * as octave prints them for a string like <code>char(200)</code>. 
+     */
+    @Test public void testMalformedBytes() throws IOException {
+	final Charset utf8 = Charset.forName("UTF-8");
+	final byte[] bytes = {'a', (byte) 0xC8, '\n', 'b', '\n'};
+	final byte[] frame = ("a\n" + SPACER + "\n").getBytes(utf8);
+	final byte[] all = new byte[bytes.length + frame.length];
+	System.arraycopy(bytes, 0, all, 0, bytes.length);
+	System.arraycopy(frame, 0, all, bytes.length, frame.length);
+	for (final int chunk : new int[] {all.length, 1}) {
+	    // the output of octave does not end: reading more is an error 
+	    final InputStream in = new ByteArrayInputStream(all) {
+		    @Override
+		    public synchronized int read(final byte[] buf, 
+						 final int off, 
+						 final int len) {
+			if (available() == 0) {
+			    throw new IllegalStateException("Blocked. ");
+			}
+			return super.read(buf, off, Math.min(chunk, len));
+		    }
+		};
+	    final OctaveProcessReader processReader = 
+		new OctaveProcessReader(in, utf8);
+	    assertEquals("a\ufffd", processReader.readLine());
+	    assertEquals("b\na", readFrame(new OctaveExecuteReader
+					  (processReader, SPACER, false)));
+	}
+    }
+
+}
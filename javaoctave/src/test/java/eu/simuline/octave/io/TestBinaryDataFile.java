@@ -0,0 +1,125 @@
+/*
+ * Copyright 2026 Simuline Organization (l2r)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.simuline.octave.io;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import eu.simuline.octave.type.OctaveBoolean;
+import eu.simuline.octave.type.OctaveComplex;
+import eu.simuline.octave.type.OctaveDouble;
+import eu.simuline.octave.type.OctaveInt;
+import eu.simuline.octave.type.OctaveObject;
+import eu.simuline.octave.type.OctaveSingle;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link BinaryDataFile} without octave. 
+ */
+public class TestBinaryDataFile {
+
+    /**
+     * Test that values written are read back exactly. 
+     */
+    @Test public void testWriteRead() throws IOException {
+	final Map<String, OctaveObject> values = 
+	    new LinkedHashMap<String, OctaveObject>();
+	final OctaveDouble dbl = new OctaveDouble
+	    (new double[] {0.1, -2.5e-300, Double.NaN, Double.MAX_VALUE, 
+			   Double.NEGATIVE_INFINITY, Math.PI}, 3, 2);
+	values.put("dbl", dbl);
+	values.put("bool", new OctaveBoolean
+		   (new boolean[] {true, false, false, true}, 1, 2, 2));
+	values.put("int", new OctaveInt(new int[] {Integer.MIN_VALUE, 7}, 2, 1));
+	final OctaveDouble imag = new OctaveDouble
+	    (new double[] {-1, 0, 1e10, 0.5, 2, 3}, 3, 2);
+	values.put("cplx", new OctaveComplex(dbl, imag));
+	final OctaveSingle single = new OctaveSingle
+	    (new float[] {0.1f, Float.MIN_VALUE, Float.NaN, -7}, 2, 2);
+	values.put("single", single);
+
+	final File file = File.createTempFile("javaoctave", ".bin");
+	try {
+	    BinaryDataFile.write(file, values);
+	    final Map<String, OctaveObject> read = BinaryDataFile.read(file);
+	    assertEquals(values.keySet(), read.keySet());
+	    assertEquals(dbl, read.get("dbl"));
+	    assertEquals(values.get("bool"), read.get("bool"));
+	    assertEquals(values.get("int"), read.get("int"));
+	    final OctaveComplex cplx = (OctaveComplex) read.get("cplx");
+	    assertEquals(dbl, cplx.getRealPart());
+	    assertEquals(imag, cplx.getImagPart());
+	    assertEquals(single, read.get("single"));
+	} finally {
+	    file.delete();
+	}
+    }
+
+    /**
+     * Test that a matrix saved by octave as unsigned bytes is read 
+     * and that an unknown type yields <code>null</code>. 
+     */
+    @Test public void testSaveTypes() throws IOException {
+	final Charset ascii = Charset.forName("US-ASCII");
+	final ByteBuffer buf = ByteBuffer.allocate(256)
+	    .order(ByteOrder.BIG_ENDIAN);
+	buf.put("Octave-1-B".getBytes(ascii)).put((byte) 1);
+	buf.putInt(1).put("x".getBytes(ascii)).putInt(0)
+	    .put((byte) 0).put((byte) 255);
+	buf.putInt(6).put("matrix".getBytes(ascii));
+	buf.putInt(-2).putInt(1).putInt(3);
+	buf.put((byte) 0).put((byte) 1).put((byte) 2).put((byte) 255);
+
+	final File file = File.createTempFile("javaoctave", ".bin");
+	try {
+	    write(file, buf);
+	    final OctaveDouble x = (OctaveDouble) BinaryDataFile.read(file)
+		.get("x");
+	    assertArrayEquals(new double[] {1, 2, 255}, 
+			      new double[] {x.get(1, 1), x.get(1, 2), 
+					    x.get(1, 3)}, 
+			      0.0);
+
+	    buf.putInt(1).put("r".getBytes(ascii)).putInt(0)
+		.put((byte) 0).put((byte) 255);
+	    buf.putInt(5).put("range".getBytes(ascii));
+	    write(file, buf);
+	    assertNull(BinaryDataFile.read(file));
+	} finally {
+	    file.delete();
+	}
+    }
+
+    private static void write(final File file, final ByteBuffer buf) 
+	throws IOException {
+	try (OutputStream out = new FileOutputStream(file)) {
+	    out.write(buf.array(), 0, buf.position());
+	}
+    }
+
+}
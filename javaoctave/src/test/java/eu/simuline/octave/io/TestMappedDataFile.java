@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 Simuline Organization (l2r)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.simuline.octave.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Arrays;
+
+import eu.simuline.octave.exception.OctaveIOException;
+import eu.simuline.octave.type.OctaveDouble;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link MappedDataFile} and transfer files without octave. 
+ */
+public class TestMappedDataFile {
+
+    /**
+     * Test that the raw data of values written one after another 
+     * are read back exactly and that a short file is rejected. 
+     */
+    @Test public void testWriteRead() throws IOException {
+	final OctaveDouble dbl = new OctaveDouble
+	    (new double[] {0.1, -2.5e-300, Double.NaN, Double.MAX_VALUE, 
+			   Double.NEGATIVE_INFINITY, Math.PI}, 3, 2);
+	final OctaveDouble other = new OctaveDouble
+	    (new double[] {1, 2, 3, 4, 5, 6, 7, 8}, 2, 2, 2);
+
+	final File file = File.createTempFile("javaoctave", ".bin");
+	try {
+	    MappedDataFile.write(file, Arrays.asList(dbl, other));
+	    assertEquals(8L * 14, file.length());
+	    assertEquals(dbl, MappedDataFile.read(file, new int[] {3, 2}));
+
+	    MappedDataFile.write(file, Arrays.asList(other));
+	    assertEquals(other, MappedDataFile.read(file, new int[] {2, 2, 2}));
+	    try {
+		MappedDataFile.read(file, new int[] {3, 3});
+		fail("File too short for dimensions. ");
+	    } catch (OctaveIOException e) {
+		// expected
+	    }
+	} finally {
+	    file.delete();
+	}
+    }
+
+    /**
+     * Test that a transfer file is accessible by its owner only 
+     * where the file system supports POSIX permissions. 
+     */
+    @Test public void testTransferFilePermissions() throws IOException {
+	final File file = OctaveIO.createTransferFile();
+	try {
+	    assumeTrue(Files.getFileStore(file.toPath())
+		       .supportsFileAttributeView("posix"));
+	    assertEquals(PosixFilePermissions.fromString("rw-------"), 
+			 Files.getPosixFilePermissions(file.toPath()));
+	} finally {
+	    OctaveIO.deleteTransferFile(file);
+	}
+    }
+
+}
@@ -18,6 +18,8 @@
  */
 package eu.simuline.octave.io;
 
+import java.io.StringReader;
+
 import eu.simuline.octave.OctaveEngine;
 import eu.simuline.octave.OctaveEngineFactory;
 import eu.simuline.octave.type.Octave;
@@ -46,4 +48,14 @@ public class TestUnknownVar {
         octave.close();
     }
 
+    /**
+     * Test that {@link DataReadFunctor} recognizes 
+     * the line printed for a variable which does not exist. 
+     */
+    @Test public void testReadMissing() {
+        final DataReadFunctor functor = new DataReadFunctor("x");
+        functor.doReads(new StringReader(DataReadFunctor.MISSING + "\n"));
+        assertNull(functor.getData());
+    }
+
 }
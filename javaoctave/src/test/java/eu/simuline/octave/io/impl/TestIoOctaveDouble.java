@@ -15,18 +15,30 @@
  */
 package eu.simuline.octave.io.impl;
 
+import java.io.ByteArrayInputStream;
 import java.io.StringWriter;// for nan and inf 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Map;
 import java.util.TreeMap;
 
 import eu.simuline.octave.OctaveEngine;
 import eu.simuline.octave.OctaveEngineFactory;
+import eu.simuline.octave.io.OctaveChunkIterator;
 import eu.simuline.octave.io.OctaveIO;
 import eu.simuline.octave.type.Octave;
 import eu.simuline.octave.type.OctaveDouble;
 import eu.simuline.octave.type.OctaveObject;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
 
 import org.junit.Ignore;
 import org.junit.Test;
@@ -218,6 +230,122 @@ public class TestIoOctaveDouble {
         octave.close();
     }
 
+    /**
+     * Test that values are transferred exactly in binary format, 
+     * also if octave saves integer valued matrices with a narrower type, 
+     * and that ranges fall back to text. 
+     */
+    @Test public void testOctaveBinaryTransfer() throws Exception {
+        final OctaveEngineFactory factory = new OctaveEngineFactory();
+        factory.setBinaryTransfer(true);
+        final OctaveEngine octave = factory.getScriptEngine();
+        final double[] numbers = {0.1, -2.5e-300, Double.NaN, 
+                                  Double.NEGATIVE_INFINITY, 5, Math.PI};
+        final OctaveDouble in = new OctaveDouble(numbers, 3, 2);
+        octave.put("in", in);
+        octave.eval("out = in;");
+        assertEquals(in, octave.get(OctaveDouble.class, "out"));
+
+        octave.eval("ints = reshape(1:10000, 100, 100); ints = ints * 1;");
+        final OctaveDouble ints = octave.get(OctaveDouble.class, "ints");
+        assertEquals(10000.0, ints.get(100, 100), 0.0);
+        octave.eval("range = 1:3;");
+        assertNotNull(octave.get("range"));
+        octave.close();
+    }
+
+    /**
+     * Test that large matrices are transferred exactly 
+     * through a memory mapped file, mixed with small ones and ranges. 
+     */
+    @Test public void testOctaveMappedTransfer() throws Exception {
+        final OctaveEngineFactory factory = new OctaveEngineFactory();
+        factory.setMappedTransferThreshold(64);
+        final OctaveEngine octave = factory.getScriptEngine();
+        final double[] numbers = new double[2 * 3 * 4];
+        for (int idx = 0; idx < numbers.length; idx++) {
+            numbers[idx] = idx == 5 ? Double.NaN : Math.PI * idx;
+        }
+        final OctaveDouble big = new OctaveDouble(numbers, 2, 3, 4);
+        final Map<String, OctaveObject> values = 
+            new TreeMap<String, OctaveObject>();
+        values.put("big", big);
+        values.put("small", Octave.scalar(42));
+        octave.putAll(values);
+        octave.eval("out = big; num = small;");
+        assertEquals(big, octave.get(OctaveDouble.class, "out"));
+        assertEquals(Octave.scalar(42), octave.get(OctaveDouble.class, "num"));
+
+        octave.eval("range = 1:100;");
+        assertEquals(100.0, 
+                     octave.get(OctaveDouble.class, "range").get(1, 100), 
+                     0.0);
+        octave.close();
+    }
+
+    /**
+     * Test that a matrix is got in chunks of columns and of odd length 
+     * and that missing variables yield <code>null</code>. 
+     */
+    @Test public void testOctaveChunks() throws Exception {
+        final OctaveEngine octave = new OctaveEngineFactory().getScriptEngine();
+        octave.eval("x = reshape(1:30, 3, 10) / 7;");
+        final OctaveDouble x = octave.get(OctaveDouble.class, "x");
+        for (int chunkLen : new int[] {6, 7, 30, 100}) {
+            final OctaveChunkIterator chunks = octave.getChunks("x", chunkLen);
+            assertArrayEquals(new int[] {3, 10}, chunks.getSize());
+            int idx = 0;
+            while (chunks.hasNext()) {
+                final DoubleBuffer chunk = chunks.next();
+                assertEquals(Math.min(chunkLen, 30 - idx), chunk.remaining());
+                while (chunk.hasRemaining()) {
+                    assertEquals(x.getData()[idx++], chunk.get(), 0.0);
+                }
+            }
+            assertEquals(30, idx);
+        }
+        assertNull(octave.getChunks("missing", 10));
+        octave.close();
+    }
+
+    /**
+     * Test that a matrix is put from chunks of arbitrary lengths 
+     * and from a big endian channel 
+     * and that too few data are rejected. 
+     */
+    @Test public void testOctavePutChunks() throws Exception {
+        final OctaveEngine octave = new OctaveEngineFactory().getScriptEngine();
+        final double[] numbers = new double[3 * 4 * 2];
+        for (int idx = 0; idx < numbers.length; idx++) {
+            numbers[idx] = idx / 7.0;
+        }
+        final OctaveDouble expected = new OctaveDouble(numbers, 3, 4, 2);
+        final int[] dims = {3, 4, 2};
+        octave.putChunks("x", dims, Arrays.asList
+                         (DoubleBuffer.wrap(numbers, 0, 5), 
+                          DoubleBuffer.wrap(numbers, 5, 0), 
+                          DoubleBuffer.wrap(numbers, 5, 19)).iterator());
+        assertEquals(expected, octave.get(OctaveDouble.class, "x"));
+
+        final ByteBuffer bytes = ByteBuffer.allocate(8 * numbers.length)
+            .order(ByteOrder.BIG_ENDIAN);
+        bytes.asDoubleBuffer().put(numbers);
+        octave.putChunks("y", dims, 
+                         Channels.newChannel(new ByteArrayInputStream
+                                             (bytes.array())), 
+                         ByteOrder.BIG_ENDIAN, 7);
+        assertEquals(expected, octave.get(OctaveDouble.class, "y"));
+
+        try {
+            octave.putChunks("z", dims, Collections.singletonList
+                             (DoubleBuffer.wrap(numbers, 0, 23)).iterator());
+            fail("Too few data. ");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        octave.close();
+    }
+
     /**
      * Test how the system handles save of Inf and NaN
      * 
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2026 Simuline Organization (l2r)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.simuline.octave.io.impl;
+
+import eu.simuline.octave.OctaveEngine;
+import eu.simuline.octave.OctaveEngineFactory;
+import eu.simuline.octave.io.OctaveIO;
+import eu.simuline.octave.type.Octave;
+import eu.simuline.octave.type.OctaveComplex;
+import eu.simuline.octave.type.OctaveDouble;
+import eu.simuline.octave.type.OctaveSingle;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+/**
+ * Test read/write of {@link OctaveSingle} 
+ */
+public class TestIoOctaveSingle {
+
+    /**
+     * Test 
+     */
+    @Test public void test2dToText() throws Exception {
+	final float[] numbers = {1, 2, 3, 4, 5, 0.1f};
+	final OctaveSingle matrix = new OctaveSingle(numbers, 2, 3);
+	assertEquals("# name: mymatrix\n" + //
+		     "# type: float matrix\n" + //
+		     "# rows: 2\n" + //
+		     "# columns: 3\n" + //
+		     " 1.0 3.0 5.0\n" + //
+		     " 2.0 4.0 0.1\n", 
+		     OctaveIO.toText("mymatrix", matrix));
+	assertEquals("# name: ans\n" + // 
+		     "# type: float scalar\n" + // 
+		     "42.0\n", 
+		     OctaveIO.toText(Octave.single(42)));
+    }
+
+    /**
+     * Test that singles are transferred exactly, as text and in binary, 
+     * and that single complex values are read. 
+     */
+    @Test public void testOctaveSetExecGet() throws Exception {
+	final float[] numbers = {0.1f, -2.5e-30f, Float.MAX_VALUE, 
+				 Float.MIN_VALUE, (float) Math.PI, 7};
+	final OctaveSingle in = new OctaveSingle(numbers, 3, 2);
+	final OctaveEngineFactory factory = new OctaveEngineFactory();
+	for (boolean binary : new boolean[] {false, true}) {
+	    factory.setBinaryTransfer(binary);
+	    final OctaveEngine octave = factory.getScriptEngine();
+	    octave.put("in", in);
+	    octave.eval("out = in; cls = double(isa(in, 'single')); " + 
+			"s = single(1/3); z = single([1/3+2i 4]);");
+	    assertEquals(in, octave.get(OctaveSingle.class, "out"));
+	    assertEquals(1.0, 
+			 octave.get(OctaveDouble.class, "cls").get(1, 1), 0.0);
+	    assertEquals(1f / 3, 
+			 octave.get(OctaveSingle.class, "s").get(1, 1), 0.0f);
+	    final OctaveComplex z = octave.get(OctaveComplex.class, "z");
+	    assertEquals(1f / 3, z.getReal(1, 1), 0.0);
+	    assertEquals(2.0, z.getImag(1, 1), 0.0);
+	    assertEquals(4.0, z.getReal(1, 2), 0.0);
+	    octave.close();
+	}
+    }
+
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2026 Simuline Organization (l2r)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.simuline.octave.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link AsyncLogWriter} and {@link RotatingFileWriter}. 
+ */
+public class TestAsyncLogWriter {
+
+    /**
+     * Test that chunks are dropped if the log is blocked 
+     * and that the drop is marked in the log. 
+     */
+    @Test public void testDrop() throws IOException {
+	final CountDownLatch latch = new CountDownLatch(1);
+	final StringWriter log = new StringWriter() {
+		@Override
+		public void write(final char[] cbuf, final int off, final int len) {
+		    try {
+			latch.await();
+		    } catch (final InterruptedException e) {
+			throw new IllegalStateException(e);
+		    }
+		    super.write(cbuf, off, len);
+		}
+	    };
+	final AsyncLogWriter writer =
+	    new AsyncLogWriter(log, 1, AsyncLogWriter.Policy.DROP);
+	// the first chunk is queued and may be taken by the drain thread 
+	// and then the second one is queued; the rest is dropped 
+	for (int idx = 0; idx < 10; idx++) {
+	    writer.write("x = " + idx + ";\n");
+	}
+	assertTrue(writer.getNumDropped() >= 7 * 7);
+	latch.countDown();
+	writer.close();
+	assertTrue(log.toString().contains("x = 0;\n"));
+	assertTrue(log.toString().contains(AsyncLogWriter.DROP_MARKER));
+    }
+
+    /**
+     * Test that with blocking policy all is logged 
+     * and that the log file is rotated. 
+     */
+    @Test public void testRotation() throws IOException {
+	final File dir = Files.createTempDirectory("javaoctave").toFile();
+	final File file = new File(dir, "input.log");
+	final AsyncLogWriter writer = new AsyncLogWriter
+	    (new RotatingFileWriter(file, 10, 2), 
+	     1, AsyncLogWriter.Policy.BLOCK);
+	for (int idx = 0; idx < 4; idx++) {
+	    writer.write("x = " + idx + "000;\n");
+	}
+	writer.close();
+	assertEquals(0, writer.getNumDropped());
+	assertEquals(0, file.length());
+	assertEquals("x = 3000;\n", 
+		     new String(Files.readAllBytes(new File(dir, "input.log.1")
+						   .toPath()), "UTF-8"));
+	assertEquals("x = 2000;\n", 
+		     new String(Files.readAllBytes(new File(dir, "input.log.2")
+						   .toPath()), "UTF-8"));
+	assertFalse(new File(dir, "input.log.3").exists());
+    }
+
+    /**
+     * Test that the file is rotated by its size in UTF-8 
+     * and that the writer remains usable if rotation fails. 
+     */
+    @Test public void testRotationFailure() throws IOException {
+	final File dir = Files.createTempDirectory("javaoctave").toFile();
+	final File file = new File(dir, "input.log");
+	// a non-empty directory cannot be deleted as oldest backup 
+	final File blocker = new File(dir, "input.log.1");
+	assertTrue(blocker.mkdir());
+	assertTrue(new File(blocker, "x").createNewFile());
+	final RotatingFileWriter writer = new RotatingFileWriter(file, 10, 1);
+	// four characters taking nine bytes 
+	writer.write("\u00e4\u20ac\ud83d\ude00");
+	writer.flush();
+	assertEquals(9, file.length());
+	try {
+	    writer.write("x");
+	    fail("Rotation shall fail. ");
+	} catch (final IOException e) {
+	    // expected 
+	}
+	writer.write("y");
+	writer.close();
+	assertEquals("\u00e4\u20ac\ud83d\ude00xy", 
+		     new String(Files.readAllBytes(file.toPath()), "UTF-8"));
+    }
+
+    /**
+     * Test that logging goes on after a failure writing to the log 
+     * and that the chunk not logged is marked as dropped. 
+     */
+    @Test public void testWriteFailure() throws IOException {
+	final StringBuilder log = new StringBuilder();
+	final Writer failOnce = new Writer() {
+		private boolean failed = false;
+
+		@Override
+		public void write(final char[] cbuf, final int off, final int len) 
+		    throws IOException {
+		    if (!this.failed) {
+			this.failed = true;
+			throw new IOException("Disk full. ");
+		    }
+		    log.append(cbuf, off, len);
+		}
+
+		@Override
+		public void flush() {
+		    // nothing to flush 
+		}
+
+		@Override
+		public void close() {
+		    // nothing to close 
+		}
+	    };
+	final AsyncLogWriter writer =
+	    new AsyncLogWriter(failOnce, 1, AsyncLogWriter.Policy.BLOCK);
+	writer.write("x = 0;\n");
+	writer.write("x = 1;\n");
+	writer.close();
+	assertEquals(7, writer.getNumDropped());
+	assertEquals("\n" + AsyncLogWriter.DROP_MARKER + "7 characters\n" 
+		     + "x = 1;\n", log.toString());
+	try {
+	    writer.write("x = 2;\n");
+	    fail("Writer is closed. ");
+	} catch (final IOException e) {
+	    // expected 
+	}
+    }
+
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2026 Simuline Organization (l2r)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.simuline.octave.util;
+
+import java.io.PipedReader;
+import java.io.PipedWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link ReaderWriterPipeThread}. 
+ */
+public class TestReaderWriterPipeThread {
+
+    private static String text(final int len) {
+	final StringBuilder res = new StringBuilder(len);
+	for (int idx = 0; idx < len; idx++) {
+	    res.append((char) ('a' + idx % 26));
+	}
+	return res.toString();
+    }
+
+    /**
+     * Test that all characters are piped and the tail is kept. 
+     */
+    @Test public void testPipe() throws InterruptedException {
+	final String text = text(10000);
+	final StringWriter writer = new StringWriter();
+	final ReaderWriterPipeThread pipe = ReaderWriterPipeThread
+	    .instantiate(new StringReader(text), writer);
+	final String tail = text.substring
+	    (text.length() - ReaderWriterPipeThread.DEFAULT_TAIL_CAPACITY);
+	while (!pipe.getTail().equals(tail)) {
+	    Thread.sleep(10);
+	}
+	pipe.close();
+	assertEquals(text, writer.toString());
+	assertEquals(0, pipe.getNumDropped());
+    }
+
+    /**
+     * Test that the tail since a position 
+     * is restricted to the characters read since then and to the capacity. 
+     */
+    @Test public void testTailSince() throws Exception {
+	final PipedWriter source = new PipedWriter();
+	final ReaderWriterPipeThread pipe = ReaderWriterPipeThread
+	    .instantiate(new PipedReader(source), new StringWriter(), 
+			 new NamedThreadFactory("test"), 1000, 10);
+	source.write("first");
+	source.flush();
+	while (pipe.getTailPosition() < 5) {
+	    Thread.sleep(10);
+	}
+	final long pos = pipe.getTailPosition();
+	assertEquals("", pipe.getTail(pos));
+	source.write("second");
+	source.flush();
+	while (pipe.getTailPosition() < 11) {
+	    Thread.sleep(10);
+	}
+	assertEquals("second", pipe.getTail(pos));
+	assertEquals("rstsecond", pipe.getTail(2));
+	assertEquals("irstsecond", pipe.getTail());
+	source.close();
+	pipe.close();
+    }
+
+    /**
+     * Test that characters a blocked writer cannot take are dropped 
+     * without blocking the reader. 
+     */
+    @Test public void testDrop() throws InterruptedException {
+	final String text = text(1000);
+	final CountDownLatch latch = new CountDownLatch(1);
+	final StringWriter writer = new StringWriter() {
+		@Override
+		public void write(final char[] cbuf, final int off, final int len) {
+		    try {
+			latch.await();
+		    } catch (final InterruptedException e) {
+			throw new IllegalStateException(e);
+		    }
+		    super.write(cbuf, off, len);
+		}
+	    };
+	final ReaderWriterPipeThread pipe = ReaderWriterPipeThread
+	    .instantiate(new StringReader(text), writer, 
+			 new NamedThreadFactory("test"), 16, 100);
+	while (!pipe.getTail().equals(text.substring(900))) {
+	    Thread.sleep(10);
+	}
+	latch.countDown();
+	pipe.close();
+	assertEquals(1000 - 16, pipe.getNumDropped());
+	assertEquals(text.substring(0, 16), writer.toString());
+    }
+
+}